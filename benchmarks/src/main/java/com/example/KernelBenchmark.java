@@ -0,0 +1,86 @@
+package com.example;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the building blocks of PowerCalculator.power in isolation:
+ * naturalLog, exponential and powerInteger. Lives in package com.example
+ * so it can reach the package-private kernels.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KernelBenchmark {
+
+    /**
+     * Argument for naturalLog; spans subnormal, near-one and huge magnitudes.
+     */
+    @State(Scope.Thread)
+    public static class LogInput {
+        @Param({"4.9e-320", "1e-300", "0.999", "1.999", "3.7", "1e300"})
+        public double value;
+    }
+
+    /**
+     * Argument for exponential; spans underflow, small and overflow-adjacent values.
+     */
+    @State(Scope.Thread)
+    public static class ExpInput {
+        @Param({"-700.0", "-0.5", "0.01", "2.2", "700.0"})
+        public double value;
+    }
+
+    /**
+     * Exponent for powerInteger; cost grows with its bit length.
+     */
+    @State(Scope.Thread)
+    public static class IntegerInput {
+        @Param({"3", "17", "1000", "1000000"})
+        public long exponent;
+
+        public double base = 1.0000001;
+    }
+
+    @Benchmark
+    public double naturalLog(LogInput input) {
+        return PowerCalculator.naturalLog(input.value);
+    }
+
+    @Benchmark
+    public double mathLog(LogInput input) {
+        return Math.log(input.value);
+    }
+
+    @Benchmark
+    public double exponential(ExpInput input) {
+        return PowerCalculator.exponential(input.value);
+    }
+
+    @Benchmark
+    public double mathExp(ExpInput input) {
+        return Math.exp(input.value);
+    }
+
+    @Benchmark
+    public double powerInteger(IntegerInput input) {
+        return PowerCalculator.powerInteger(input.base, input.exponent);
+    }
+
+    @Benchmark
+    public double mathPowInteger(IntegerInput input) {
+        return Math.pow(input.base, input.exponent);
+    }
+}
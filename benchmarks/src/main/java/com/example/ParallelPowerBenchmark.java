@@ -0,0 +1,77 @@
+package com.example;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Scaling of parallelPower across pool sizes. Compare the score for each
+ * parallelism value with the sequential baseline to get the speed-up;
+ * values above the machine's core count show oversubscription.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelPowerBenchmark {
+
+    @Param({"1", "2", "4", "8", "16", "32", "64"})
+    public int parallelism;
+
+    @Param({"4194304"})
+    public int size;
+
+    @Param({"16384"})
+    public int threshold;
+
+    private double[] xs;
+    private double[] ys;
+    private double[] out;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        xs = new double[size];
+        ys = new double[size];
+        out = new double[size];
+        for (int i = 0; i < size; i++) {
+            xs[i] = random.nextDouble(1e-3, 1e3);
+            ys[i] = random.nextDouble(-8.0, 8.0);
+        }
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public double[] sequential() {
+        PowerCalculator.power(xs, ys, out);
+        return out;
+    }
+
+    @Benchmark
+    public double[] parallel() {
+        PowerCalculator.parallelPower(xs, ys, out, pool, threshold);
+        return out;
+    }
+}
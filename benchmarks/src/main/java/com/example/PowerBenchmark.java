@@ -0,0 +1,104 @@
+package com.example;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleUnaryOperator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares PowerCalculator.power against Math.pow and StrictMath.pow
+ * for representative (x, y) inputs from each branch of the algorithm.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PowerBenchmark {
+
+    /**
+     * Input case, named after the code path it exercises.
+     */
+    @Param({
+        "INTEGER", "LARGE_INTEGER", "NEGATIVE_INTEGER",
+        "FRACTIONAL", "NEGATIVE_FRACTIONAL",
+        "TINY_BASE", "HUGE_BASE", "SUBNORMAL_BASE"
+    })
+    public String inputCase;
+
+    private double x;
+    private double y;
+    private DoubleUnaryOperator compiled;
+
+    @Setup
+    public void setUp() {
+        switch (inputCase) {
+            case "INTEGER":
+                x = 2.5;
+                y = 7.0;
+                break;
+            case "LARGE_INTEGER":
+                x = 1.0001;
+                y = 100000.0;
+                break;
+            case "NEGATIVE_INTEGER":
+                x = -1.5;
+                y = -9.0;
+                break;
+            case "FRACTIONAL":
+                x = 3.7;
+                y = 2.2;
+                break;
+            case "NEGATIVE_FRACTIONAL":
+                x = 3.7;
+                y = -0.75;
+                break;
+            case "TINY_BASE":
+                x = 1e-300;
+                y = 0.37;
+                break;
+            case "HUGE_BASE":
+                x = 1e300;
+                y = 0.37;
+                break;
+            case "SUBNORMAL_BASE":
+                x = 4.9e-320;
+                y = 0.01;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown input case: " + inputCase);
+        }
+        compiled = PowerCalculator.compile(y);
+    }
+
+    @Benchmark
+    public double powerCalculator() {
+        return PowerCalculator.power(x, y);
+    }
+
+    @Benchmark
+    public double compiledPower() {
+        return compiled.applyAsDouble(x);
+    }
+
+    @Benchmark
+    public double mathPow() {
+        return Math.pow(x, y);
+    }
+
+    @Benchmark
+    public double strictMathPow() {
+        return StrictMath.pow(x, y);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loopback round trips through the binary TCP protocol: the latency of one
+ * request, and the per-request cost of a pipelined batch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TcpBenchmark {
+
+    private static final int SIZE = 4096;
+
+    private final double[] xs = new double[SIZE];
+    private final double[] ys = new double[SIZE];
+    private final double[] out = new double[SIZE];
+    private final byte[] status = new byte[SIZE];
+
+    private PowerTcpServer server;
+    private PowerTcpClient client;
+
+    @Setup
+    public void setUp() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < SIZE; i++) {
+            xs[i] = random.nextDouble(0.1, 100.0);
+            ys[i] = random.nextDouble(-10.0, 10.0);
+        }
+        server = new PowerTcpServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+        client = new PowerTcpClient(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.port()));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        client.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public double roundTrip() throws IOException {
+        return client.power(2.5, 0.37);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] pipelined() throws IOException {
+        client.power(xs, ys, out, status);
+        return out;
+    }
+}
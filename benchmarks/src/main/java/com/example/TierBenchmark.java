@@ -0,0 +1,65 @@
+package com.example;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the accuracy tiers of PowerCalculator.power on a fixed batch of
+ * random non-integer exponents, with Math.pow as the baseline. Scores are
+ * per power call.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TierBenchmark {
+
+    private static final int SIZE = 1024;
+
+    @Param({"FAST", "STANDARD", "STRICT"})
+    public AccuracyTier tier;
+
+    private final double[] xs = new double[SIZE];
+    private final double[] ys = new double[SIZE];
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < SIZE; i++) {
+            xs[i] = Math.exp(random.nextDouble(-20.0, 20.0));
+            ys[i] = random.nextDouble(-20.0, 20.0) + 0.5;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void power(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(PowerCalculator.power(xs[i], ys[i], tier));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void mathPow(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(Math.pow(xs[i], ys[i]));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Bulk power over a batch of random non-integer exponents, with the Vector
+ * API kernel enabled and disabled. Needs JDK 17 or later. Scores are per
+ * element.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class VectorBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private final double[] xs = new double[SIZE];
+    private final double[] ys = new double[SIZE];
+    private final double[] out = new double[SIZE];
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < SIZE; i++) {
+            xs[i] = Math.exp(random.nextDouble(-20.0, 20.0));
+            ys[i] = random.nextDouble(-20.0, 20.0) + 0.5;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    @Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+    public double[] vector() {
+        PowerCalculator.power(xs, ys, out);
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    @Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector", "-Dpowercalculator.vector=false"})
+    public double[] scalar() {
+        PowerCalculator.power(xs, ys, out);
+        return out;
+    }
+}
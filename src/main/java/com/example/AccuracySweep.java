@@ -0,0 +1,624 @@
+package com.example;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Accuracy and throughput regression sweep against {@code StrictMath.pow},
+ * started with {@code PowerCalculator --sweep}.
+ *
+ * <p>The samples are split into blocks of {@link #BLOCK} pairs, each drawn
+ * from one input {@link Region} by its own seeded generator, so a run is
+ * reproducible whatever the thread count. Blocks are spread over a
+ * fork/join pool. Every {@link Path} evaluates each block; the ulp error of
+ * each result against StrictMath.pow goes into a histogram per path and
+ * region, and the time each path spends goes into its throughput.
+ *
+ * <p>StrictMath.pow is the fdlibm algorithm, accurate to within an ulp but
+ * not correctly rounded, so a correctly rounded result can still differ
+ * from it by 1 ulp. {@link #DEFAULT_BUDGETS} allows for that. Integer
+ * exponents use repeated squaring in every tier, which rounds once per
+ * multiply and doubles the error already in a value each time it is
+ * squared, so x^n can be off by up to about |n| ulp;
+ * {@link #DEFAULT_REGION_BUDGETS} holds {@link Region#INTEGER} to that.
+ */
+final class AccuracySweep {
+
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: PowerCalculator --sweep [options]",
+            "  --samples <n>           (x, y) pairs to check (default 10000000)",
+            "  --threads <n>           Worker threads (default: available processors)",
+            "  --seed <n>              Input generator seed (default 42)",
+            "  --max-ulp <name>=<ulp>  Error budget for a path (fast, standard, strict,",
+            "                          bulk; defaults 1e8, 2, 1, 2) or, for every path,",
+            "                          a region (typical, near_one, extreme, small,",
+            "                          integer, edge; default integer=1024); repeatable");
+
+    /** Pairs per block; every block is drawn from a single region. */
+    static final int BLOCK = 1 << 12;
+
+    /**
+     * Histogram buckets: exact, up to 0.5 ulp, up to 1 ulp, then one per
+     * power of two up to 2^{@link #MAX_BUCKET_EXPONENT} ulp, and a last one
+     * for anything larger, including a NaN or infinity where StrictMath.pow
+     * has a finite result.
+     */
+    static final int MAX_BUCKET_EXPONENT = 32;
+    static final int BUCKETS = MAX_BUCKET_EXPONENT + 4;
+
+    /** Largest |y| in the {@link Region#INTEGER} region. */
+    static final int MAX_INTEGER_EXPONENT = 1024;
+
+    /** Default max-ulp budget per path; see {@link AccuracyTier} for the bounds behind them. */
+    static final Map<Path, Double> DEFAULT_BUDGETS = defaultBudgets();
+
+    /** Default max-ulp budget per region, replacing the path budgets there. */
+    static final Map<Region, Double> DEFAULT_REGION_BUDGETS =
+            new EnumMap<>(Map.of(Region.INTEGER, (double) MAX_INTEGER_EXPONENT));
+
+    private static final long DEFAULT_SAMPLES = 10_000_000L;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private static final double[] EDGE_BASES = {
+        0.0, -0.0, Double.MIN_VALUE, Double.MIN_NORMAL, 0x1p-600, 0.5, 1.0 - 0x1p-53, 1.0,
+        1.0 + 0x1p-52, 2.0, 10.0, 0x1p600, Double.MAX_VALUE, Double.POSITIVE_INFINITY,
+        -1.0, -2.0, -0.5, Double.NEGATIVE_INFINITY, Double.NaN
+    };
+
+    private static final double[] EDGE_EXPONENTS = {
+        0.0, -0.0, 0.5, -0.5, 1.0, -1.0, 2.0, -2.0, 3.0, 1074.0, -1074.0, 1075.5, 0x1p51 + 0.5,
+        -0x1p51 - 0.5, 0x1p-60, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NaN
+    };
+
+    /**
+     * The code paths under test.
+     */
+    enum Path {
+        /** {@code power(x, y, AccuracyTier.FAST)} */
+        FAST,
+        /** {@code power(x, y)}, the STANDARD tier */
+        STANDARD,
+        /** {@code power(x, y, AccuracyTier.STRICT)} */
+        STRICT,
+        /** The bulk {@code power(xs, ys, out)}, vectorized where available */
+        BULK
+    }
+
+    /**
+     * Families of inputs with their own failure modes.
+     */
+    enum Region {
+        /** Bases in e^±40, exponents in ±10. */
+        TYPICAL,
+        /** Bases within 1% of 1 with exponents up to ±10^4, where ln(x) cancels. */
+        NEAR_ONE,
+        /** Results spread over e^±700, near both ends of the double range. */
+        EXTREME,
+        /** Bases below 4 and exponents in ±3, the range a calculator sees most. */
+        SMALL,
+        /** Integer exponents, including negative bases, with normal results. */
+        INTEGER,
+        /**
+         * Subnormal and huge results, subnormal bases, and combinations of
+         * zeros, ones, infinities and NaN.
+         */
+        EDGE
+    }
+
+    private final long samples;
+    private final long seed;
+    private final int threads;
+
+    /**
+     * @param samples Number of (x, y) pairs.
+     * @param seed    Seed for the input generator.
+     * @param threads Worker threads.
+     * @throws IllegalArgumentException if samples or threads is not positive.
+     */
+    AccuracySweep(long samples, long seed, int threads) {
+        if (samples <= 0) {
+            throw new IllegalArgumentException("Samples must be positive.");
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Threads must be positive.");
+        }
+        this.samples = samples;
+        this.seed = seed;
+        this.threads = threads;
+    }
+
+    /**
+     * Runs the sweep on a pool of its own.
+     */
+    Report run() {
+        long blocks = (samples + BLOCK - 1) / BLOCK;
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            Tally tally = pool.invoke(new SweepTask(0, blocks));
+            return new Report(threads, (System.nanoTime() - start) / (double) NANOS_PER_SECOND, tally);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * StrictMath.pow, except for the special cases where power(x, y)
+     * deliberately differs: 1^y is 1 for every y, as in IEEE 754 pow, and
+     * 0^y is 0 for every y that is neither zero nor negative, NaN included.
+     */
+    static double reference(double x, double y) {
+        if (x == 1.0 || (x == 0.0 && Double.isNaN(y))) {
+            return x;
+        }
+        return StrictMath.pow(x, y);
+    }
+
+    /**
+     * The error of actual in ulps of expected. NaN matching NaN is exact,
+     * and a non-finite result that does not match is infinitely wrong.
+     */
+    static double ulpError(double actual, double expected) {
+        if (actual == expected || (Double.isNaN(actual) && Double.isNaN(expected))) {
+            return 0.0;
+        }
+        if (!Double.isFinite(actual) || !Double.isFinite(expected)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return Math.abs(actual - expected) / Math.ulp(expected);
+    }
+
+    /**
+     * The histogram bucket for an ulp error.
+     */
+    static int bucket(double ulps) {
+        if (ulps == 0.0) {
+            return 0;
+        }
+        if (ulps <= 0.5) {
+            return 1;
+        }
+        if (ulps <= 1.0) {
+            return 2;
+        }
+        if (!(ulps <= 0x1p32)) {
+            return BUCKETS - 1;
+        }
+        // ulps in (2^(k-1), 2^k] goes to bucket k + 2
+        return Math.getExponent(Math.nextDown(ulps)) + 3;
+    }
+
+    /**
+     * Label of a histogram bucket by its upper bound.
+     */
+    static String bucketLabel(int bucket) {
+        if (bucket == 0) {
+            return "0";
+        }
+        if (bucket == 1) {
+            return "0.5";
+        }
+        if (bucket == BUCKETS - 1) {
+            return ">2^" + MAX_BUCKET_EXPONENT;
+        }
+        int exponent = bucket - 2;
+        return exponent < 10 ? Long.toString(1L << exponent) : "2^" + exponent;
+    }
+
+    /**
+     * Fills xs and ys with length pairs from region.
+     */
+    static void sample(Region region, SplittableRandom random, double[] xs, double[] ys, int length) {
+        for (int i = 0; i < length; i++) {
+            double x;
+            double y;
+            switch (region) {
+                case TYPICAL:
+                    x = Math.exp(random.nextDouble(-40.0, 40.0));
+                    y = random.nextDouble(-10.0, 10.0);
+                    break;
+                case NEAR_ONE:
+                    x = 1.0 + random.nextDouble(-0.01, 0.01);
+                    y = random.nextDouble(-1e4, 1e4);
+                    break;
+                case EXTREME:
+                    x = Math.exp(random.nextDouble(-5.0, 5.0));
+                    y = random.nextDouble(-700.0, 700.0) / Math.log(x);
+                    break;
+                case SMALL:
+                    x = random.nextDouble(0.0, 4.0);
+                    y = random.nextDouble(-3.0, 3.0);
+                    break;
+                case INTEGER:
+                    // |n| <= MAX_INTEGER_EXPONENT, with |x^n| in e^+-700
+                    y = random.nextInt(-MAX_INTEGER_EXPONENT, MAX_INTEGER_EXPONENT + 1);
+                    x = Math.exp(random.nextDouble(-700.0, 700.0) / Math.max(Math.abs(y), 1.0));
+                    if (random.nextBoolean()) {
+                        x = -x;
+                    }
+                    break;
+                default:
+                    int family = random.nextInt(3);
+                    if (family == 0) {
+                        x = EDGE_BASES[random.nextInt(EDGE_BASES.length)];
+                        y = EDGE_EXPONENTS[random.nextInt(EDGE_EXPONENTS.length)];
+                    } else if (family == 1) {
+                        // Subnormal bases, which ln scales before its table lookup
+                        x = Double.longBitsToDouble(random.nextLong(1L, 1L << 52));
+                        y = random.nextDouble(-700.0, 700.0) / Math.log(x);
+                    } else {
+                        // Results from e^-745 to e^-700 and e^700 to e^710
+                        x = Math.exp(random.nextDouble(-5.0, 5.0));
+                        double product = random.nextBoolean()
+                                ? random.nextDouble(-745.0, -700.0) : random.nextDouble(700.0, 710.0);
+                        y = product / Math.log(x);
+                    }
+                    break;
+            }
+            xs[i] = x;
+            ys[i] = y;
+        }
+    }
+
+    /**
+     * Splits a range of blocks in half until it is a single block.
+     */
+    private final class SweepTask extends RecursiveTask<Tally> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+
+        SweepTask(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from == 1) {
+                Tally tally = new Tally();
+                tally.run(from, seed, (int) Math.min(BLOCK, samples - from * BLOCK));
+                return tally;
+            }
+            long middle = (from + to) >>> 1;
+            SweepTask left = new SweepTask(from, middle);
+            left.fork();
+            Tally right = new SweepTask(middle, to).compute();
+            return left.join().add(right);
+        }
+    }
+
+    /**
+     * Histograms, worst cases and timings of some blocks.
+     */
+    static final class Tally {
+        private static final Path[] PATHS = Path.values();
+        private static final Region[] REGIONS = Region.values();
+
+        final long[][][] counts = new long[PATHS.length][REGIONS.length][BUCKETS];
+        final double[][] maxUlp = new double[PATHS.length][REGIONS.length];
+        final double[][] worstX = new double[PATHS.length][REGIONS.length];
+        final double[][] worstY = new double[PATHS.length][REGIONS.length];
+        final long[] regionSamples = new long[REGIONS.length];
+        final long[][] nanos = new long[PATHS.length][REGIONS.length];
+        long referenceNanos;
+        long checked;
+        long invalid;
+
+        /**
+         * Draws and checks one block.
+         */
+        void run(long block, long seed, int length) {
+            int region = (int) (block % REGIONS.length);
+            double[] xs = new double[length];
+            double[] ys = new double[length];
+            double[] expected = new double[length];
+            double[] out = new double[length];
+            boolean[] valid = new boolean[length];
+            // A golden-ratio stride keeps the per-block seeds far apart
+            sample(REGIONS[region], new SplittableRandom(seed + block * 0x9E3779B97F4A7C15L), xs, ys, length);
+            for (int i = 0; i < length; i++) {
+                valid[i] = PowerCalculator.status(xs[i], ys[i]) == PowerStatus.OK;
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < length; i++) {
+                expected[i] = reference(xs[i], ys[i]);
+            }
+            referenceNanos += System.nanoTime() - start;
+
+            for (Path path : PATHS) {
+                start = System.nanoTime();
+                evaluate(path, xs, ys, out, valid);
+                nanos[path.ordinal()][region] += System.nanoTime() - start;
+                record(path.ordinal(), region, xs, ys, expected, out, valid);
+            }
+            regionSamples[region] += length;
+            for (boolean v : valid) {
+                if (v) {
+                    checked++;
+                } else {
+                    invalid++;
+                }
+            }
+        }
+
+        private static void evaluate(Path path, double[] xs, double[] ys, double[] out, boolean[] valid) {
+            if (path == Path.BULK) {
+                PowerCalculator.power(xs, ys, out);
+                return;
+            }
+            AccuracyTier tier = path == Path.FAST ? AccuracyTier.FAST
+                    : path == Path.STRICT ? AccuracyTier.STRICT : AccuracyTier.STANDARD;
+            for (int i = 0; i < xs.length; i++) {
+                if (valid[i]) {
+                    out[i] = PowerCalculator.power(xs[i], ys[i], tier);
+                }
+            }
+        }
+
+        private void record(int path, int region, double[] xs, double[] ys, double[] expected, double[] out,
+                boolean[] valid) {
+            long[] histogram = counts[path][region];
+            for (int i = 0; i < xs.length; i++) {
+                if (!valid[i]) {
+                    continue;
+                }
+                double ulps = ulpError(out[i], expected[i]);
+                histogram[bucket(ulps)]++;
+                if (ulps > maxUlp[path][region]) {
+                    maxUlp[path][region] = ulps;
+                    worstX[path][region] = xs[i];
+                    worstY[path][region] = ys[i];
+                }
+            }
+        }
+
+        /**
+         * Adds other into this tally, keeping the worst case of each.
+         */
+        Tally add(Tally other) {
+            for (int p = 0; p < PATHS.length; p++) {
+                for (int r = 0; r < REGIONS.length; r++) {
+                    for (int b = 0; b < BUCKETS; b++) {
+                        counts[p][r][b] += other.counts[p][r][b];
+                    }
+                    nanos[p][r] += other.nanos[p][r];
+                    if (other.maxUlp[p][r] > maxUlp[p][r]) {
+                        maxUlp[p][r] = other.maxUlp[p][r];
+                        worstX[p][r] = other.worstX[p][r];
+                        worstY[p][r] = other.worstY[p][r];
+                    }
+                }
+            }
+            for (int r = 0; r < REGIONS.length; r++) {
+                regionSamples[r] += other.regionSamples[r];
+            }
+            referenceNanos += other.referenceNanos;
+            checked += other.checked;
+            invalid += other.invalid;
+            return this;
+        }
+    }
+
+    /**
+     * Results of one sweep. Timings are summed over the worker threads, so
+     * nanoseconds per call are per core.
+     */
+    static final class Report {
+        final int threads;
+        final double seconds;
+        final Tally tally;
+
+        Report(int threads, double seconds, Tally tally) {
+            this.threads = threads;
+            this.seconds = seconds;
+            this.tally = tally;
+        }
+
+        /** Pairs with a real result, which every path is checked on. */
+        long checked() {
+            return tally.checked;
+        }
+
+        /** Pairs that every path rejects; they are timed but not checked. */
+        long invalid() {
+            return tally.invalid;
+        }
+
+        double maxUlp(Path path) {
+            double max = 0.0;
+            for (Region region : Region.values()) {
+                max = Math.max(max, maxUlp(path, region));
+            }
+            return max;
+        }
+
+        double maxUlp(Path path, Region region) {
+            return tally.maxUlp[path.ordinal()][region.ordinal()];
+        }
+
+        /**
+         * Counts per {@link #bucket}; a copy.
+         */
+        long[] histogram(Path path, Region region) {
+            return tally.counts[path.ordinal()][region.ordinal()].clone();
+        }
+
+        /** Mean time per pair on one core, including rejected pairs. */
+        double nanosPerCall(Path path) {
+            long nanos = 0;
+            for (long regionNanos : tally.nanos[path.ordinal()]) {
+                nanos += regionNanos;
+            }
+            return nanos / (double) (tally.checked + tally.invalid);
+        }
+
+        /** Mean time per pair of the region on one core. */
+        double nanosPerCall(Path path, Region region) {
+            long count = tally.regionSamples[region.ordinal()];
+            return count == 0 ? 0.0 : tally.nanos[path.ordinal()][region.ordinal()] / (double) count;
+        }
+
+        /** Mean time of StrictMath.pow per pair on one core. */
+        double referenceNanosPerCall() {
+            return tally.referenceNanos / (double) (tally.checked + tally.invalid);
+        }
+
+        /**
+         * Every path and region whose worst error exceeds its budget, with
+         * the input that produced it. A region budget replaces the path
+         * budget in that region; paths without a budget are not checked.
+         */
+        List<String> violations(Map<Path, Double> budgets, Map<Region, Double> regionBudgets) {
+            List<String> violations = new ArrayList<>();
+            for (Map.Entry<Path, Double> pathBudget : budgets.entrySet()) {
+                Path path = pathBudget.getKey();
+                for (Region region : Region.values()) {
+                    double budget = regionBudgets.getOrDefault(region, pathBudget.getValue());
+                    double max = maxUlp(path, region);
+                    if (max > budget) {
+                        violations.add(String.format(Locale.ROOT, "%s %s: %s ulp > %s at x=%s, y=%s",
+                                path, region, max, budget,
+                                tally.worstX[path.ordinal()][region.ordinal()],
+                                tally.worstY[path.ordinal()][region.ordinal()]));
+                    }
+                }
+            }
+            return violations;
+        }
+
+        String toText() {
+            StringBuilder text = new StringBuilder();
+            long total = tally.checked + tally.invalid;
+            text.append(String.format(Locale.ROOT, "%d pairs (%d invalid), %d thread(s), %.1f s, %.0f pairs/s%n",
+                    total, tally.invalid, threads, seconds, total / seconds));
+            text.append(String.format(Locale.ROOT, "%-10s %10.1f ns/call%n", "StrictMath", referenceNanosPerCall()));
+            for (Path path : Path.values()) {
+                text.append(String.format(Locale.ROOT, "%-10s %10.1f ns/call  max %s ulp%n",
+                        path, nanosPerCall(path), maxUlp(path)));
+            }
+            for (Path path : Path.values()) {
+                for (Region region : Region.values()) {
+                    text.append(String.format(Locale.ROOT, "%-8s %-8s %8.1f ns/call  max %-10s", path, region,
+                            nanosPerCall(path, region), maxUlp(path, region)));
+                    long[] counts = tally.counts[path.ordinal()][region.ordinal()];
+                    for (int b = 0; b < BUCKETS; b++) {
+                        if (counts[b] != 0) {
+                            text.append(' ').append(bucketLabel(b)).append(':').append(counts[b]);
+                        }
+                    }
+                    text.append(System.lineSeparator());
+                }
+            }
+            return text.toString();
+        }
+    }
+
+    private static Map<Path, Double> defaultBudgets() {
+        Map<Path, Double> budgets = new EnumMap<>(Path.class);
+        // FAST is 1e-8 relative, up to 1e-8 * 2^53 ulp
+        budgets.put(Path.FAST, 1e8);
+        budgets.put(Path.STANDARD, 2.0);
+        budgets.put(Path.STRICT, 1.0);
+        budgets.put(Path.BULK, 2.0);
+        return budgets;
+    }
+
+    /**
+     * Parses --sweep options, runs the sweep and prints the report.
+     *
+     * @param args The arguments after --sweep.
+     * @return The process exit status: 0 within budget, 2 on invalid
+     *         arguments, 3 if a path exceeded its budget.
+     */
+    static int run(String[] args, PrintStream stdout, PrintStream stderr) {
+        long samples = DEFAULT_SAMPLES;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = 42;
+        Map<Path, Double> budgets = new EnumMap<>(DEFAULT_BUDGETS);
+        Map<Region, Double> regionBudgets = new EnumMap<>(DEFAULT_REGION_BUDGETS);
+
+        AccuracySweep sweep;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--samples":
+                        samples = Long.parseLong(value(args, ++i));
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(value(args, ++i));
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(value(args, ++i));
+                        break;
+                    case "--max-ulp":
+                        budget(value(args, ++i), budgets, regionBudgets);
+                        break;
+                    case "--help":
+                        stdout.println(USAGE);
+                        return 0;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            sweep = new AccuracySweep(samples, seed, threads);
+        } catch (IllegalArgumentException ex) {
+            stderr.println("Error: " + ex.getMessage());
+            stderr.println(USAGE);
+            return 2;
+        }
+
+        Report report = sweep.run();
+        stdout.print(report.toText());
+        List<String> violations = report.violations(budgets, regionBudgets);
+        for (String violation : violations) {
+            stderr.println("Over budget: " + violation);
+        }
+        return violations.isEmpty() ? 0 : 3;
+    }
+
+    /**
+     * Parses one --max-ulp value into the path or region budgets.
+     */
+    private static void budget(String value, Map<Path, Double> budgets, Map<Region, Double> regionBudgets) {
+        int equals = value.indexOf('=');
+        if (equals < 0) {
+            throw new IllegalArgumentException("Expected <name>=<ulp>, got " + value);
+        }
+        String name = value.substring(0, equals).toUpperCase(Locale.ROOT);
+        double ulps = Double.parseDouble(value.substring(equals + 1));
+        if (!(ulps >= 0.0)) {
+            throw new IllegalArgumentException("Budget must not be negative: " + value);
+        }
+        for (Path path : Path.values()) {
+            if (path.name().equals(name)) {
+                budgets.put(path, ulps);
+                return;
+            }
+        }
+        for (Region region : Region.values()) {
+            if (region.name().equals(name)) {
+                regionBudgets.put(region, ulps);
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Unknown path or region: " + value.substring(0, equals));
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+}
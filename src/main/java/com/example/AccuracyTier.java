@@ -0,0 +1,38 @@
+package com.example;
+
+/**
+ * Accuracy/speed trade-off for non-integer exponents, where x^y is computed
+ * as e^(y * ln(x)). Integer exponents always use repeated squaring and are
+ * not affected by the tier.
+ *
+ * <p>Each tier has its own fixed-degree log and exp polynomials. The bounds
+ * below hold for every finite, normal result; throughput is measured with
+ * the JMH {@code TierBenchmark} in the benchmarks module.
+ */
+public enum AccuracyTier {
+
+    /**
+     * Degree-5 log and degree-2 exp polynomials in plain double arithmetic.
+     * Relative error below 1e-8 (measured 3.5e-9, about 3 * 10^7 ulp), for
+     * rendering, feature transforms and other callers that only need
+     * single precision.
+     */
+    FAST,
+
+    /**
+     * Degree-9 double-double log feeding a degree-5 exp of the double-double
+     * product y * ln(x). Error within 1 ulp. This is the tier used by
+     * {@link PowerCalculator#power(double, double)}.
+     */
+    STANDARD,
+
+    /**
+     * Degree-11 double-double log and a double-double degree-7 exp, with
+     * Ziv's rounding test deciding whether the roughly 2^-73 accurate result
+     * rounds unambiguously. Undecided cases (about 1 in 4000 for moderate
+     * |y * ln(x)|) and subnormal results are recomputed in 240-bit fixed
+     * point, so the result is correctly rounded (0.5 ulp) unless the exact
+     * value lies within about 2^-220 of a rounding boundary.
+     */
+    STRICT
+}
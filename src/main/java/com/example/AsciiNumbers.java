@@ -0,0 +1,114 @@
+package com.example;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parses decimal numbers straight from ASCII bytes, without building a
+ * String for the common case. Numbers with at most 15 significant digits
+ * and a decimal exponent within +/-22 are converted exactly with a single
+ * multiplication or division by an exact power of ten (Clinger's fast
+ * path). Anything else, including NaN, Infinity and hex literals, falls
+ * back to Double.parseDouble.
+ */
+final class AsciiNumbers {
+
+    private static final int MAX_FAST_DIGITS = 15;
+    private static final int MAX_FAST_EXPONENT = 22;
+
+    /** 10^0 .. 10^22, all exactly representable as doubles. */
+    private static final double[] POWERS_OF_TEN = new double[MAX_FAST_EXPONENT + 1];
+
+    static {
+        double value = 1.0;
+        for (int i = 0; i <= MAX_FAST_EXPONENT; i++) {
+            POWERS_OF_TEN[i] = value;
+            value *= 10.0;
+        }
+    }
+
+    private AsciiNumbers() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Parses bytes[start, end) as a double.
+     *
+     * @param bytes The ASCII input.
+     * @param start First byte of the number.
+     * @param end   One past the last byte of the number.
+     * @return The parsed value, correctly rounded.
+     * @throws NumberFormatException if the bytes are not a valid number.
+     */
+    static double parseDouble(byte[] bytes, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+            negative = bytes[i] == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean seenDigit = false;
+
+        // Integer part; leading zeros do not count as significant digits
+        while (i < end && isDigit(bytes[i])) {
+            seenDigit = true;
+            if (mantissa != 0 || bytes[i] != '0') {
+                mantissa = mantissa * 10 + (bytes[i] - '0');
+                digits++;
+            }
+            i++;
+        }
+        // Fraction part
+        if (i < end && bytes[i] == '.') {
+            i++;
+            while (i < end && isDigit(bytes[i])) {
+                seenDigit = true;
+                if (mantissa != 0 || bytes[i] != '0') {
+                    mantissa = mantissa * 10 + (bytes[i] - '0');
+                    digits++;
+                }
+                scale--;
+                i++;
+            }
+        }
+        // Exponent part
+        if (seenDigit && i < end && (bytes[i] == 'e' || bytes[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+                negativeExponent = bytes[i] == '-';
+                i++;
+            }
+            int exponent = 0;
+            int exponentStart = i;
+            while (i < end && isDigit(bytes[i]) && exponent < 100_000) {
+                exponent = exponent * 10 + (bytes[i] - '0');
+                i++;
+            }
+            if (i == exponentStart) {
+                return slowParse(bytes, start, end);
+            }
+            scale += negativeExponent ? -exponent : exponent;
+        }
+
+        if (!seenDigit || i != end || digits > MAX_FAST_DIGITS
+                || scale > MAX_FAST_EXPONENT || scale < -MAX_FAST_EXPONENT) {
+            return slowParse(bytes, start, end);
+        }
+
+        double value = mantissa;
+        value = scale >= 0 ? value * POWERS_OF_TEN[scale] : value / POWERS_OF_TEN[-scale];
+        return negative ? -value : value;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static double slowParse(byte[] bytes, int start, int end) {
+        return Double.parseDouble(new String(bytes, start, end - start, StandardCharsets.US_ASCII));
+    }
+}
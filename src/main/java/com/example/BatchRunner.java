@@ -0,0 +1,239 @@
+package com.example;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Formatter;
+import java.util.Locale;
+
+/**
+ * Streams (x, y) pairs through {@link PowerCalculator#power} for the
+ * {@code --batch} command-line mode.
+ *
+ * <p>Input is read in large blocks and split into lines and tokens by hand;
+ * x and y may be separated by spaces, tabs, commas or semicolons. Blank
+ * lines and lines starting with '#' are skipped. Every other line produces
+ * one output row {@code x,y,result,error}, where x and y echo the input
+ * tokens and error is empty on success. A bad row never stops the run.
+ */
+final class BatchRunner {
+
+    /**
+     * How results are written.
+     */
+    enum Format {
+        /** Shortest text that reads back to the same double. */
+        SHORTEST,
+        /** Fixed-point with the configured number of decimals. */
+        FIXED,
+        /** Scientific notation with the configured number of decimals. */
+        SCIENTIFIC
+    }
+
+    static final String HEADER = "x,y,result,error";
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /** Formatter pattern for FIXED and SCIENTIFIC, null for SHORTEST. */
+    private final String pattern;
+
+    private final StringBuilder text = new StringBuilder(32);
+    private final Formatter formatter = new Formatter(text, Locale.ROOT);
+    /** Start/end offsets of up to three tokens on the current line. */
+    private final int[] tokenBounds = new int[6];
+
+    /**
+     * @param format    How results are written.
+     * @param precision Decimals for FIXED and SCIENTIFIC; ignored for SHORTEST.
+     */
+    BatchRunner(Format format, int precision) {
+        if (precision < 0) {
+            throw new IllegalArgumentException("Precision must not be negative.");
+        }
+        this.pattern = format == Format.FIXED ? "%." + precision + "f"
+                : format == Format.SCIENTIFIC ? "%." + precision + "e" : null;
+    }
+
+    /**
+     * Processes every line of the input and writes one row per data line.
+     *
+     * @param in  The input pairs.
+     * @param out Receives the header and result rows; flushed but not closed.
+     * @return The number of rows written, excluding the header.
+     * @throws IOException if reading or writing fails.
+     */
+    long run(InputStream in, OutputStream out) throws IOException {
+        AsciiWriter writer = new AsciiWriter(out);
+        writer.write(HEADER);
+        writer.write('\n');
+
+        byte[] buffer = new byte[BUFFER_SIZE];
+        byte[] line = new byte[256];
+        int lineLength = 0;
+        long rows = 0;
+
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                byte b = buffer[i];
+                if (b == '\n') {
+                    rows += processLine(line, lineLength, writer);
+                    lineLength = 0;
+                } else {
+                    if (lineLength == line.length) {
+                        line = Arrays.copyOf(line, line.length * 2);
+                    }
+                    line[lineLength++] = b;
+                }
+            }
+        }
+        if (lineLength > 0) {
+            rows += processLine(line, lineLength, writer);
+        }
+
+        writer.flush();
+        return rows;
+    }
+
+    /**
+     * Tokenizes and evaluates one line.
+     *
+     * @return 1 if a row was written, 0 if the line was skipped.
+     */
+    private int processLine(byte[] line, int length, AsciiWriter writer) throws IOException {
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+
+        // Up to three token ranges: x, y and anything extra
+        int[] bounds = tokenBounds;
+        int tokens = 0;
+        int i = 0;
+        while (i < length && tokens < 3) {
+            while (i < length && isDelimiter(line[i])) {
+                i++;
+            }
+            if (i == length) {
+                break;
+            }
+            int start = i;
+            while (i < length && !isDelimiter(line[i])) {
+                i++;
+            }
+            bounds[2 * tokens] = start;
+            bounds[2 * tokens + 1] = i;
+            tokens++;
+        }
+
+        if (tokens == 0 || line[bounds[0]] == '#') {
+            return 0;
+        }
+
+        writer.write(line, bounds[0], bounds[1] - bounds[0]);
+        writer.write(',');
+        if (tokens > 1) {
+            writer.write(line, bounds[2], bounds[3] - bounds[2]);
+        }
+        writer.write(',');
+
+        if (tokens == 1) {
+            writer.write(",missing exponent\n");
+            return 1;
+        }
+        if (tokens > 2) {
+            writer.write(",too many values\n");
+            return 1;
+        }
+
+        double x;
+        double y;
+        try {
+            x = AsciiNumbers.parseDouble(line, bounds[0], bounds[1]);
+        } catch (NumberFormatException ex) {
+            writer.write(",invalid base\n");
+            return 1;
+        }
+        try {
+            y = AsciiNumbers.parseDouble(line, bounds[2], bounds[3]);
+        } catch (NumberFormatException ex) {
+            writer.write(",invalid exponent\n");
+            return 1;
+        }
+
+        // Classify first so invalid rows never build an exception
+        byte status = PowerCalculator.status(x, y);
+        if (status == PowerStatus.OK) {
+            writeNumber(PowerCalculator.tryPower(x, y), writer);
+            writer.write(",\n");
+        } else {
+            // Messages contain commas, so quote them as a CSV field
+            writer.write(",\"");
+            writer.write(PowerStatus.message(status));
+            writer.write("\"\n");
+        }
+        return 1;
+    }
+
+    private void writeNumber(double value, AsciiWriter writer) throws IOException {
+        text.setLength(0);
+        if (pattern == null) {
+            text.append(value);
+        } else {
+            formatter.format(pattern, value);
+        }
+        writer.write(text);
+    }
+
+    private static boolean isDelimiter(byte b) {
+        return b == ' ' || b == '\t' || b == ',' || b == ';';
+    }
+
+    /**
+     * Minimal buffered writer for ASCII text straight into bytes.
+     */
+    static final class AsciiWriter {
+        private final OutputStream out;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+
+        AsciiWriter(OutputStream out) {
+            this.out = out;
+        }
+
+        void write(char c) throws IOException {
+            if (position == buffer.length) {
+                drain();
+            }
+            buffer[position++] = (byte) c;
+        }
+
+        void write(CharSequence chars) throws IOException {
+            for (int i = 0; i < chars.length(); i++) {
+                write(chars.charAt(i));
+            }
+        }
+
+        void write(byte[] bytes, int offset, int length) throws IOException {
+            if (length > buffer.length - position) {
+                drain();
+                if (length > buffer.length) {
+                    out.write(bytes, offset, length);
+                    return;
+                }
+            }
+            System.arraycopy(bytes, offset, buffer, position, length);
+            position += length;
+        }
+
+        void flush() throws IOException {
+            drain();
+            out.flush();
+        }
+
+        private void drain() throws IOException {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary bulk job format and its memory-mapped runner, used by the
+ * {@code --binary} command-line mode.
+ *
+ * <p>All values are little-endian. An input file is a 16-byte header
+ * (int magic "PWJI", int version, long record count) followed by that many
+ * (x, y) records of two doubles each. The output file has the same header
+ * shape with magic "PWJO", followed by one double result per record;
+ * invalid records produce NaN, as in the bulk {@link PowerCalculator#power}.
+ *
+ * <p>Both files are mapped through {@link FileChannel#map} one window at a
+ * time, so memory use is bounded by the window size no matter how large the
+ * files are.
+ */
+final class BinaryJob {
+
+    static final int INPUT_MAGIC = 0x494A5750;
+    static final int OUTPUT_MAGIC = 0x4F4A5750;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int INPUT_RECORD_BYTES = 16;
+    static final int OUTPUT_RECORD_BYTES = 8;
+
+    /** Largest record count whose input file size still fits in a long. */
+    static final long MAX_RECORDS = (Long.MAX_VALUE - HEADER_BYTES) / INPUT_RECORD_BYTES;
+
+    /** Records per window: 16 MB of input and 8 MB of output. */
+    static final int DEFAULT_WINDOW_RECORDS = 1 << 20;
+
+    private final int windowRecords;
+
+    BinaryJob() {
+        this(DEFAULT_WINDOW_RECORDS);
+    }
+
+    BinaryJob(int windowRecords) {
+        if (windowRecords <= 0) {
+            throw new IllegalArgumentException("Window size must be positive.");
+        }
+        this.windowRecords = windowRecords;
+    }
+
+    /**
+     * Evaluates every record of the input file into the output file,
+     * replacing the output if it exists. The output is forced to storage
+     * once, after the last window.
+     *
+     * @param input  The input job file.
+     * @param output The result file to create.
+     * @return The number of records processed.
+     * @throws IOException if either file cannot be read or written, both
+     *                     paths name the same file, or the input header is
+     *                     invalid.
+     */
+    long run(Path input, Path output) throws IOException {
+        // Opening the output truncates it, which would wipe the input first
+        if (Files.exists(output) && Files.isSameFile(input, output)) {
+            throw new IOException("Input and output must be different files.");
+        }
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+                FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE)) {
+            long count = readHeader(in, INPUT_MAGIC);
+            if (count > MAX_RECORDS) {
+                throw new IOException("Record count too large: " + count);
+            }
+            long expectedSize = HEADER_BYTES + count * INPUT_RECORD_BYTES;
+            if (in.size() != expectedSize) {
+                throw new IOException("Input holds " + in.size() + " bytes but its header declares "
+                        + count + " records (" + expectedSize + " bytes).");
+            }
+            writeHeader(out, OUTPUT_MAGIC, count);
+
+            int capacity = (int) Math.min(windowRecords, Math.max(count, 1));
+            double[] xs = new double[capacity];
+            double[] ys = new double[capacity];
+            double[] results = new double[capacity];
+
+            for (long first = 0; first < count; first += capacity) {
+                int length = (int) Math.min(capacity, count - first);
+
+                DoubleBuffer pairs = in.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_BYTES + first * INPUT_RECORD_BYTES, (long) length * INPUT_RECORD_BYTES)
+                        .order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+                for (int i = 0; i < length; i++) {
+                    xs[i] = pairs.get();
+                    ys[i] = pairs.get();
+                }
+
+                PowerCalculator.power(xs, 0, ys, 0, results, 0, length);
+
+                MappedByteBuffer window = out.map(FileChannel.MapMode.READ_WRITE,
+                        HEADER_BYTES + first * OUTPUT_RECORD_BYTES, (long) length * OUTPUT_RECORD_BYTES);
+                window.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().put(results, 0, length);
+            }
+            out.force(false);
+            return count;
+        }
+    }
+
+    /**
+     * Writes an input job file holding the given pairs.
+     */
+    static void writeInput(Path file, double[] xs, double[] ys) throws IOException {
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("Input arrays must have the same length.");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeHeader(channel, INPUT_MAGIC, xs.length);
+            channel.position(HEADER_BYTES);
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < xs.length; i++) {
+                if (buffer.remaining() < INPUT_RECORD_BYTES) {
+                    drain(channel, buffer);
+                }
+                buffer.putDouble(xs[i]).putDouble(ys[i]);
+            }
+            drain(channel, buffer);
+        }
+    }
+
+    /**
+     * Reads every result of an output file.
+     */
+    static double[] readOutput(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long count = readHeader(channel, OUTPUT_MAGIC);
+            if (count > Integer.MAX_VALUE) {
+                throw new IOException("Too many results to load into one array: " + count);
+            }
+            double[] results = new double[(int) count];
+            channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, count * OUTPUT_RECORD_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(results);
+            return results;
+        }
+    }
+
+    private static long readHeader(FileChannel channel, int expectedMagic) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new IOException("File is shorter than its " + HEADER_BYTES + "-byte header.");
+            }
+        }
+        header.flip();
+        if (header.getInt() != expectedMagic) {
+            throw new IOException("Not a power job file (bad magic number).");
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported job file version: " + version);
+        }
+        long count = header.getLong();
+        if (count < 0) {
+            throw new IOException("Negative record count: " + count);
+        }
+        return count;
+    }
+
+    private static void writeHeader(FileChannel channel, int magic, long count) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(magic).putInt(VERSION).putLong(count).flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,265 @@
+package com.example;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Non-interactive command-line modes of {@link PowerCalculator#main}.
+ * Without arguments, main keeps its interactive prompt loop.
+ */
+final class CommandLine {
+
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: PowerCalculator --batch [input|-] [options]",
+            "       PowerCalculator --binary <input> <output>",
+            "       PowerCalculator --serve <port>",
+            "       PowerCalculator --tcp <port>",
+            "       PowerCalculator --load [options]",
+            "       PowerCalculator --sweep [options]",
+            "       PowerCalculator --eval <expression> [input|-] [options]",
+            "  --batch [input|-]    Read x,y pairs from a file or stdin (default)",
+            "  --binary <in> <out>  Run a binary job file through memory-mapped windows",
+            "  --serve <port>       Serve /power and /power/batch over HTTP until stopped",
+            "  --tcp <port>         Serve the binary TCP protocol until stopped",
+            "  --load [options]     Measure latency under load; see --load --help",
+            "  --sweep [options]    Check accuracy and speed against StrictMath.pow;",
+            "                       see --sweep --help",
+            "  --eval <expression>  Evaluate an expression such as 1000*1.05^n for each",
+            "                       line of variable values in a file or stdin",
+            "  --output <file>      Write results to a file instead of stdout",
+            "  --format <name>      shortest (default), fixed or scientific",
+            "  --precision <n>      Decimals for fixed/scientific (default 10)");
+
+    private static final int DEFAULT_PRECISION = 10;
+
+    private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private CommandLine() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Runs the mode selected by the arguments.
+     *
+     * @return The process exit status: 0 on success, 1 on I/O failure,
+     *         2 on invalid arguments.
+     */
+    static int run(String[] args, InputStream stdin, PrintStream stdout, PrintStream stderr) {
+        if (args.length > 0 && "--load".equals(args[0])) {
+            return LoadGenerator.run(Arrays.copyOfRange(args, 1, args.length), stdout, stderr);
+        }
+        if (args.length > 0 && "--sweep".equals(args[0])) {
+            return AccuracySweep.run(Arrays.copyOfRange(args, 1, args.length), stdout, stderr);
+        }
+
+        String input = null;
+        String output = null;
+        BatchRunner.Format format = BatchRunner.Format.SHORTEST;
+        int precision = DEFAULT_PRECISION;
+        boolean batch = false;
+        String binaryInput = null;
+        String binaryOutput = null;
+        int port = -1;
+        int tcpPort = -1;
+        PowerExpression expression = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--batch":
+                        batch = true;
+                        if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                            input = args[++i];
+                        }
+                        break;
+                    case "--binary":
+                        binaryInput = value(args, ++i);
+                        binaryOutput = value(args, ++i);
+                        break;
+                    case "--serve":
+                        port = port(value(args, ++i));
+                        break;
+                    case "--tcp":
+                        tcpPort = port(value(args, ++i));
+                        break;
+                    case "--eval":
+                        expression = PowerCalculator.compileExpression(value(args, ++i));
+                        if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                            input = args[++i];
+                        }
+                        break;
+                    case "--output":
+                        output = value(args, ++i);
+                        break;
+                    case "--format":
+                        format = BatchRunner.Format.valueOf(value(args, ++i).toUpperCase(Locale.ROOT));
+                        break;
+                    case "--precision":
+                        precision = Integer.parseInt(value(args, ++i));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            int modes = (batch ? 1 : 0) + (binaryInput != null ? 1 : 0) + (port >= 0 ? 1 : 0)
+                    + (tcpPort >= 0 ? 1 : 0) + (expression != null ? 1 : 0);
+            if (modes != 1) {
+                throw new IllegalArgumentException(
+                        "Select exactly one of --batch, --binary, --serve, --tcp or --eval.");
+            }
+            if (precision < 0) {
+                throw new IllegalArgumentException("Precision must not be negative.");
+            }
+        } catch (IllegalArgumentException ex) {
+            stderr.println("Error: " + ex.getMessage());
+            stderr.println(USAGE);
+            return 2;
+        }
+
+        if (port >= 0) {
+            return serve(port, stderr);
+        }
+        if (tcpPort >= 0) {
+            return serveTcp(tcpPort, stderr);
+        }
+
+        if (binaryInput != null) {
+            try {
+                long records = new BinaryJob().run(Paths.get(binaryInput), Paths.get(binaryOutput));
+                stderr.println("Processed " + records + " records.");
+                return 0;
+            } catch (IOException ex) {
+                stderr.println("Error: " + ex.getMessage());
+                return 1;
+            }
+        }
+
+        try (InputStream in = input == null || "-".equals(input)
+                ? nonClosing(stdin) : new BufferedInputStream(new FileInputStream(input));
+                OutputStream out = output == null
+                        ? nonClosing(stdout) : new BufferedOutputStream(new FileOutputStream(output))) {
+            if (expression != null) {
+                new ExpressionRunner(expression, format, precision).run(in, out);
+            } else {
+                new BatchRunner(format, precision).run(in, out);
+            }
+            return 0;
+        } catch (IOException ex) {
+            stderr.println("Error: " + ex.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Runs the HTTP service until the process is stopped.
+     *
+     * <p>Switches on TCP_NODELAY for the JDK HTTP server unless
+     * {@code -Dsun.net.httpserver.nodelay} was given. Without it, Nagle's
+     * algorithm holds small keep-alive responses back until the client's
+     * delayed ACK, capping each connection at a few dozen requests per
+     * second. The property is JVM-wide, so it is set only here, where this
+     * process owns the JVM, and not when PowerServer is embedded.
+     */
+    private static int serve(int port, PrintStream stderr) {
+        if (System.getProperty(NODELAY_PROPERTY) == null) {
+            System.setProperty(NODELAY_PROPERTY, "true");
+        }
+        PowerServer server;
+        try {
+            server = new PowerServer(new InetSocketAddress(port));
+        } catch (IOException ex) {
+            stderr.println("Error: " + ex.getMessage());
+            return 1;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(1)));
+        server.start();
+        stderr.println("Serving on port " + server.port()
+                + (server.usesVirtualThreads() ? " with virtual threads." : "."));
+        try {
+            Thread.currentThread().join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            server.stop(0);
+        }
+        return 0;
+    }
+
+    /**
+     * Runs the binary TCP service until the process is stopped.
+     */
+    private static int serveTcp(int port, PrintStream stderr) {
+        PowerTcpServer server;
+        try {
+            server = new PowerTcpServer(new InetSocketAddress(port));
+        } catch (IOException ex) {
+            stderr.println("Error: " + ex.getMessage());
+            return 1;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        server.start();
+        stderr.println("Serving the binary protocol on port " + server.port() + ".");
+        try {
+            Thread.currentThread().join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            server.stop();
+        }
+        return 0;
+    }
+
+    private static int port(String value) {
+        int port = Integer.parseInt(value);
+        if (port < 0 || port > 65535) {
+            throw new IllegalArgumentException("Port must be between 0 and 65535.");
+        }
+        return port;
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+    /**
+     * Wraps stdin so try-with-resources leaves it open.
+     */
+    private static InputStream nonClosing(InputStream in) {
+        return new FilterInputStream(in) {
+            @Override
+            public void close() {
+                // Leave the process stream open
+            }
+        };
+    }
+
+    /**
+     * Wraps stdout so try-with-resources flushes but leaves it open.
+     */
+    private static OutputStream nonClosing(OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                out.write(bytes, offset, length);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+}
@@ -0,0 +1,183 @@
+package com.example;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Builds specialized x^y kernels for a fixed exponent y.
+ * The exponent is classified once here; each returned lambda is a separate,
+ * small function that the JIT can inline at its call site.
+ */
+final class CompiledPower {
+
+    private CompiledPower() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Compile x^y for the given exponent, see {@link PowerCalculator#compile}.
+     */
+    static DoubleUnaryOperator compile(double y) {
+        if (y == 0.0) {
+            // Any number (including 0) raised to power 0 is 1
+            return x -> 1.0;
+        }
+        if (y == 1.0) {
+            // 0^1 is +0 even for a -0 base, matching power(x, y)
+            return x -> x == 0.0 ? 0.0 : x;
+        }
+
+        boolean negative = y < 0.0;
+        double magnitude = negative ? -y : y;
+
+        if (PowerCalculator.isInteger(y)) {
+            return integerKernel((long) magnitude, negative);
+        }
+        if (y == 0.5 || y == -0.5 || y == 1.5) {
+            return squareRootKernel(y);
+        }
+        return fractionalKernel(y, negative);
+    }
+
+    /**
+     * x^n or x^-n for an integer n, unrolled for the most common small n.
+     * Each kernel multiplies in the same order as powerInteger, so results
+     * are bit-for-bit identical to power(x, y).
+     */
+    private static DoubleUnaryOperator integerKernel(long n, boolean negative) {
+        if (n == 1) {
+            // Only reachable for y == -1
+            return x -> 1.0 / nonZero(x);
+        }
+        if (n == 2) {
+            return negative
+                    ? x -> 1.0 / square(nonZero(x))
+                    : x -> x * x;
+        }
+        if (n == 3) {
+            return negative
+                    ? x -> 1.0 / cube(nonZero(x))
+                    : x -> x == 0.0 ? 0.0 : cube(x);
+        }
+        if (n == 4) {
+            return negative
+                    ? x -> 1.0 / square(square(nonZero(x)))
+                    : x -> square(square(x));
+        }
+
+        boolean[] chain = squaringChain(n);
+        return negative
+                ? x -> 1.0 / applyChain(nonZero(x), chain)
+                : x -> x == 0.0 ? 0.0 : applyChain(x, chain);
+    }
+
+    /**
+     * x^0.5, x^-0.5 and x^1.5 through a square root. x^0.5 is correctly
+     * rounded and the other two are within 1 ulp, the same bound as the
+     * STANDARD kernel. Larger half-integers would need x^n by squaring,
+     * whose error grows with n (2 ulp at 2.5, over 200 at 299.5), so they
+     * use the fractional kernel.
+     */
+    private static DoubleUnaryOperator squareRootKernel(double y) {
+        if (y == 0.5) {
+            return x -> x == 0.0 ? 0.0 : Math.sqrt(positiveBase(x, false));
+        }
+        if (y == -0.5) {
+            return x -> 1.0 / Math.sqrt(positiveBase(x, true));
+        }
+        return x -> {
+            double base = positiveBase(x, false);
+            if (base == 0.0) {
+                return 0.0;
+            }
+            double product = base * Math.sqrt(base);
+            // Near overflow or in the subnormal range the product rounds twice
+            // at reduced precision, so leave those bases to the fractional kernel
+            if (Double.isInfinite(product) || product < Double.MIN_NORMAL) {
+                return PowerCalculator.fractionalPower(base, y, AccuracyTier.STANDARD);
+            }
+            return product;
+        };
+    }
+
+    /**
+     * x^y = e^(y * ln(x)) through the same STANDARD-tier kernel as power(x, y).
+     */
+    private static DoubleUnaryOperator fractionalKernel(double y, boolean negative) {
+        return negative
+                ? x -> {
+                    double base = positiveBase(x, true);
+                    if (base == 1.0) {
+                        return 1.0;
+                    }
+                    return PowerCalculator.fractionalPower(base, y, AccuracyTier.STANDARD);
+                }
+                : x -> {
+                    double base = positiveBase(x, false);
+                    if (base == 0.0 || base == 1.0) {
+                        return base == 0.0 ? 0.0 : 1.0;
+                    }
+                    return PowerCalculator.fractionalPower(base, y, AccuracyTier.STANDARD);
+                };
+    }
+
+    /**
+     * The bits of n from least to most significant, i.e. the multiply steps
+     * of exponentiation by squaring.
+     */
+    private static boolean[] squaringChain(long n) {
+        int length = 64 - Long.numberOfLeadingZeros(n);
+        boolean[] chain = new boolean[length];
+        for (int i = 0; i < length; i++) {
+            chain[i] = ((n >>> i) & 1L) != 0;
+        }
+        return chain;
+    }
+
+    /**
+     * Exponentiation by squaring over a precomputed chain, in the same
+     * multiplication order as PowerCalculator.powerInteger.
+     */
+    private static double applyChain(double x, boolean[] chain) {
+        double result = 1.0;
+        double base = x;
+        for (boolean multiply : chain) {
+            if (multiply) {
+                result *= base;
+            }
+            base *= base;
+        }
+        return result;
+    }
+
+    private static double square(double x) {
+        return x * x;
+    }
+
+    private static double cube(double x) {
+        return x * (x * x);
+    }
+
+    /**
+     * Rejects a zero base for a negative exponent.
+     */
+    private static double nonZero(double x) {
+        if (x == 0.0) {
+            throw new IllegalArgumentException(PowerStatus.ZERO_NEGATIVE_POWER_MESSAGE);
+        }
+        return x;
+    }
+
+    /**
+     * Rejects a negative base for a non-integer exponent, and a zero base
+     * when the exponent is negative.
+     */
+    private static double positiveBase(double x, boolean negativeExponent) {
+        if (x == 0.0 && negativeExponent) {
+            throw new IllegalArgumentException(PowerStatus.ZERO_NEGATIVE_POWER_MESSAGE);
+        }
+        if (x < 0) {
+            throw new IllegalArgumentException(PowerStatus.COMPLEX_RESULT_MESSAGE);
+        }
+        return x;
+    }
+}
@@ -0,0 +1,255 @@
+package com.example;
+
+/**
+ * Principal value of x^y for complex x and y, see
+ * {@link PowerCalculator#complexPower}.
+ *
+ * <p>x^y = e^(y * Log(x)), where Log(x) = ln|x| + i * Arg(x) and Arg(x) is
+ * in (-pi, pi]; a negative real base has the angle pi whatever the sign of
+ * its zero imaginary part. The paths, in order:
+ * <ul>
+ *   <li>a real base and exponent use power(x, y), or power(|x|, y) rotated
+ *       by pi * y for a negative base with a non-integer exponent, with the
+ *       angle reduced exactly before the sine and cosine;</li>
+ *   <li>a real integer exponent uses complex exponentiation by squaring in
+ *       the same multiplication order as PowerCalculator.powerInteger;</li>
+ *   <li>a real exponent uses |x|^y from the STANDARD tier and the angle
+ *       y * Arg(x);</li>
+ *   <li>anything else takes e^(a ln|x| - b Arg(x)) through the project's
+ *       ln and exp, with the difference carried as a double-double, and the
+ *       angle a Arg(x) + b ln|x|, for y = a + bi.</li>
+ * </ul>
+ *
+ * <p>Results are written into caller-supplied arrays, so neither the scalar
+ * nor the bulk path allocates.
+ */
+final class ComplexPower {
+
+    /** Exponents of at least this magnitude do not fit the squaring loop's long. */
+    private static final double SQUARING_LIMIT = 0x1p63;
+
+    private ComplexPower() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Classifies (x, y) without computing. The only invalid case is a zero
+     * base with a non-zero exponent whose real part is not positive.
+     *
+     * @return {@link PowerStatus#OK} or {@link PowerStatus#ZERO_NEGATIVE_POWER}.
+     */
+    static byte status(double xRe, double xIm, double yRe, double yIm) {
+        if (xRe == 0.0 && xIm == 0.0 && !(yRe > 0.0) && (yRe != 0.0 || yIm != 0.0)
+                && !Double.isNaN(yRe) && !Double.isNaN(yIm)) {
+            return PowerStatus.ZERO_NEGATIVE_POWER;
+        }
+        return PowerStatus.OK;
+    }
+
+    /**
+     * Writes x^y to outRe[reIndex] and outIm[imIndex]; NaN in both for
+     * invalid or NaN inputs.
+     */
+    static void evaluate(double xRe, double xIm, double yRe, double yIm,
+            double[] outRe, int reIndex, double[] outIm, int imIndex) {
+        if (Double.isNaN(xRe) || Double.isNaN(xIm) || Double.isNaN(yRe) || Double.isNaN(yIm)) {
+            outRe[reIndex] = Double.NaN;
+            outIm[imIndex] = Double.NaN;
+            return;
+        }
+        if (yRe == 0.0 && yIm == 0.0) {
+            // Anything, including 0, raised to power 0 is 1
+            outRe[reIndex] = 1.0;
+            outIm[imIndex] = 0.0;
+            return;
+        }
+        if (xRe == 0.0 && xIm == 0.0) {
+            double result = yRe > 0.0 ? 0.0 : Double.NaN;
+            outRe[reIndex] = result;
+            outIm[imIndex] = result;
+            return;
+        }
+
+        if (yIm == 0.0) {
+            if (xIm == 0.0) {
+                realBase(xRe, yRe, outRe, reIndex, outIm, imIndex);
+                return;
+            }
+            double magnitude = Math.abs(yRe);
+            if (PowerCalculator.isInteger(yRe) && magnitude < SQUARING_LIMIT) {
+                integerPower(xRe, xIm, (long) magnitude, yRe < 0.0, outRe, reIndex, outIm, imIndex);
+                return;
+            }
+            double modulus = PowerCalculator.tryPower(Math.hypot(xRe, xIm), yRe);
+            double angle = yRe * Math.atan2(xIm, xRe);
+            outRe[reIndex] = modulus * Math.cos(angle);
+            outIm[imIndex] = modulus * Math.sin(angle);
+            return;
+        }
+
+        double lnModulus = LogEngine.ln(Math.hypot(xRe, xIm));
+        double argument = xIm == 0.0 && xRe < 0.0 ? Math.PI : Math.atan2(xIm, xRe);
+        // Re(y * Log(x)) = yRe * ln|x| - yIm * Arg(x), as a double-double
+        double first = yRe * lnModulus;
+        double second = -yIm * argument;
+        double hi = first + second;
+        double lo = DoubleDouble.twoSumError(first, second, hi)
+                + DoubleDouble.twoProductError(yRe, lnModulus, first)
+                + DoubleDouble.twoProductError(-yIm, argument, second);
+        double modulus = ExpEngine.exp(hi, lo);
+        double angle = yRe * argument + yIm * lnModulus;
+        outRe[reIndex] = modulus * Math.cos(angle);
+        outIm[imIndex] = modulus * Math.sin(angle);
+    }
+
+    /**
+     * Writes x[i]^y[i] for every element; out may alias the inputs.
+     */
+    static void evaluate(double[] xRe, double[] xIm, double[] yRe, double[] yIm,
+            double[] outRe, double[] outIm, int length) {
+        for (int i = 0; i < length; i++) {
+            evaluate(xRe[i], xIm[i], yRe[i], yIm[i], outRe, i, outIm, i);
+        }
+    }
+
+    /**
+     * Writes x[i]^y for every element, with y classified once. A real integer
+     * exponent runs the squaring loop directly.
+     */
+    static void evaluate(double[] xRe, double[] xIm, double yRe, double yIm,
+            double[] outRe, double[] outIm, int length) {
+        boolean integral = yIm == 0.0 && PowerCalculator.isInteger(yRe) && Math.abs(yRe) < SQUARING_LIMIT
+                && yRe != 0.0;
+        if (!integral) {
+            for (int i = 0; i < length; i++) {
+                evaluate(xRe[i], xIm[i], yRe, yIm, outRe, i, outIm, i);
+            }
+            return;
+        }
+        long n = (long) Math.abs(yRe);
+        boolean negative = yRe < 0.0;
+        for (int i = 0; i < length; i++) {
+            double re = xRe[i];
+            double im = xIm[i];
+            if (Double.isNaN(re) || Double.isNaN(im)) {
+                // As in the scalar path; a real NaN base would otherwise keep a zero imaginary part
+                outRe[i] = Double.NaN;
+                outIm[i] = Double.NaN;
+            } else if (re == 0.0 && im == 0.0) {
+                double result = negative ? Double.NaN : 0.0;
+                outRe[i] = result;
+                outIm[i] = result;
+            } else if (im == 0.0) {
+                // A real base stays real, without 0 * Infinity in the imaginary part
+                double positive = PowerCalculator.powerInteger(re, n);
+                outRe[i] = negative ? 1.0 / positive : positive;
+                outIm[i] = 0.0;
+            } else {
+                integerPower(re, im, n, negative, outRe, i, outIm, i);
+            }
+        }
+    }
+
+    /**
+     * x^n or x^-n by squaring. A negative exponent takes the reciprocal of
+     * x^n with Smith's division, which avoids overflow in |x^n|^2; when x^n
+     * itself overflows or underflows, it raises 1/x to n instead, so the
+     * result is infinite or zero with the right signs rather than NaN.
+     */
+    private static void integerPower(double xRe, double xIm, long n, boolean negative,
+            double[] outRe, int reIndex, double[] outIm, int imIndex) {
+        squaring(xRe, xIm, n, outRe, reIndex, outIm, imIndex);
+        if (!negative) {
+            return;
+        }
+        double re = outRe[reIndex];
+        double im = outIm[imIndex];
+        if (re == 0.0 && im == 0.0 || Double.isInfinite(re) || Double.isInfinite(im)) {
+            reciprocal(xRe, xIm, outRe, reIndex, outIm, imIndex);
+            squaring(outRe[reIndex], outIm[imIndex], n, outRe, reIndex, outIm, imIndex);
+        } else {
+            reciprocal(re, im, outRe, reIndex, outIm, imIndex);
+        }
+    }
+
+    /**
+     * x^n for n &gt;= 1. The product starts from the lowest set bit's square
+     * rather than from 1, so an infinite or zero part never meets the zero
+     * imaginary part of 1 and turns into NaN.
+     */
+    private static void squaring(double xRe, double xIm, long n,
+            double[] outRe, int reIndex, double[] outIm, int imIndex) {
+        double resultRe = 0.0;
+        double resultIm = 0.0;
+        boolean started = false;
+        double baseRe = xRe;
+        double baseIm = xIm;
+        while (true) {
+            if ((n & 1L) != 0) {
+                if (started) {
+                    double re = resultRe * baseRe - resultIm * baseIm;
+                    resultIm = resultRe * baseIm + resultIm * baseRe;
+                    resultRe = re;
+                } else {
+                    resultRe = baseRe;
+                    resultIm = baseIm;
+                    started = true;
+                }
+            }
+            n >>>= 1;
+            if (n == 0) {
+                break;
+            }
+            // (a + bi)^2 = (a - b)(a + b) + 2abi; the product form avoids cancellation when |a| ~ |b|
+            double re = (baseRe - baseIm) * (baseRe + baseIm);
+            baseIm = 2.0 * baseRe * baseIm;
+            baseRe = re;
+        }
+        outRe[reIndex] = resultRe;
+        outIm[imIndex] = resultIm;
+    }
+
+    /**
+     * 1 / x for a non-zero x by Smith's division.
+     */
+    private static void reciprocal(double xRe, double xIm,
+            double[] outRe, int reIndex, double[] outIm, int imIndex) {
+        if (Math.abs(xRe) >= Math.abs(xIm)) {
+            double ratio = xIm / xRe;
+            double denominator = xRe + xIm * ratio;
+            outRe[reIndex] = 1.0 / denominator;
+            outIm[imIndex] = -ratio / denominator;
+        } else {
+            double ratio = xRe / xIm;
+            double denominator = xRe * ratio + xIm;
+            outRe[reIndex] = ratio / denominator;
+            outIm[imIndex] = -1.0 / denominator;
+        }
+    }
+
+    /**
+     * x^y for a real, non-zero x and real y: power(x, y) for a positive base
+     * or integer exponent, otherwise |x|^y rotated by pi * y.
+     */
+    private static void realBase(double x, double y, double[] outRe, int reIndex, double[] outIm, int imIndex) {
+        if (x > 0.0 || PowerCalculator.isInteger(y)) {
+            outRe[reIndex] = PowerCalculator.tryPower(x, y);
+            outIm[imIndex] = 0.0;
+            return;
+        }
+        double modulus = PowerCalculator.tryPower(-x, y);
+        // pi * y is only known to within an ulp of the product, so reduce y
+        // itself: t = y - 2 * round(y / 2) is exact and in [-1, 1]
+        double t = y - 2.0 * Math.rint(0.5 * y);
+        double a = Math.abs(t);
+        boolean reflected = a > 0.5;
+        if (reflected) {
+            // cos(pi * a) = -cos(pi * (1 - a)) and sin(pi * a) = sin(pi * (1 - a))
+            a = 1.0 - a;
+        }
+        double sine = Math.sin(Math.PI * a);
+        double cosine = Math.sin(Math.PI * (0.5 - a));
+        outRe[reIndex] = modulus * (reflected ? -cosine : cosine);
+        outIm[imIndex] = modulus * (t < 0.0 ? -sine : sine);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example;
+
+/**
+ * Error-free transformations for double-double arithmetic: each method
+ * returns the exact rounding error of one floating-point operation, so a
+ * value can be carried as an unevaluated sum hi + lo with about 106 bits.
+ */
+final class DoubleDouble {
+
+    /** 2^27 + 1, splits a double into two 26-bit halves (Veltkamp). */
+    private static final double SPLITTER = 134217729.0;
+
+    private DoubleDouble() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Rounding error of sum = a + b (Knuth's branch-free two-sum).
+     */
+    static double twoSumError(double a, double b, double sum) {
+        double bVirtual = sum - a;
+        double aVirtual = sum - bVirtual;
+        return (a - aVirtual) + (b - bVirtual);
+    }
+
+    /**
+     * Rounding error of sum = a + b, valid when |a| &gt;= |b| (Dekker's fast two-sum).
+     */
+    static double fastTwoSumError(double a, double b, double sum) {
+        return b - (sum - a);
+    }
+
+    /**
+     * Rounding error of product = a * b (Dekker's two-product). Exact unless
+     * a or b exceeds about 2^996, where the split itself overflows.
+     */
+    static double twoProductError(double a, double b, double product) {
+        double t = SPLITTER * a;
+        double aHi = t - (t - a);
+        double aLo = a - aHi;
+        t = SPLITTER * b;
+        double bHi = t - (t - b);
+        double bLo = b - bHi;
+        return ((aHi * bHi - product) + aHi * bLo + aLo * bHi) + aLo * bLo;
+    }
+}
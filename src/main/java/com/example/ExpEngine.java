@@ -0,0 +1,244 @@
+package com.example;
+
+import java.math.BigDecimal;
+
+/**
+ * Table-driven exponential.
+ *
+ * <p>The argument is reduced as x = (128 * e + j) * ln(2) / 128 + r with
+ * |r| &lt;= ln(2) / 256, so e^x = 2^e * 2^(j/128) * e^r. The factor
+ * 2^(j/128) comes from a 128-entry table, e^r from a fixed degree-5
+ * polynomial, and 2^e is built directly in the exponent bits. Overflow and
+ * underflow thresholds are checked explicitly up front. The error is within
+ * 1 ulp for normal results.
+ */
+final class ExpEngine {
+
+    private static final int TABLE_BITS = 7;
+    private static final int TABLE_SIZE = 1 << TABLE_BITS;
+    private static final int MANTISSA_BITS = 52;
+    private static final int EXPONENT_BIAS = 1023;
+
+    /** Largest x with a finite e^x (ln of Double.MAX_VALUE, rounded down). */
+    static final double OVERFLOW_THRESHOLD = 709.782712893384;
+
+    /** Below this, e^x rounds to zero even as a subnormal. */
+    static final double UNDERFLOW_THRESHOLD = -745.1332191019412;
+
+    /** Below this magnitude e^x rounds to 1 + x. */
+    static final double TINY = 0x1p-54;
+
+    /** Adding this rounds a double to an integer held in its low mantissa bits. */
+    static final double ROUND_SHIFT = 0x1.8p52;
+
+    /** Extra binary exponent used to scale subnormal results in two steps. */
+    private static final int SUBNORMAL_SHIFT = 960;
+
+    /** 128 / ln(2), and ln(2) / 128 split so that k * HI is exact. */
+    static final double INV_LN2_N;
+    static final double LN2_N_HI;
+    static final double LN2_N_LO;
+    /** What remains of ln(2) / 128 after HI and LO, for the STRICT reduction. */
+    private static final double LN2_N_LO2;
+
+    /** 2^(j/128) as hi + lo pairs, package-private for the vector kernel. */
+    static final double[] TABLE_HI = new double[TABLE_SIZE];
+    static final double[] TABLE_LO = new double[TABLE_SIZE];
+
+    static {
+        BigDecimal ln2 = HighPrecisionMath.ln(BigDecimal.valueOf(2));
+        BigDecimal ln2OverN = ln2.divide(BigDecimal.valueOf(TABLE_SIZE), HighPrecisionMath.CONTEXT);
+        INV_LN2_N = HighPrecisionMath.hi(
+                BigDecimal.ONE.divide(ln2OverN, HighPrecisionMath.CONTEXT));
+        // Keep 32 significant bits so k * LN2_N_HI is exact for every reachable k
+        LN2_N_HI = Double.longBitsToDouble(
+                Double.doubleToRawLongBits(HighPrecisionMath.hi(ln2OverN)) & ~0x1FFFFFL);
+        LN2_N_LO = HighPrecisionMath.lo(ln2OverN, LN2_N_HI);
+        LN2_N_LO2 = ln2OverN.subtract(new BigDecimal(LN2_N_HI)).subtract(new BigDecimal(LN2_N_LO))
+                .doubleValue();
+
+        for (int j = 0; j < TABLE_SIZE; j++) {
+            BigDecimal value = HighPrecisionMath.exp(
+                    ln2OverN.multiply(BigDecimal.valueOf(j), HighPrecisionMath.CONTEXT));
+            TABLE_HI[j] = HighPrecisionMath.hi(value);
+            TABLE_LO[j] = HighPrecisionMath.lo(value, TABLE_HI[j]);
+        }
+    }
+
+    private ExpEngine() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * e raised to the power x.
+     *
+     * @param x The exponent.
+     * @return e^x; +Infinity above the overflow threshold, 0 below the
+     *         underflow threshold, NaN for NaN input.
+     */
+    static double exp(double x) {
+        return exp(x, 0.0);
+    }
+
+    /**
+     * e raised to the power (hi + lo), where lo is a small correction to hi
+     * such as the rounding error of a preceding product.
+     */
+    static double exp(double hi, double lo) {
+        if (hi > OVERFLOW_THRESHOLD) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (hi < UNDERFLOW_THRESHOLD) {
+            return 0.0;
+        }
+        if (hi != hi) {
+            return hi;
+        }
+        if (hi < TINY && hi > -TINY) {
+            return 1.0 + (hi + lo);
+        }
+
+        // k = round(x * 128 / ln2), read from the low bits of the shifted sum
+        double kd = hi * INV_LN2_N + ROUND_SHIFT;
+        int k = (int) Double.doubleToRawLongBits(kd);
+        kd -= ROUND_SHIFT;
+
+        // Cody-Waite reduction: r = x - k * ln2 / 128
+        double r = (hi - kd * LN2_N_HI) - kd * LN2_N_LO + lo;
+
+        // e^r - 1 for |r| <= ln2/256, truncated Taylor series of degree 5
+        double p = r + r * r * (1.0 / 2 + r * (1.0 / 6 + r * (1.0 / 24 + r * (1.0 / 120))));
+
+        int j = k & (TABLE_SIZE - 1);
+        int e = k >> TABLE_BITS;
+        double t = TABLE_HI[j] + (TABLE_LO[j] + TABLE_HI[j] * p);
+
+        // Scale by 2^e by constructing the exponent bits directly
+        return scale(t, e);
+    }
+
+    /**
+     * e^x for the FAST accuracy tier: the same reduction with a degree-2
+     * polynomial, relative error below 3.5e-9.
+     *
+     * @param x The exponent.
+     * @return e^x, with the same special cases as {@link #exp(double)}.
+     */
+    static double expFast(double x) {
+        if (x > OVERFLOW_THRESHOLD) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (x < UNDERFLOW_THRESHOLD) {
+            return 0.0;
+        }
+        if (x != x) {
+            return x;
+        }
+
+        double kd = x * INV_LN2_N + ROUND_SHIFT;
+        int k = (int) Double.doubleToRawLongBits(kd);
+        kd -= ROUND_SHIFT;
+
+        double r = (x - kd * LN2_N_HI) - kd * LN2_N_LO;
+        double p = r + r * r * 0.5;
+
+        double t = TABLE_HI[k & (TABLE_SIZE - 1)];
+        return scale(t + t * p, k >> TABLE_BITS);
+    }
+
+    /**
+     * Correctly rounded e^(hi + lo) for the STRICT accuracy tier, or -1 when
+     * that cannot be decided cheaply.
+     *
+     * <p>The reduced argument, e^r - 1 and the table product are all carried
+     * as double-doubles, giving about 2^-80 relative error before the final
+     * rounding. If the true value, allowing for that error plus relErr of
+     * the caller's argument, could lie on either side of a rounding boundary
+     * (Ziv's test), or the result would be subnormal or overflow after
+     * scaling, -1 is returned and the caller must use a slower method.
+     *
+     * @param hi     The exponent's leading part.
+     * @param lo     A small correction to hi.
+     * @param relErr Relative error already present in e^(hi + lo) because of
+     *               errors in hi and lo.
+     * @return e^(hi + lo) correctly rounded, or -1.
+     */
+    static double expStrict(double hi, double lo, double relErr) {
+        if (hi > OVERFLOW_THRESHOLD) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (hi < UNDERFLOW_THRESHOLD) {
+            return 0.0;
+        }
+        if (hi != hi) {
+            return hi;
+        }
+        if (hi < TINY && hi > -TINY) {
+            return 1.0 + (hi + lo);
+        }
+
+        double kd = hi * INV_LN2_N + ROUND_SHIFT;
+        int k = (int) Double.doubleToRawLongBits(kd);
+        kd -= ROUND_SHIFT;
+
+        // r = (hi + lo) - k * ln2 / 128 as rHi + rLo; hi - kd * LN2_N_HI is exact
+        double t1 = hi - kd * LN2_N_HI;
+        double t2 = kd * LN2_N_LO;
+        double t2Err = DoubleDouble.twoProductError(kd, LN2_N_LO, t2);
+        double rSum = t1 - t2;
+        double rTail = DoubleDouble.twoSumError(t1, -t2, rSum) - t2Err + lo - kd * LN2_N_LO2;
+        // The caller's lo can be far above an ulp of r; fold it in so the
+        // polynomial tail, which only sees rHi, loses less than 2^-80
+        double rHi = rSum + rTail;
+        double rLo = DoubleDouble.twoSumError(rSum, rTail, rHi);
+
+        // e^r - 1 = r + r^2/2 + ..., the first two terms in double-double
+        double square = rHi * rHi;
+        double squareErr = DoubleDouble.twoProductError(rHi, rHi, square);
+        double half = 0.5 * square;
+        double tail = square * rHi * (1.0 / 6 + rHi * (1.0 / 24 + rHi * (1.0 / 120
+                + rHi * (1.0 / 720 + rHi * (1.0 / 5040)))));
+        double pHi = rHi + half;
+        double pLo = DoubleDouble.fastTwoSumError(rHi, half, pHi)
+                + rLo + (0.5 * squareErr + rHi * rLo) + tail;
+
+        // 2^(j/128) * (1 + p), also in double-double
+        int j = k & (TABLE_SIZE - 1);
+        double t = TABLE_HI[j];
+        double q = t * pHi;
+        double qErr = DoubleDouble.twoProductError(t, pHi, q);
+        double sum = t + q;
+        double sumLo = DoubleDouble.fastTwoSumError(t, q, sum)
+                + qErr + t * pLo + TABLE_LO[j] * (1.0 + pHi);
+
+        // Ziv's rounding test: both ends of the error interval must round alike
+        double margin = (relErr + 0x1p-76) * sum;
+        double up = sum + (sumLo + margin);
+        double down = sum + (sumLo - margin);
+        int e = k >> TABLE_BITS;
+        if (up != down || e > EXPONENT_BIAS - 1 || e < 2 - EXPONENT_BIAS) {
+            return -1.0;
+        }
+        return up * twoTo(e);
+    }
+
+    /**
+     * t * 2^e, handling results that overflow or become subnormal.
+     */
+    private static double scale(double t, int e) {
+        if (e > EXPONENT_BIAS - 1) {
+            return t * twoTo(e - 1) * 2.0;
+        }
+        if (e < 2 - EXPONENT_BIAS) {
+            return t * twoTo(e + SUBNORMAL_SHIFT) * twoTo(-SUBNORMAL_SHIFT);
+        }
+        return t * twoTo(e);
+    }
+
+    /**
+     * 2^n for n in the normal exponent range [-1022, 1023].
+     */
+    private static double twoTo(int n) {
+        return Double.longBitsToDouble((long) (n + EXPONENT_BIAS) << MANTISSA_BITS);
+    }
+}
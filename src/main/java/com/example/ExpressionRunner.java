@@ -0,0 +1,187 @@
+package com.example;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Formatter;
+import java.util.Locale;
+
+/**
+ * Streams variable bindings through a compiled {@link PowerExpression} for
+ * the {@code --eval} command-line mode.
+ *
+ * <p>Each input line holds one value per variable, in the order the
+ * variables first appear in the expression, separated like {@code --batch}
+ * input. Lines are collected into blocks and evaluated with the bulk
+ * {@link PowerExpression#evaluate(double[][], double[])}. Every data line
+ * produces one row echoing its values followed by result and error. A
+ * constant expression reads no input and writes a single row.
+ */
+final class ExpressionRunner {
+
+    private final PowerExpression expression;
+    private final String pattern;
+    private final StringBuilder text = new StringBuilder(32);
+    private final Formatter formatter = new Formatter(text, Locale.ROOT);
+
+    private final double[][] columns;
+    private final double[] results = new double[PowerExpression.BLOCK];
+    /** Per pending row: the echoed input, and the input error or null. */
+    private final String[] echoes = new String[PowerExpression.BLOCK];
+    private final String[] errors = new String[PowerExpression.BLOCK];
+    private int pending;
+
+    /**
+     * @param expression The expression to evaluate.
+     * @param format     How results are written.
+     * @param precision  Decimals for FIXED and SCIENTIFIC; ignored for SHORTEST.
+     */
+    ExpressionRunner(PowerExpression expression, BatchRunner.Format format, int precision) {
+        if (precision < 0) {
+            throw new IllegalArgumentException("Precision must not be negative.");
+        }
+        this.expression = expression;
+        this.pattern = format == BatchRunner.Format.FIXED ? "%." + precision + "f"
+                : format == BatchRunner.Format.SCIENTIFIC ? "%." + precision + "e" : null;
+        this.columns = new double[expression.variables().size()][PowerExpression.BLOCK];
+    }
+
+    /**
+     * The header row: the variable names, then result and error.
+     */
+    String header() {
+        StringBuilder header = new StringBuilder();
+        for (String variable : expression.variables()) {
+            header.append(variable).append(',');
+        }
+        return header.append("result,error").toString();
+    }
+
+    /**
+     * Evaluates every data line of the input, or the constant expression
+     * once without reading the input.
+     *
+     * @param in  The input bindings.
+     * @param out Receives the header and result rows; flushed but not closed.
+     * @return The number of rows written, excluding the header.
+     * @throws IOException if reading or writing fails.
+     */
+    long run(InputStream in, OutputStream out) throws IOException {
+        StringBuilder rows = new StringBuilder(1 << 16);
+        rows.append(header()).append('\n');
+        if (expression.isConstant()) {
+            echoes[0] = "";
+            pending = 1;
+            flushBlock(rows);
+            write(rows, out);
+            return 1;
+        }
+
+        long count = 0;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (addLine(line.trim())) {
+                count++;
+                if (pending == PowerExpression.BLOCK) {
+                    flushBlock(rows);
+                    write(rows, out);
+                }
+            }
+        }
+        flushBlock(rows);
+        write(rows, out);
+        return count;
+    }
+
+    /**
+     * Parses a line into the pending block.
+     *
+     * @return false if the line was skipped.
+     */
+    private boolean addLine(String line) {
+        if (line.isEmpty() || line.charAt(0) == '#') {
+            return false;
+        }
+        String[] tokens = line.split("[\\s,;]+");
+        int row = pending++;
+        echoes[row] = String.join(",", tokens);
+        errors[row] = null;
+        if (tokens.length != columns.length) {
+            errors[row] = "expected " + columns.length + " values";
+            return true;
+        }
+        for (int v = 0; v < columns.length; v++) {
+            try {
+                columns[v][row] = Double.parseDouble(tokens[v]);
+            } catch (NumberFormatException ex) {
+                errors[row] = "invalid value for " + expression.variables().get(v);
+                return true;
+            }
+        }
+        return true;
+    }
+
+    private void flushBlock(StringBuilder rows) {
+        if (pending == 0) {
+            return;
+        }
+        double[][] block = new double[columns.length][];
+        for (int v = 0; v < columns.length; v++) {
+            block[v] = columns[v].length == pending ? columns[v] : Arrays.copyOf(columns[v], pending);
+        }
+        double[] out = results.length == pending ? results : new double[pending];
+        expression.evaluate(block, out);
+
+        double[] binding = new double[columns.length];
+        for (int row = 0; row < pending; row++) {
+            if (!echoes[row].isEmpty()) {
+                rows.append(echoes[row]).append(',');
+            }
+            if (errors[row] != null) {
+                rows.append(',').append(errors[row]).append('\n');
+                continue;
+            }
+            String error = null;
+            if (Double.isNaN(out[row])) {
+                // The bulk path gives NaN for an invalid power; rerun the row for its message
+                for (int v = 0; v < columns.length; v++) {
+                    binding[v] = columns[v][row];
+                }
+                try {
+                    expression.evaluate(binding);
+                } catch (IllegalArgumentException ex) {
+                    error = ex.getMessage();
+                }
+            }
+            if (error == null) {
+                appendNumber(rows, out[row]);
+                rows.append(",\n");
+            } else {
+                // Messages contain commas, so quote them as a CSV field
+                rows.append(",\"").append(error).append("\"\n");
+            }
+        }
+        pending = 0;
+    }
+
+    private void appendNumber(StringBuilder rows, double value) {
+        if (pattern == null) {
+            rows.append(value);
+        } else {
+            text.setLength(0);
+            formatter.format(pattern, value);
+            rows.append(text);
+        }
+    }
+
+    private static void write(StringBuilder rows, OutputStream out) throws IOException {
+        out.write(rows.toString().getBytes(StandardCharsets.UTF_8));
+        out.flush();
+        rows.setLength(0);
+    }
+}
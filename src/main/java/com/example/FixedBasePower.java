@@ -0,0 +1,188 @@
+package com.example;
+
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Evaluates x^y for one fixed base x and many exponents y.
+ * The base is classified and ln(x) is computed once, as a double-double,
+ * so each exponent costs only the final exponential (or the squaring loop
+ * for integer y).
+ * Results and errors are identical to {@link PowerCalculator#power}.
+ *
+ * <p>Instances are immutable and safe to share between threads.
+ * Obtain one with {@link PowerCalculator#withBase(double)}.
+ */
+public final class FixedBasePower {
+
+    private final double base;
+    private final boolean zero;
+    private final boolean one;
+    private final boolean negative;
+    /** ln(base) as lnHi + lnLo for a positive base other than 1, NaN otherwise. */
+    private final double lnHi;
+    private final double lnLo;
+
+    FixedBasePower(double base) {
+        this.base = base;
+        this.zero = base == 0.0;
+        this.one = base == 1.0;
+        this.negative = base < 0.0;
+        double[] ln = {Double.NaN, Double.NaN};
+        if (!(zero || one || negative)) {
+            // One logarithm; the continuation hands back both parts
+            LogEngine.lnExtended(base, false, 0.0, (hi, lo, x, y) -> {
+                ln[0] = hi;
+                ln[1] = lo;
+                return hi;
+            });
+        }
+        this.lnHi = ln[0];
+        this.lnLo = ln[1];
+    }
+
+    /**
+     * The base this evaluator was created for.
+     *
+     * @return The base value x.
+     */
+    public double base() {
+        return base;
+    }
+
+    /**
+     * Calculates base^y.
+     *
+     * @param y The exponent value.
+     * @return base raised to the power of y.
+     * @throws IllegalArgumentException for 0^negative, or a negative base with
+     *                                  a non-integer exponent.
+     */
+    public double pow(double y) {
+        if (zero && y < 0.0) {
+            throw new IllegalArgumentException(PowerStatus.ZERO_NEGATIVE_POWER_MESSAGE);
+        }
+        if (negative && !PowerCalculator.isInteger(y)) {
+            throw new IllegalArgumentException(PowerStatus.COMPLEX_RESULT_MESSAGE);
+        }
+        return evaluate(y);
+    }
+
+    /**
+     * Calculates base^ys[i] for every exponent. Invalid elements are written
+     * as NaN instead of throwing, as in the bulk {@link PowerCalculator#power}.
+     *
+     * @param ys  The exponent values.
+     * @param out Receives the results; may be the same array as ys.
+     * @throws IllegalArgumentException if the arrays differ in length.
+     */
+    public void pow(double[] ys, double[] out) {
+        if (ys.length != out.length) {
+            throw new IllegalArgumentException("Input and output arrays must have the same length.");
+        }
+        pow(ys, 0, out, 0, ys.length);
+    }
+
+    /**
+     * Calculates base^ys[yOffset + i] into out[outOffset + i] for i in
+     * [0, length). Invalid elements are written as NaN.
+     *
+     * @param ys        The exponent values.
+     * @param yOffset   First exponent index.
+     * @param out       Receives the results.
+     * @param outOffset First result index.
+     * @param length    Number of elements to evaluate.
+     * @throws IndexOutOfBoundsException if a range falls outside its array.
+     */
+    public void pow(double[] ys, int yOffset, double[] out, int outOffset, int length) {
+        Objects.checkFromIndexSize(yOffset, length, ys.length);
+        Objects.checkFromIndexSize(outOffset, length, out.length);
+
+        for (int i = 0; i < length; i++) {
+            out[outOffset + i] = evaluate(ys[yOffset + i]);
+        }
+    }
+
+    /**
+     * Generates base^(start + k * step) for k = 0 .. count - 1 incrementally,
+     * one compensated multiplication per element instead of a full pow, e.g.
+     * base^0 .. base^n with start 0 and step 1. Each element is within an
+     * ulp of the exact power, so it may differ from pow in the last bit.
+     *
+     * @param start The first exponent.
+     * @param step  The difference between successive exponents.
+     * @param count The number of elements.
+     * @return An iterator over the powers, which allocates nothing per element.
+     * @throws IllegalArgumentException for a negative count, a non-finite
+     *                                  start or step, or if any element is
+     *                                  0^negative or a negative base with a
+     *                                  non-integer exponent.
+     */
+    public PrimitiveIterator.OfDouble powers(double start, double step, long count) {
+        return new GeometricSequence(this, lnHi, lnLo, start, step, count);
+    }
+
+    /**
+     * The elements of {@link #powers(double, double, long)} as a sequential
+     * stream.
+     *
+     * @param start The first exponent.
+     * @param step  The difference between successive exponents.
+     * @param count The number of elements.
+     * @return A stream of the powers.
+     * @throws IllegalArgumentException as for {@link #powers(double, double, long)}.
+     */
+    public DoubleStream powerStream(double start, double step, long count) {
+        return StreamSupport.doubleStream(Spliterators.spliterator(powers(start, step, count), count,
+                Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Fills out[k] with base^(start + k * step), as
+     * {@link #powers(double, double, long)} with count out.length.
+     *
+     * @param start The first exponent.
+     * @param step  The difference between successive exponents.
+     * @param out   Receives the powers.
+     * @throws IllegalArgumentException as for {@link #powers(double, double, long)}.
+     */
+    public void powers(double start, double step, double[] out) {
+        new GeometricSequence(this, lnHi, lnLo, start, step, out.length).fill(out);
+    }
+
+    /**
+     * Same branch order as PowerCalculator.evaluate, with ln(base) reused.
+     * Returns NaN for the invalid cases.
+     */
+    private double evaluate(double y) {
+        if (zero) {
+            if (y == 0.0) {
+                return 1.0;
+            }
+            return y < 0.0 ? Double.NaN : 0.0;
+        }
+        if (one || y == 0.0) {
+            return 1.0;
+        }
+        if (y == 1.0) {
+            return base;
+        }
+
+        boolean integral = PowerCalculator.isInteger(y);
+        if (negative && !integral) {
+            return Double.NaN;
+        }
+
+        if (!integral) {
+            return PowerCalculator.exponentialOfProduct(lnHi, lnLo, base, y);
+        }
+
+        boolean negativeExponent = y < 0.0;
+        double positive = PowerCalculator.powerInteger(base, (long) (negativeExponent ? -y : y));
+        return negativeExponent ? 1.0 / positive : positive;
+    }
+}
@@ -0,0 +1,264 @@
+package com.example;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Generates x^(start + k * step) for k = 0, 1, ..., count - 1 by repeated
+ * multiplication with the ratio x^step, see {@link FixedBasePower#powers}.
+ *
+ * <p>The running value and the ratio are carried as double-doubles
+ * ({@link DoubleDouble}) times a separate power of two, so each step is one
+ * compensated product, the rounding error does not build up, and values far
+ * beyond the double range keep their precision until the final scaling.
+ * With an integer step the ratio is exact to about 2^-100 and each result
+ * is within an ulp of the exact power. A fractional ratio is only as good
+ * as the 2^-73 logarithm behind it, so the value is re-anchored through
+ * {@link FixedBasePower#pow} every {@link #ANCHOR} elements.
+ *
+ * <p>Not thread safe; each call to powers returns a new iterator.
+ */
+final class GeometricSequence implements PrimitiveIterator.OfDouble {
+
+    /** Elements between re-anchors. */
+    static final int ANCHOR = 1024;
+
+    /**
+     * Values are rescaled into [2^-400, 2^400], so a product of two never
+     * overflows Dekker's split or pushes its low half into the subnormals.
+     */
+    private static final double RESCALE_MIN = 0x1p-400;
+    private static final double RESCALE_MAX = 0x1p400;
+    /** Beyond this binary scale every double result is 0 or infinite. */
+    private static final long SCALE_LIMIT = 4096;
+    /** A ratio beyond 2^(2^20) leaves at most one finite non-zero element. */
+    private static final long RATIO_SCALE_LIMIT = 1L << 20;
+    /** Larger integer exponents are anchored through pow, keeping the scale in a long. */
+    private static final double INTEGER_LIMIT = 0x1p52;
+
+    private final FixedBasePower base;
+    private final double x;
+    private final double start;
+    private final double step;
+    private final long count;
+    /** Whether the ratio is usable, otherwise every element is computed with pow. */
+    private final boolean stepping;
+    private final double ratioHi;
+    private final double ratioLo;
+    private final long ratioScale;
+
+    private long index;
+    /** The last element is (hi + lo) * 2^scale while valid is set. */
+    private double hi;
+    private double lo;
+    private long scale;
+    private boolean valid;
+
+    /** Result of the last multiply or integerPower. */
+    private double productHi;
+    private double productLo;
+    private long productScale;
+
+    /**
+     * @param lnHi ln(x) as lnHi + lnLo for a positive x other than 1,
+     *             NaN otherwise.
+     * @throws IllegalArgumentException for a negative count or non-finite
+     *                                  start or step, or if any element is
+     *                                  an invalid power.
+     */
+    GeometricSequence(FixedBasePower base, double lnHi, double lnLo, double start, double step, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must not be negative.");
+        }
+        if (!Double.isFinite(start) || !Double.isFinite(step)) {
+            throw new IllegalArgumentException("Start and step must be finite.");
+        }
+        this.base = base;
+        this.x = base.base();
+        this.start = start;
+        this.step = step;
+        this.count = count;
+
+        // The exponents are monotonic, so checking the ends covers every element
+        if (count > 0) {
+            double last = exponent(count - 1);
+            if (x == 0.0 && Math.min(start, last) < 0.0) {
+                throw new IllegalArgumentException(PowerStatus.ZERO_NEGATIVE_POWER_MESSAGE);
+            }
+            if (x < 0.0 && !(PowerCalculator.isInteger(start)
+                    && (count == 1 || PowerCalculator.isInteger(step)))) {
+                throw new IllegalArgumentException(PowerStatus.COMPLEX_RESULT_MESSAGE);
+            }
+        }
+
+        boolean ratio = false;
+        if (Double.isFinite(x) && x != 0.0) {
+            if (PowerCalculator.isInteger(step) && Math.abs(step) < INTEGER_LIMIT) {
+                integerPower(step);
+                ratio = true;
+            } else if (x > 0.0) {
+                ratio = fractionalRatio(lnHi, lnLo);
+            }
+        }
+        this.stepping = ratio && Math.abs(productScale) <= RATIO_SCALE_LIMIT;
+        this.ratioHi = productHi;
+        this.ratioLo = productLo;
+        this.ratioScale = productScale;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return index < count;
+    }
+
+    @Override
+    public double nextDouble() {
+        if (index >= count) {
+            throw new NoSuchElementException();
+        }
+        long k = index++;
+        if (valid && k % ANCHOR != 0) {
+            multiply(hi, lo, scale, ratioHi, ratioLo, ratioScale);
+            hi = productHi;
+            lo = productLo;
+            scale = productScale;
+        } else {
+            anchor(exponent(k));
+        }
+        return scale == 0 ? hi : Math.scalb(hi, (int) Math.max(-SCALE_LIMIT, Math.min(SCALE_LIMIT, scale)));
+    }
+
+    /**
+     * Fills out with the next out.length elements.
+     *
+     * @throws NoSuchElementException if fewer elements remain.
+     */
+    void fill(double[] out) {
+        if (count - index < out.length) {
+            throw new NoSuchElementException();
+        }
+        for (int i = 0; i < out.length; i++) {
+            out[i] = nextDouble();
+        }
+    }
+
+    private double exponent(long k) {
+        return start + k * step;
+    }
+
+    /**
+     * Sets the running value to x^y: exactly by squaring for an integer y,
+     * otherwise through pow. The next element steps from it only if valid
+     * is set.
+     */
+    private void anchor(double y) {
+        if (stepping && PowerCalculator.isInteger(y) && Math.abs(y) < INTEGER_LIMIT) {
+            integerPower(y);
+            hi = productHi;
+            lo = productLo;
+            scale = productScale;
+            valid = true;
+            return;
+        }
+        hi = base.pow(y);
+        lo = 0.0;
+        scale = 0;
+        valid = stepping && Math.abs(hi) >= RESCALE_MIN && Math.abs(hi) <= RESCALE_MAX;
+    }
+
+    /**
+     * x^n for an integer n by squaring in scaled double-double, then a
+     * double-double reciprocal for negative n.
+     */
+    private void integerPower(double y) {
+        long n = (long) Math.abs(y);
+        double resultHi = 1.0;
+        double resultLo = 0.0;
+        long resultScale = 0;
+        double squareHi = x;
+        double squareLo = 0.0;
+        long squareScale = 0;
+        // Rescales a base outside the range of the running value
+        multiply(squareHi, squareLo, squareScale, 1.0, 0.0, 0);
+        squareHi = productHi;
+        squareLo = productLo;
+        squareScale = productScale;
+        while (true) {
+            if ((n & 1L) != 0) {
+                multiply(resultHi, resultLo, resultScale, squareHi, squareLo, squareScale);
+                resultHi = productHi;
+                resultLo = productLo;
+                resultScale = productScale;
+            }
+            n >>>= 1;
+            if (n == 0) {
+                break;
+            }
+            multiply(squareHi, squareLo, squareScale, squareHi, squareLo, squareScale);
+            squareHi = productHi;
+            squareLo = productLo;
+            squareScale = productScale;
+        }
+        if (y < 0.0) {
+            double inverse = 1.0 / resultHi;
+            double product = inverse * resultHi;
+            // 1 - inverse * (resultHi + resultLo), with the product split exactly
+            double remainder = (1.0 - product) - DoubleDouble.twoProductError(inverse, resultHi, product)
+                    - inverse * resultLo;
+            resultLo = remainder * inverse;
+            resultHi = inverse;
+            resultScale = -resultScale;
+        }
+        productHi = resultHi + resultLo;
+        productLo = DoubleDouble.fastTwoSumError(resultHi, resultLo, productHi);
+        productScale = resultScale;
+    }
+
+    /**
+     * x^step for a positive x and fractional step: pow gives the leading
+     * part and the gap between step * ln(x) and ln(pow) gives the rest.
+     *
+     * @return false if x^step is too large or small to step with.
+     */
+    private boolean fractionalRatio(double lnHi, double lnLo) {
+        double ratio = base.pow(step);
+        productScale = 0;
+        if (x == 1.0) {
+            productHi = 1.0;
+            productLo = 0.0;
+            return true;
+        }
+        if (!(ratio >= RESCALE_MIN && ratio <= RESCALE_MAX)) {
+            return false;
+        }
+        double targetHi = step * lnHi;
+        double targetLo = DoubleDouble.twoProductError(step, lnHi, targetHi) + step * lnLo;
+        double gap = LogEngine.lnExtended(ratio, false, 0.0,
+                (hi, lo, value, unused) -> (targetHi - hi) + (targetLo - lo));
+        productHi = ratio;
+        productLo = ratio * gap;
+        return true;
+    }
+
+    /**
+     * (aHi + aLo) * 2^aScale * (bHi + bLo) * 2^bScale into
+     * (productHi + productLo) * 2^productScale, rescaled into range.
+     */
+    private void multiply(double aHi, double aLo, long aScale, double bHi, double bLo, long bScale) {
+        double product = aHi * bHi;
+        double error = DoubleDouble.twoProductError(aHi, bHi, product) + (aHi * bLo + aLo * bHi);
+        double resultHi = product + error;
+        double resultLo = DoubleDouble.fastTwoSumError(product, error, resultHi);
+        long resultScale = aScale + bScale;
+        double magnitude = Math.abs(resultHi);
+        if (magnitude < RESCALE_MIN || magnitude > RESCALE_MAX) {
+            int shift = Math.getExponent(resultHi);
+            resultHi = Math.scalb(resultHi, -shift);
+            resultLo = Math.scalb(resultLo, -shift);
+            resultScale += shift;
+        }
+        productHi = resultHi;
+        productLo = resultLo;
+        productScale = resultScale;
+    }
+}
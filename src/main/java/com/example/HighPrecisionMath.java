@@ -0,0 +1,174 @@
+package com.example;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Slow, high-precision reference routines used to build the lookup tables
+ * of the log and exp engines when their classes are initialized, and as the
+ * last resort of the STRICT accuracy tier. Table results carry about 40
+ * significant digits, far beyond double precision, so each table entry can
+ * be split into an exactly rounded hi/lo pair.
+ */
+final class HighPrecisionMath {
+
+    static final MathContext CONTEXT = new MathContext(40, RoundingMode.HALF_EVEN);
+
+    /** Fractional bits of the fixed-point arithmetic in {@link #pow}. */
+    private static final int POW_BITS = 240;
+
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+    private static final BigDecimal EPSILON = new BigDecimal("1e-42");
+
+    private HighPrecisionMath() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Natural logarithm of a value in [0.5, 2] using the series
+     * ln(x) = 2 * sum(s^(2k+1) / (2k+1)) with s = (x-1)/(x+1), |s| <= 1/3.
+     */
+    static BigDecimal ln(BigDecimal x) {
+        BigDecimal s = x.subtract(BigDecimal.ONE).divide(x.add(BigDecimal.ONE), CONTEXT);
+        BigDecimal s2 = s.multiply(s, CONTEXT);
+        BigDecimal power = s;
+        BigDecimal sum = BigDecimal.ZERO;
+
+        for (int k = 1; power.abs().compareTo(EPSILON) > 0; k += 2) {
+            sum = sum.add(power.divide(BigDecimal.valueOf(k), CONTEXT), CONTEXT);
+            power = power.multiply(s2, CONTEXT);
+        }
+        return sum.multiply(TWO, CONTEXT);
+    }
+
+    /**
+     * e^x for |x| <= 1 using the Taylor series.
+     */
+    static BigDecimal exp(BigDecimal x) {
+        BigDecimal term = BigDecimal.ONE;
+        BigDecimal sum = BigDecimal.ONE;
+
+        for (int k = 1; term.abs().compareTo(EPSILON) > 0; k++) {
+            term = term.multiply(x, CONTEXT).divide(BigDecimal.valueOf(k), CONTEXT);
+            sum = sum.add(term, CONTEXT);
+        }
+        return sum;
+    }
+
+    /**
+     * x^y for a positive finite x, correctly rounded unless the exact result
+     * lies within about 2^-220 (relative) of a rounding boundary.
+     *
+     * <p>Works in binary fixed point with {@link #POW_BITS} fractional bits,
+     * which is much faster than BigDecimal at this precision:
+     * ln(x) = k * ln(2) + ln(c) + ln(m / c) with m in [1, 2) read from the
+     * binary exponent and c = 1 + j/64 the table point just below m, so the
+     * series converges in about 15 terms. Then
+     * e^(y * ln(x)) = 2^n * (e^(w / 256))^256 with |w| <= ln(2) / 2, and the
+     * fixed-point result is rounded to the nearest double (ties to even)
+     * directly from its bits, subnormal results included.
+     */
+    static double pow(double x, double y) {
+        int k = Math.getExponent(x);
+        if (k < Double.MIN_EXPONENT) {
+            k = Math.getExponent(x * 0x1p54) - 54;
+        }
+        double m = Math.scalb(x, -k);
+        int j = (int) ((m - 1.0) * PowTables.SIZE);
+        long mantissa = (long) Math.scalb(m, 52);
+
+        // ln(x), then z = y * ln(x) with y = yMantissa * 2^yExponent exactly
+        BigInteger lnX = lnFixed(BigInteger.valueOf(mantissa * PowTables.SIZE),
+                BigInteger.valueOf(PowTables.SIZE + j).shiftLeft(52))
+                .add(PowTables.LN_CENTER[j])
+                .add(PowTables.LN2.multiply(BigInteger.valueOf(k)));
+        int yExponent = Math.max(Math.getExponent(y), Double.MIN_EXPONENT) - 52;
+        BigInteger z = lnX.multiply(BigInteger.valueOf((long) Math.scalb(y, -yExponent)));
+        z = yExponent >= 0 ? z.shiftLeft(yExponent) : z.shiftRight(-yExponent);
+
+        // z = n * ln(2) + w, e^w = (e^(w/256))^256
+        long n = Math.round(Math.scalb(z.doubleValue(), -POW_BITS) / Math.log(2.0));
+        BigInteger w = z.subtract(PowTables.LN2.multiply(BigInteger.valueOf(n)));
+        BigInteger result = expFixed(w.shiftRight(8));
+        for (int i = 0; i < 8; i++) {
+            result = result.multiply(result).shiftRight(POW_BITS);
+        }
+        return toDouble(result, n - POW_BITS);
+    }
+
+    /**
+     * ln(num / den) for a ratio in [1, 2], in fixed point.
+     */
+    private static BigInteger lnFixed(BigInteger num, BigInteger den) {
+        BigInteger s = num.subtract(den).shiftLeft(POW_BITS).divide(num.add(den));
+        BigInteger s2 = s.multiply(s).shiftRight(POW_BITS);
+        BigInteger power = s;
+        BigInteger sum = BigInteger.ZERO;
+
+        for (int k = 1; power.signum() != 0; k += 2) {
+            sum = sum.add(power.divide(BigInteger.valueOf(k)));
+            power = power.multiply(s2).shiftRight(POW_BITS);
+        }
+        return sum.shiftLeft(1);
+    }
+
+    /**
+     * e^t for a small fixed-point t, using the Taylor series.
+     */
+    private static BigInteger expFixed(BigInteger t) {
+        BigInteger term = BigInteger.ONE.shiftLeft(POW_BITS);
+        BigInteger sum = term;
+
+        for (int k = 1; term.signum() != 0; k++) {
+            term = term.multiply(t).shiftRight(POW_BITS).divide(BigInteger.valueOf(k));
+            sum = sum.add(term);
+        }
+        return sum;
+    }
+
+    /**
+     * The double nearest to value * 2^scale, rounding ties to even.
+     */
+    private static double toDouble(BigInteger value, long scale) {
+        long exponent = value.bitLength() - 1 + scale;
+        long lsb = Math.max(exponent - 52, Double.MIN_EXPONENT - 52);
+        int drop = (int) (lsb - scale);
+        BigInteger kept = value.shiftRight(drop);
+        if (value.testBit(drop - 1) && (kept.testBit(0) || value.getLowestSetBit() < drop - 1)) {
+            kept = kept.add(BigInteger.ONE);
+        }
+        return Math.scalb(kept.doubleValue(), (int) lsb);
+    }
+
+    /**
+     * ln(2) and ln(1 + j/64) in fixed point, built on the first call to
+     * {@link #pow} rather than when the engines' tables are.
+     */
+    private static final class PowTables {
+        static final int SIZE = 64;
+        static final BigInteger LN2 = lnFixed(BigInteger.TWO, BigInteger.ONE);
+        static final BigInteger[] LN_CENTER = new BigInteger[SIZE];
+
+        static {
+            for (int j = 0; j < SIZE; j++) {
+                LN_CENTER[j] = lnFixed(BigInteger.valueOf(SIZE + j), BigInteger.valueOf(SIZE));
+            }
+        }
+    }
+
+    /**
+     * The double nearest to the given value.
+     */
+    static double hi(BigDecimal value) {
+        return value.doubleValue();
+    }
+
+    /**
+     * The double nearest to what remains of the value after subtracting hi.
+     */
+    static double lo(BigDecimal value, double hi) {
+        return value.subtract(new BigDecimal(hi), CONTEXT).doubleValue();
+    }
+}
@@ -0,0 +1,143 @@
+package com.example;
+
+/**
+ * Log-bucketed latency histogram in the style of HdrHistogram.
+ *
+ * <p>Values are non-negative longs, normally nanoseconds. Every power of two
+ * is split into {@link #SUB_BUCKETS} linear sub-buckets, so any recorded
+ * value is reported within 1/128 (under 0.8%) of its true value, across the
+ * whole long range, in a fixed 57 KB of counts. Recording is a shift, an add
+ * and an array increment, with no allocation.
+ *
+ * <p>Not thread safe: give each thread its own histogram and
+ * {@link #add} them together afterwards.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+
+    /** Linear sub-buckets per power of two. */
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** Enough magnitudes that Long.MAX_VALUE has a bucket. */
+    static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    /**
+     * Records one value.
+     *
+     * @param value The value, normally a latency in nanoseconds; negative
+     *              values (from clock adjustments) are recorded as 0.
+     */
+    void record(long value) {
+        record(value, 1L);
+    }
+
+    /**
+     * Records the same value several times.
+     *
+     * @param value The value; negative values are recorded as 0.
+     * @param times How many times to record it; 0 records nothing.
+     */
+    void record(long value, long times) {
+        if (times <= 0) {
+            return;
+        }
+        long v = Math.max(value, 0L);
+        counts[index(v)] += times;
+        count += times;
+        sum += v * times;
+        min = Math.min(min, v);
+        max = Math.max(max, v);
+    }
+
+    /**
+     * Adds every value recorded in another histogram to this one.
+     */
+    void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    long count() {
+        return count;
+    }
+
+    /**
+     * The smallest recorded value, or 0 when empty.
+     */
+    long min() {
+        return count == 0 ? 0 : min;
+    }
+
+    /**
+     * The largest recorded value, exactly.
+     */
+    long max() {
+        return max;
+    }
+
+    /**
+     * The exact mean of the recorded values, or 0 when empty.
+     */
+    double mean() {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    /**
+     * The value at or below which the given percentage of recorded values
+     * fall, reported as the highest value of its bucket (never above
+     * {@link #max}).
+     *
+     * @param percentile Between 0 and 100, e.g. 99.9.
+     * @return The percentile value, or 0 when empty.
+     * @throws IllegalArgumentException if percentile is outside [0, 100].
+     */
+    long valueAtPercentile(double percentile) {
+        if (!(percentile >= 0.0 && percentile <= 100.0)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestInBucket(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Bucket of a non-negative value. Below 2 * SUB_BUCKETS the index is the
+     * value itself; above, each power of two adds SUB_BUCKETS more buckets.
+     */
+    static int index(long value) {
+        int magnitude = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+        return (magnitude << SUB_BUCKET_BITS) + (int) (value >>> magnitude);
+    }
+
+    /**
+     * The largest value that falls into a bucket.
+     */
+    static long highestInBucket(int index) {
+        int magnitude = Math.max(0, (index >>> SUB_BUCKET_BITS) - 1);
+        long subBucket = index - ((long) magnitude << SUB_BUCKET_BITS);
+        long next = (subBucket + 1) << magnitude;
+        // The top bucket's bound overflows past Long.MAX_VALUE
+        return next <= 0 ? Long.MAX_VALUE : next - 1;
+    }
+}
@@ -0,0 +1,646 @@
+package com.example;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load generator for measuring end-to-end power latency, started with
+ * {@code PowerCalculator --load}.
+ *
+ * <p>Each of N threads drives its own {@link Target}: the in-process API, the
+ * {@code --batch} text path, or a running HTTP or binary TCP server. Threads
+ * either run closed loop (next call as soon as the previous one returns) or
+ * at a fixed total rate. At a fixed rate, latency is measured from when each
+ * call was scheduled, not when it was sent, so a stalled target is charged
+ * for the calls it delayed (no coordinated omission).
+ *
+ * <p>Inputs come from a {@link Workload} and are generated before the run.
+ * Latencies go into one {@link LatencyHistogram} per thread, merged into a
+ * {@link Report} that prints as text, CSV or JSON.
+ */
+final class LoadGenerator {
+
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: PowerCalculator --load [options]",
+            "  --target <t>            inprocess (default), batch, http://host:port or tcp://host:port",
+            "  --threads <n>           Concurrent callers (default 1)",
+            "  --rate <ops/s>          Fixed total rate; 0 runs closed loop (default 0)",
+            "  --duration <s>          Measured seconds (default 10)",
+            "  --warmup <s>            Unmeasured seconds before that (default 2)",
+            "  --bases <min:max>       Positive base range, log-uniform (default 0.5:100)",
+            "  --exponents <min:max>   Exponent range, uniform (default -10:10)",
+            "  --integer-fraction <f>  Share of integer exponents (default 0.5)",
+            "  --invalid-rate <f>      Share of inputs without a real result (default 0)",
+            "  --seed <n>              Input generator seed (default 42)",
+            "  --label <text>          Build or run label for the reports",
+            "  --csv <file>            Append a result row, writing the header to new files",
+            "  --json <file>           Write the result as a JSON object");
+
+    /** Inputs generated per thread and cycled through. */
+    static final int INPUTS_PER_THREAD = 1 << 12;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    /** Waits longer than this park the thread; shorter ones spin. */
+    private static final long SPIN_NANOS = 100_000L;
+
+    /** Last in-process target's result sum; never read, only kept live. */
+    private static volatile double sink;
+
+    /**
+     * One caller's connection to the code under test.
+     */
+    interface Target extends Closeable {
+        /**
+         * Calculates x^y.
+         *
+         * @return Whether the target reported a valid result.
+         */
+        boolean call(double x, double y) throws IOException;
+
+        @Override
+        default void close() throws IOException {
+            // Nothing to release by default
+        }
+    }
+
+    /**
+     * Opens one {@link Target} per thread.
+     */
+    interface TargetFactory {
+        Target open() throws IOException;
+    }
+
+    private final TargetFactory targets;
+    private final Workload workload;
+    private final int threads;
+    private final double rate;
+    private final long warmupNanos;
+    private final long durationNanos;
+    private final long seed;
+
+    /**
+     * @param targets         Opens each thread's target.
+     * @param workload        The input mix.
+     * @param threads         Number of calling threads.
+     * @param rate            Total calls per second, or 0 for closed loop.
+     * @param warmupSeconds   Unmeasured time before the measurement.
+     * @param durationSeconds Measured time.
+     * @param seed            Seed for the input generator.
+     */
+    LoadGenerator(TargetFactory targets, Workload workload, int threads, double rate,
+            double warmupSeconds, double durationSeconds, long seed) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Threads must be positive.");
+        }
+        if (!(rate >= 0.0) || Double.isInfinite(rate)) {
+            throw new IllegalArgumentException("Rate must be a finite non-negative number.");
+        }
+        if (!(warmupSeconds >= 0.0) || !(durationSeconds > 0.0)) {
+            throw new IllegalArgumentException("Warmup must not be negative and duration must be positive.");
+        }
+        this.targets = targets;
+        this.workload = workload;
+        this.threads = threads;
+        this.rate = rate;
+        this.warmupNanos = (long) (warmupSeconds * NANOS_PER_SECOND);
+        this.durationNanos = (long) (durationSeconds * NANOS_PER_SECOND);
+        this.seed = seed;
+    }
+
+    /**
+     * Runs the load and collects the measurements.
+     *
+     * @param label       Free-form build or run label for the report.
+     * @param targetName  Name of the target for the report.
+     * @return The merged results of all threads.
+     * @throws IOException if a target cannot be opened or fails.
+     * @throws InterruptedException if interrupted while waiting for the run.
+     */
+    Report run(String label, String targetName) throws IOException, InterruptedException {
+        List<Target> opened = new ArrayList<>(threads);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                opened.add(targets.open());
+            }
+            // Leave the pool time to start before the shared schedule begins
+            long start = System.nanoTime() + NANOS_PER_SECOND / 100;
+            long interval = rate > 0.0 ? Math.max(1L, (long) (NANOS_PER_SECOND * threads / rate)) : 0L;
+            List<Future<Worker>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                double[] xs = new double[INPUTS_PER_THREAD];
+                double[] ys = new double[INPUTS_PER_THREAD];
+                workload.fill(new SplittableRandom(seed + t), xs, ys);
+                // Stagger the threads' schedules evenly across one interval
+                Worker worker = new Worker(opened.get(t), xs, ys, start + interval * t / threads, interval);
+                futures.add(pool.submit(worker::call));
+            }
+
+            LatencyHistogram histogram = new LatencyHistogram();
+            long errors = 0;
+            for (Future<Worker> future : futures) {
+                Worker worker = future.get();
+                histogram.add(worker.histogram);
+                errors += worker.errors;
+            }
+            return new Report(label, targetName, threads, rate,
+                    (double) durationNanos / NANOS_PER_SECOND, errors, histogram);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            pool.shutdownNow();
+            for (Target target : opened) {
+                target.close();
+            }
+        }
+    }
+
+    /**
+     * One thread's calling loop and its measurements.
+     */
+    private final class Worker {
+        private final Target target;
+        private final double[] xs;
+        private final double[] ys;
+        private final long start;
+        private final long interval;
+        final LatencyHistogram histogram = new LatencyHistogram();
+        long errors;
+
+        Worker(Target target, double[] xs, double[] ys, long start, long interval) {
+            this.target = target;
+            this.xs = xs;
+            this.ys = ys;
+            this.start = start;
+            this.interval = interval;
+        }
+
+        Worker call() throws IOException {
+            long measureFrom = start + warmupNanos;
+            long end = measureFrom + durationNanos;
+            long scheduled = start;
+            waitUntil(start);
+            for (int i = 0;; i = (i + 1) & (INPUTS_PER_THREAD - 1)) {
+                long begin;
+                if (interval > 0) {
+                    waitUntil(scheduled);
+                    begin = scheduled;
+                    scheduled += interval;
+                } else {
+                    begin = System.nanoTime();
+                }
+                if (begin - end >= 0) {
+                    return this;
+                }
+                boolean ok = target.call(xs[i], ys[i]);
+                long latency = System.nanoTime() - begin;
+                if (begin - measureFrom >= 0) {
+                    histogram.record(latency);
+                    if (!ok) {
+                        errors++;
+                    }
+                }
+            }
+        }
+
+        private void waitUntil(long deadline) {
+            long remaining;
+            while ((remaining = deadline - System.nanoTime()) > 0) {
+                if (remaining > SPIN_NANOS) {
+                    LockSupport.parkNanos(remaining - SPIN_NANOS);
+                } else {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+    }
+
+    /**
+     * The input mix: log-uniform positive bases, uniform exponents, a share
+     * of integer exponents (which also get negative bases) and a share of
+     * invalid inputs (zero to a negative power, or a negative base with a
+     * fractional exponent).
+     */
+    static final class Workload {
+        private final double minBase;
+        private final double maxBase;
+        private final double minExponent;
+        private final double maxExponent;
+        private final double integerFraction;
+        private final double invalidRate;
+
+        Workload(double minBase, double maxBase, double minExponent, double maxExponent,
+                double integerFraction, double invalidRate) {
+            if (!(minBase > 0.0 && minBase <= maxBase) || Double.isInfinite(maxBase)) {
+                throw new IllegalArgumentException("Base range must be positive, finite and ordered.");
+            }
+            if (!(minExponent <= maxExponent) || Double.isInfinite(minExponent) || Double.isInfinite(maxExponent)) {
+                throw new IllegalArgumentException("Exponent range must be finite and ordered.");
+            }
+            if (!(integerFraction >= 0.0 && integerFraction <= 1.0) || !(invalidRate >= 0.0 && invalidRate <= 1.0)) {
+                throw new IllegalArgumentException("Fractions must be between 0 and 1.");
+            }
+            this.minBase = minBase;
+            this.maxBase = maxBase;
+            this.minExponent = minExponent;
+            this.maxExponent = maxExponent;
+            this.integerFraction = integerFraction;
+            this.invalidRate = invalidRate;
+        }
+
+        /**
+         * Fills xs and ys with inputs drawn from this mix.
+         */
+        void fill(SplittableRandom random, double[] xs, double[] ys) {
+            double logMin = Math.log(minBase);
+            double logMax = Math.log(maxBase);
+            for (int i = 0; i < xs.length; i++) {
+                double base = Math.exp(uniform(random, logMin, logMax));
+                double exponent = uniform(random, minExponent, maxExponent);
+                if (random.nextDouble() < invalidRate) {
+                    if (random.nextBoolean()) {
+                        xs[i] = 0.0;
+                        ys[i] = -1.0 - Math.abs(exponent);
+                    } else {
+                        xs[i] = -base;
+                        ys[i] = Math.floor(exponent) + 0.5;
+                    }
+                } else if (random.nextDouble() < integerFraction) {
+                    xs[i] = random.nextBoolean() ? base : -base;
+                    ys[i] = Math.rint(exponent);
+                } else {
+                    xs[i] = base;
+                    ys[i] = exponent;
+                }
+            }
+        }
+
+        private static double uniform(SplittableRandom random, double min, double max) {
+            return min == max ? min : min + (max - min) * random.nextDouble();
+        }
+    }
+
+    /**
+     * Results of one run. Latencies are reported in microseconds.
+     */
+    static final class Report {
+        static final String CSV_HEADER = "label,target,mode,threads,rate,duration_s,operations,errors,"
+                + "throughput_ops_s,mean_us,p50_us,p90_us,p99_us,p99_9_us,max_us";
+
+        private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+
+        final String label;
+        final String target;
+        final int threads;
+        final double rate;
+        final double seconds;
+        final long errors;
+        final LatencyHistogram histogram;
+
+        Report(String label, String target, int threads, double rate, double seconds, long errors,
+                LatencyHistogram histogram) {
+            this.label = label;
+            this.target = target;
+            this.threads = threads;
+            this.rate = rate;
+            this.seconds = seconds;
+            this.errors = errors;
+            this.histogram = histogram;
+        }
+
+        String mode() {
+            return rate > 0.0 ? "fixed" : "closed";
+        }
+
+        double throughput() {
+            return histogram.count() / seconds;
+        }
+
+        String toText() {
+            StringBuilder text = new StringBuilder();
+            text.append(String.format(Locale.ROOT, "%s, %s, %d thread(s): %d calls (%d invalid), %.0f calls/s%n",
+                    target, rate > 0.0 ? "fixed rate" : "closed loop", threads, histogram.count(), errors,
+                    throughput()));
+            text.append(String.format(Locale.ROOT, "latency us: mean %.3f, p50 %.3f, p90 %.3f, p99 %.3f, "
+                    + "p99.9 %.3f, max %.3f", micros(histogram.mean()), percentile(0), percentile(1),
+                    percentile(2), percentile(3), micros(histogram.max())));
+            return text.toString();
+        }
+
+        String toCsv() {
+            StringBuilder row = new StringBuilder();
+            row.append(csvField(label)).append(',').append(csvField(target)).append(',').append(mode())
+                    .append(',').append(threads).append(',').append(rate).append(',').append(seconds)
+                    .append(',').append(histogram.count()).append(',').append(errors)
+                    .append(',').append(throughput()).append(',').append(micros(histogram.mean()));
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                row.append(',').append(percentile(i));
+            }
+            return row.append(',').append(micros(histogram.max())).toString();
+        }
+
+        String toJson() {
+            PowerJson.Writer json = new PowerJson.Writer(512);
+            json.write("{\"label\":").string(label)
+                    .write(",\"target\":").string(target)
+                    .write(",\"mode\":").string(mode())
+                    .write(",\"threads\":").number((long) threads)
+                    .write(",\"rate\":").number(rate)
+                    .write(",\"duration_s\":").number(seconds)
+                    .write(",\"operations\":").number(histogram.count())
+                    .write(",\"errors\":").number(errors)
+                    .write(",\"throughput_ops_s\":").number(throughput())
+                    .write(",\"latency_us\":{\"mean\":").number(micros(histogram.mean()))
+                    .write(",\"p50\":").number(percentile(0))
+                    .write(",\"p90\":").number(percentile(1))
+                    .write(",\"p99\":").number(percentile(2))
+                    .write(",\"p99_9\":").number(percentile(3))
+                    .write(",\"max\":").number(micros(histogram.max()))
+                    .write("}}");
+            return new String(json.bytes(), 0, json.length(), StandardCharsets.US_ASCII);
+        }
+
+        private double percentile(int index) {
+            return micros(histogram.valueAtPercentile(PERCENTILES[index]));
+        }
+
+        private static double micros(double nanos) {
+            return nanos / 1000.0;
+        }
+
+        private static String csvField(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    /**
+     * Resolves a --target value to a factory.
+     *
+     * @throws IllegalArgumentException for an unknown target.
+     */
+    static TargetFactory target(String spec) {
+        if ("inprocess".equals(spec)) {
+            return InProcessTarget::new;
+        }
+        if ("batch".equals(spec)) {
+            return LoadGenerator::batchTarget;
+        }
+        URI uri;
+        try {
+            uri = URI.create(spec);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown target: " + spec);
+        }
+        if (uri.getHost() == null || uri.getPort() < 0) {
+            throw new IllegalArgumentException("Unknown target: " + spec);
+        }
+        if ("http".equals(uri.getScheme())) {
+            return () -> httpTarget(uri);
+        }
+        if ("tcp".equals(uri.getScheme())) {
+            InetSocketAddress address = new InetSocketAddress(uri.getHost(), uri.getPort());
+            return () -> tcpTarget(address);
+        }
+        throw new IllegalArgumentException("Unknown target: " + spec);
+    }
+
+    /**
+     * Calls {@link PowerCalculator#power(double, double)} directly. Results
+     * are summed into a field and published to {@link #sink} on close, like
+     * a JMH Blackhole, so the JIT cannot drop a call whose result is unused.
+     */
+    private static final class InProcessTarget implements Target {
+        private double sum;
+
+        @Override
+        public boolean call(double x, double y) {
+            try {
+                sum += PowerCalculator.power(x, y);
+                return true;
+            } catch (IllegalArgumentException ex) {
+                return false;
+            }
+        }
+
+        @Override
+        public void close() {
+            sink = sum;
+        }
+    }
+
+    /**
+     * Runs each pair through {@link BatchRunner} as a one-line job.
+     */
+    private static Target batchTarget() {
+        BatchRunner runner = new BatchRunner(BatchRunner.Format.SHORTEST, 0);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        return (x, y) -> {
+            byte[] line = (x + "," + y + "\n").getBytes(StandardCharsets.US_ASCII);
+            out.reset();
+            runner.run(new ByteArrayInputStream(line), out);
+            // Valid rows end with an empty error column
+            byte[] rows = out.toByteArray();
+            return rows.length >= 2 && rows[rows.length - 2] == ',';
+        };
+    }
+
+    private static Target httpTarget(URI server) {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        String prefix = server.resolve("/power").toString() + "?x=";
+        return (x, y) -> {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(prefix + x + "&y=" + y)).build();
+            try {
+                return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted.", ex);
+            }
+        };
+    }
+
+    private static Target tcpTarget(InetSocketAddress address) throws IOException {
+        PowerTcpClient client = new PowerTcpClient(address);
+        return new Target() {
+            @Override
+            public boolean call(double x, double y) throws IOException {
+                try {
+                    client.power(x, y);
+                    return true;
+                } catch (IllegalArgumentException ex) {
+                    return false;
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                client.close();
+            }
+        };
+    }
+
+    /**
+     * Parses --load options, runs the load and writes the reports.
+     *
+     * @param args The arguments after --load.
+     * @return The process exit status: 0 on success, 1 on I/O failure,
+     *         2 on invalid arguments.
+     */
+    static int run(String[] args, PrintStream stdout, PrintStream stderr) {
+        String targetSpec = "inprocess";
+        int threads = 1;
+        double rate = 0.0;
+        double duration = 10.0;
+        double warmup = 2.0;
+        double[] bases = {0.5, 100.0};
+        double[] exponents = {-10.0, 10.0};
+        double integerFraction = 0.5;
+        double invalidRate = 0.0;
+        long seed = 42;
+        String label = "";
+        String csv = null;
+        String json = null;
+
+        LoadGenerator generator;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--target":
+                        targetSpec = value(args, ++i);
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(value(args, ++i));
+                        break;
+                    case "--rate":
+                        rate = Double.parseDouble(value(args, ++i));
+                        break;
+                    case "--duration":
+                        duration = Double.parseDouble(value(args, ++i));
+                        break;
+                    case "--warmup":
+                        warmup = Double.parseDouble(value(args, ++i));
+                        break;
+                    case "--bases":
+                        bases = range(value(args, ++i));
+                        break;
+                    case "--exponents":
+                        exponents = range(value(args, ++i));
+                        break;
+                    case "--integer-fraction":
+                        integerFraction = Double.parseDouble(value(args, ++i));
+                        break;
+                    case "--invalid-rate":
+                        invalidRate = Double.parseDouble(value(args, ++i));
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(value(args, ++i));
+                        break;
+                    case "--label":
+                        label = value(args, ++i);
+                        break;
+                    case "--csv":
+                        csv = value(args, ++i);
+                        break;
+                    case "--json":
+                        json = value(args, ++i);
+                        break;
+                    case "--help":
+                        stdout.println(USAGE);
+                        return 0;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            Workload workload = new Workload(bases[0], bases[1], exponents[0], exponents[1],
+                    integerFraction, invalidRate);
+            generator = new LoadGenerator(target(targetSpec), workload, threads, rate, warmup, duration, seed);
+        } catch (IllegalArgumentException ex) {
+            stderr.println("Error: " + ex.getMessage());
+            stderr.println(USAGE);
+            return 2;
+        }
+
+        try {
+            Report report = generator.run(label, targetSpec);
+            stdout.println(report.toText());
+            if (csv != null) {
+                appendCsv(Paths.get(csv), report);
+            }
+            if (json != null) {
+                Files.write(Paths.get(json), (report.toJson() + "\n").getBytes(StandardCharsets.US_ASCII));
+            }
+            return 0;
+        } catch (IOException ex) {
+            stderr.println("Error: " + ex.getMessage());
+            return 1;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            stderr.println("Error: Interrupted.");
+            return 1;
+        }
+    }
+
+    private static void appendCsv(Path file, Report report) throws IOException {
+        boolean fresh = !Files.exists(file) || Files.size(file) == 0;
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            if (fresh) {
+                writer.write(Report.CSV_HEADER);
+                writer.write('\n');
+            }
+            writer.write(report.toCsv());
+            writer.write('\n');
+        }
+    }
+
+    private static double[] range(String value) {
+        int colon = value.indexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("Expected a range like min:max, got " + value);
+        }
+        return new double[] {
+            Double.parseDouble(value.substring(0, colon)),
+            Double.parseDouble(value.substring(colon + 1))
+        };
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+}
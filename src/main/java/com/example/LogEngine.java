@@ -0,0 +1,293 @@
+package com.example;
+
+import java.math.BigDecimal;
+
+/**
+ * Constant-time natural logarithm.
+ *
+ * <p>The exponent and mantissa are read straight from the IEEE-754 bit
+ * pattern, so x = 2^k * m with m in [1, 2) costs no loop regardless of the
+ * magnitude of x. The leading mantissa bits select a table entry centred
+ * on c, and ln(m) = ln(c) + ln(1 + r) with |r| &lt;= 1/256 is finished by a
+ * fixed degree-7 polynomial. Arguments within 1/64 of 1 use a separate
+ * polynomial to avoid cancellation. The error is within 1 ulp.
+ */
+final class LogEngine {
+
+    private static final int TABLE_BITS = 7;
+    private static final int TABLE_SIZE = 1 << TABLE_BITS;
+    private static final int MANTISSA_BITS = 52;
+    private static final int EXPONENT_BIAS = 1023;
+    private static final long MANTISSA_MASK = (1L << MANTISSA_BITS) - 1;
+    private static final long ONE_BITS = Double.doubleToRawLongBits(1.0);
+
+    /** 2^54, used to lift subnormal inputs into the normal range. */
+    private static final double TWO_54 = 0x1p54;
+
+    /** Inputs with |x - 1| below this use the near-one polynomial. */
+    private static final double NEAR_ONE = 1.0 / 64.0;
+
+    /** 1/3 as hi + lo, for the STRICT polynomial's double-double r^3 term. */
+    private static final double THIRD_HI = 1.0 / 3;
+    private static final double THIRD_LO = HighPrecisionMath.lo(
+            BigDecimal.ONE.divide(BigDecimal.valueOf(3), HighPrecisionMath.CONTEXT), THIRD_HI);
+
+    /** ln(2) split so that k * LN2_HI is exact for every possible exponent k. */
+    static final double LN2_HI;
+    static final double LN2_LO;
+
+    /**
+     * Table centres c_i = 1 + (i + 0.5) / 128, their reciprocals and ln(c_i).
+     * Package-private so the vector kernel can gather from them.
+     */
+    static final double[] CENTER = new double[TABLE_SIZE];
+    static final double[] INV_CENTER = new double[TABLE_SIZE];
+    static final double[] LOG_CENTER_HI = new double[TABLE_SIZE];
+    static final double[] LOG_CENTER_LO = new double[TABLE_SIZE];
+
+    static {
+        BigDecimal ln2 = HighPrecisionMath.ln(BigDecimal.valueOf(2));
+        // Clear the low 11 mantissa bits so k * LN2_HI stays exact for |k| < 2^11
+        LN2_HI = Double.longBitsToDouble(
+                Double.doubleToRawLongBits(HighPrecisionMath.hi(ln2)) & ~0x7FFL);
+        LN2_LO = HighPrecisionMath.lo(ln2, LN2_HI);
+
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            double c = 1.0 + (i + 0.5) / TABLE_SIZE;
+            BigDecimal logC = HighPrecisionMath.ln(new BigDecimal(c));
+            CENTER[i] = c;
+            INV_CENTER[i] = 1.0 / c;
+            LOG_CENTER_HI[i] = HighPrecisionMath.hi(logC);
+            LOG_CENTER_LO[i] = HighPrecisionMath.lo(logC, LOG_CENTER_HI[i]);
+        }
+    }
+
+    /**
+     * Receives the result of {@link #lnExtended} together with its x and y.
+     */
+    @FunctionalInterface
+    interface Continuation {
+        double apply(double lnHi, double lnLo, double x, double y);
+    }
+
+    private LogEngine() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Natural logarithm of x.
+     *
+     * @param x The argument.
+     * @return ln(x); -Infinity for zero, NaN for negative or NaN input.
+     */
+    static double ln(double x) {
+        if (!(x > 0.0)) {
+            return x == 0.0 ? Double.NEGATIVE_INFINITY : Double.NaN;
+        }
+        if (x == Double.POSITIVE_INFINITY) {
+            return x;
+        }
+
+        double f = x - 1.0;
+        if (f < NEAR_ONE && f > -NEAR_ONE) {
+            return lnNearOne(f);
+        }
+
+        int k = 0;
+        if (x < Double.MIN_NORMAL) {
+            x *= TWO_54;
+            k = -54;
+        }
+
+        // x = 2^k * m with m in [1, 2), read directly from the bit pattern
+        long bits = Double.doubleToRawLongBits(x);
+        k += (int) (bits >>> MANTISSA_BITS) - EXPONENT_BIAS;
+        int i = (int) (bits >>> (MANTISSA_BITS - TABLE_BITS)) & (TABLE_SIZE - 1);
+        double m = Double.longBitsToDouble((bits & MANTISSA_MASK) | ONE_BITS);
+
+        // m - c is exact because c has only 8 significant bits
+        double r = (m - CENTER[i]) * INV_CENTER[i];
+
+        // ln(1 + r) - r for |r| <= 1/256, truncated Taylor series of degree 7
+        double p = r * r * (-1.0 / 2 + r * (1.0 / 3 + r * (-1.0 / 4
+                + r * (1.0 / 5 + r * (-1.0 / 6 + r * (1.0 / 7))))));
+
+        // Sum k*ln2 + ln(c) + r in double-double so cancellation stays harmless
+        double a = k * LN2_HI;
+        double s = a + LOG_CENTER_HI[i];
+        double sErr = DoubleDouble.twoSumError(a, LOG_CENTER_HI[i], s);
+        double hi = s + r;
+        double hiErr = DoubleDouble.twoSumError(s, r, hi);
+        double lo = sErr + hiErr + k * LN2_LO + LOG_CENTER_LO[i] + p;
+        return hi + lo;
+    }
+
+    /**
+     * Natural logarithm for the FAST accuracy tier: the same reduction as
+     * {@link #lnExtended}, a degree-5 polynomial and a plain double sum.
+     * The relative error is below 2^-37, which keeps x^y within 1e-8 even
+     * when |y * ln(x)| is close to the overflow threshold.
+     *
+     * @param x The argument; must be positive.
+     * @return ln(x); +Infinity or NaN are returned unchanged.
+     */
+    static double lnFast(double x) {
+        if (!(x < Double.POSITIVE_INFINITY)) {
+            return x;
+        }
+
+        // Subnormals are scaled into the normal range; the continuation gets the original x
+        double scaled = x;
+        int k = 0;
+        if (x < Double.MIN_NORMAL) {
+            scaled *= TWO_54;
+            k = -54;
+        }
+
+        long bits = Double.doubleToRawLongBits(scaled);
+        k += (int) (bits >>> MANTISSA_BITS) - EXPONENT_BIAS;
+        int i = (int) (bits >>> (MANTISSA_BITS - TABLE_BITS)) & (TABLE_SIZE - 1);
+        double m = Double.longBitsToDouble((bits & MANTISSA_MASK) | ONE_BITS);
+
+        double r;
+        double logC;
+        if (i == 0 || i == TABLE_SIZE - 1) {
+            // Within 1/128 of a power of two: centre on 1 so r = m - 1 is exact
+            if (i != 0) {
+                m *= 0.5;
+                k++;
+            }
+            r = m - 1.0;
+            logC = 0.0;
+        } else {
+            r = (m - CENTER[i]) * INV_CENTER[i];
+            logC = LOG_CENTER_HI[i];
+        }
+
+        // ln(1 + r) - r for |r| <= 1/128, truncated Taylor series of degree 5
+        double p = r * r * (-1.0 / 2 + r * (1.0 / 3 + r * (-1.0 / 4 + r * (1.0 / 5))));
+        return (k * LN2_HI + logC) + (r + (p + k * LN2_LO));
+    }
+
+    /**
+     * Natural logarithm as an unevaluated double-double sum, for the
+     * STANDARD and STRICT accuracy tiers.
+     *
+     * <p>Unlike {@link #ln}, the table entries nearest 1 and 2 are replaced
+     * by a centre of exactly 1, so r = m - 1 is exact and no separate
+     * near-one polynomial is needed. The quotient r = (m - c) / c is kept
+     * as a double-double, r^2 / 2 is formed exactly and only the higher
+     * terms are evaluated in plain double. STANDARD truncates the series
+     * after degree 9 (relative error below 2^-63). STRICT truncates after
+     * degree 11 and also carries r^3 / 3 as a double-double (below 2^-73).
+     *
+     * <p>The two halves are handed to a continuation rather than returned
+     * in an array: the method is too large for the JIT to inline, so an
+     * array would escape and be allocated on every call.
+     *
+     * @param x      The argument; must be positive. +Infinity and NaN are
+     *               passed on unchanged as the high part.
+     * @param strict Whether to use the STRICT polynomial.
+     * @param y      Passed through to the continuation.
+     * @param then   Receives ln(x) as hi + lo, with |lo| at most half an ulp
+     *               of hi; should be a non-capturing lambda or method reference.
+     * @return What the continuation returns.
+     */
+    static double lnExtended(double x, boolean strict, double y, Continuation then) {
+        if (!(x < Double.POSITIVE_INFINITY)) {
+            return then.apply(x, 0.0, x, y);
+        }
+
+        // Subnormals are scaled into the normal range; the continuation gets the original x
+        double scaled = x;
+        int k = 0;
+        if (x < Double.MIN_NORMAL) {
+            scaled *= TWO_54;
+            k = -54;
+        }
+
+        long bits = Double.doubleToRawLongBits(scaled);
+        k += (int) (bits >>> MANTISSA_BITS) - EXPONENT_BIAS;
+        int i = (int) (bits >>> (MANTISSA_BITS - TABLE_BITS)) & (TABLE_SIZE - 1);
+        double m = Double.longBitsToDouble((bits & MANTISSA_MASK) | ONE_BITS);
+
+        double r;
+        double rLo;
+        double logCHi;
+        double logCLo;
+        if (i == 0 || i == TABLE_SIZE - 1) {
+            if (i != 0) {
+                m *= 0.5;
+                k++;
+            }
+            r = m - 1.0;
+            rLo = 0.0;
+            logCHi = 0.0;
+            logCLo = 0.0;
+        } else {
+            double c = CENTER[i];
+            double d = m - c;
+            r = d * INV_CENTER[i];
+            // d - r * c exactly: c has 9 significant bits, so splitting r in
+            // two makes both partial products exact
+            double rHead = Double.longBitsToDouble(Double.doubleToRawLongBits(r) & ~0x7FFFFFFL);
+            double residual = (d - rHead * c) - (r - rHead) * c;
+            rLo = residual * INV_CENTER[i];
+            logCHi = LOG_CENTER_HI[i];
+            logCLo = LOG_CENTER_LO[i];
+        }
+
+        // r^2 / 2 as an exact double-double
+        double square = r * r;
+        double squareErr = DoubleDouble.twoProductError(r, r, square);
+        double half = 0.5 * square;
+
+        // k*ln2 + ln(c) + r - r^2/2 in double-double
+        double a = k * LN2_HI;
+        double s1 = a + logCHi;
+        double e1 = DoubleDouble.twoSumError(a, logCHi, s1);
+        double s2 = s1 + r;
+        double e2 = DoubleDouble.twoSumError(s1, r, s2);
+        double s3 = s2 - half;
+        double e3 = DoubleDouble.twoSumError(s2, -half, s3);
+
+        // ln(1 + r) - r + r^2/2, truncated Taylor series; STRICT also keeps
+        // r^3/3 in double-double. ln(1 + r + rLo) = ln(1 + r) + rLo * (1 - r + r^2)
+        // to within 2^-85.
+        double r3 = square * r;
+        double lo = e1 + e2 + e3 + k * LN2_LO + logCLo - 0.5 * squareErr
+                + rLo * (1.0 - r + square);
+        if (strict) {
+            double r3Err = DoubleDouble.twoProductError(square, r, r3) + squareErr * r;
+            double third = r3 * THIRD_HI;
+            double thirdErr = DoubleDouble.twoProductError(r3, THIRD_HI, third)
+                    + r3 * THIRD_LO + r3Err * THIRD_HI;
+            double s4 = s3 + third;
+            double e4 = DoubleDouble.twoSumError(s3, third, s4);
+            double tail = square * square * (-1.0 / 4 + r * (1.0 / 5 + r * (-1.0 / 6 + r * (1.0 / 7
+                    + r * (-1.0 / 8 + r * (1.0 / 9 + r * (-1.0 / 10 + r * (1.0 / 11))))))));
+            lo += e4 + thirdErr + tail;
+            s3 = s4;
+        } else {
+            lo += r3 * (1.0 / 3 + r * (-1.0 / 4 + r * (1.0 / 5 + r * (-1.0 / 6 + r * (1.0 / 7
+                    + r * (-1.0 / 8 + r * (1.0 / 9)))))));
+        }
+
+        double hi = s3 + lo;
+        return then.apply(hi, DoubleDouble.twoSumError(s3, lo, hi), x, y);
+    }
+
+    /**
+     * ln(1 + f) for |f| &lt; 1/64 via s = f / (2 + f) and
+     * ln(1 + f) = f - s * (f - R(s^2)), where R is the odd atanh series tail.
+     */
+    private static double lnNearOne(double f) {
+        if (f == 0.0) {
+            return 0.0;
+        }
+        double s = f / (2.0 + f);
+        double z = s * s;
+        double tail = z * (2.0 / 3 + z * (2.0 / 5 + z * (2.0 / 7 + z * (2.0 / 9))));
+        return f - s * (f - tail);
+    }
+}
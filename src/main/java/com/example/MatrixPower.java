@@ -0,0 +1,236 @@
+package com.example;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Integer powers of square matrices stored flat in row-major order, see
+ * {@link PowerCalculator#matrixPower}.
+ *
+ * <p>A^n uses the same exponentiation by squaring as
+ * PowerCalculator.powerInteger, so it takes about 2 log2(n) products
+ * instead of n - 1. The running result, the running square and one scratch
+ * matrix are allocated once per call and swapped between products. Each
+ * product walks the matrices in {@link #BLOCK} x {@link #BLOCK} tiles so the
+ * tile of the right-hand matrix stays in cache while it is reused, and from
+ * {@link #PARALLEL_THRESHOLD} rows up the rows are split over the common
+ * fork/join pool. Every element is a sum over k in ascending order written by
+ * one thread, so results do not depend on the tiling or the thread count.
+ *
+ * <p>A negative n inverts the matrix first, by Gauss-Jordan elimination
+ * with partial pivoting, then raises the inverse to -n.
+ */
+final class MatrixPower {
+
+    /** Tile edge for the blocked product; three 64 x 64 double tiles fit in 96 KB. */
+    static final int BLOCK = 64;
+
+    /** Matrices with at least this many rows are multiplied in parallel. */
+    static final int PARALLEL_THRESHOLD = 128;
+
+    private MatrixPower() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * A^n as a new array; the input is not modified.
+     *
+     * @throws IllegalArgumentException if dim is not positive, the array is
+     *                                  not dim * dim long, or n is negative
+     *                                  and the matrix is singular.
+     */
+    static double[] power(double[] matrix, int dim, long n) {
+        if (dim <= 0) {
+            throw new IllegalArgumentException("Dimension must be positive.");
+        }
+        if ((long) dim * dim != matrix.length) {
+            throw new IllegalArgumentException("Matrix must have dim * dim elements.");
+        }
+        if (n == 0) {
+            return identity(dim);
+        }
+
+        double[] base = n < 0 ? invert(matrix, dim) : matrix.clone();
+        // -Long.MIN_VALUE overflows back to itself, but read unsigned it is still 2^63
+        long remaining = n < 0 ? -n : n;
+        double[] result = null;
+        double[] scratch = new double[matrix.length];
+        while (true) {
+            if ((remaining & 1L) != 0) {
+                if (result == null) {
+                    result = base.clone();
+                } else {
+                    multiply(result, base, scratch, dim);
+                    double[] swap = result;
+                    result = scratch;
+                    scratch = swap;
+                }
+            }
+            remaining >>>= 1;
+            if (remaining == 0) {
+                return result;
+            }
+            multiply(base, base, scratch, dim);
+            double[] swap = base;
+            base = scratch;
+            scratch = swap;
+        }
+    }
+
+    /**
+     * out = a * b for dim x dim matrices; out must not be a or b.
+     */
+    static void multiply(double[] a, double[] b, double[] out, int dim) {
+        if (dim >= PARALLEL_THRESHOLD) {
+            ForkJoinPool.commonPool().invoke(new MultiplyTask(a, b, out, dim, 0, dim));
+        } else {
+            multiplyRows(a, b, out, dim, 0, dim);
+        }
+    }
+
+    /**
+     * Rows [fromRow, toRow) of out = a * b, tile by tile. For each element
+     * the k loop runs in ascending order across the tiles.
+     */
+    static void multiplyRows(double[] a, double[] b, double[] out, int dim, int fromRow, int toRow) {
+        Arrays.fill(out, fromRow * dim, toRow * dim, 0.0);
+        for (int kBlock = 0; kBlock < dim; kBlock += BLOCK) {
+            int kEnd = Math.min(kBlock + BLOCK, dim);
+            for (int jBlock = 0; jBlock < dim; jBlock += BLOCK) {
+                int jEnd = Math.min(jBlock + BLOCK, dim);
+                for (int i = fromRow; i < toRow; i++) {
+                    int row = i * dim;
+                    for (int k = kBlock; k < kEnd; k++) {
+                        double aik = a[row + k];
+                        int bRow = k * dim;
+                        for (int j = jBlock; j < jEnd; j++) {
+                            out[row + j] += aik * b[bRow + j];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The inverse by Gauss-Jordan elimination on [A | I] with partial
+     * pivoting.
+     *
+     * @throws IllegalArgumentException if a pivot is negligible next to the
+     *                                  largest element of its original row,
+     *                                  i.e. A is singular to working
+     *                                  precision, or if [A | I] does not fit
+     *                                  in an array.
+     */
+    static double[] invert(double[] matrix, int dim) {
+        int width = 2 * dim;
+        long size = (long) dim * width;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Matrix is too large to invert.");
+        }
+        double[] work = new double[(int) size];
+        // Each row is judged against its own scale, so rows of very different
+        // magnitude (diag(1e16, 1)) do not make each other look singular
+        double[] rowScale = new double[dim];
+        for (int i = 0; i < dim; i++) {
+            double largest = 0.0;
+            for (int j = 0; j < dim; j++) {
+                double value = matrix[i * dim + j];
+                work[i * width + j] = value;
+                // Math.max keeps a NaN, which then fails the pivot test
+                largest = Math.max(largest, Math.abs(value));
+            }
+            work[i * width + dim + i] = 1.0;
+            rowScale[i] = largest * dim * Math.ulp(1.0);
+        }
+
+        for (int column = 0; column < dim; column++) {
+            int pivotRow = column;
+            for (int i = column + 1; i < dim; i++) {
+                if (Math.abs(work[i * width + column]) > Math.abs(work[pivotRow * width + column])) {
+                    pivotRow = i;
+                }
+            }
+            double pivot = work[pivotRow * width + column];
+            // Also rejects zero rows, NaN and infinite rows, whose tolerance is infinite
+            if (!(Math.abs(pivot) > rowScale[pivotRow])) {
+                throw new IllegalArgumentException("Matrix is singular and cannot be raised to a negative power.");
+            }
+            if (pivotRow != column) {
+                for (int j = 0; j < width; j++) {
+                    double swap = work[column * width + j];
+                    work[column * width + j] = work[pivotRow * width + j];
+                    work[pivotRow * width + j] = swap;
+                }
+                double swap = rowScale[column];
+                rowScale[column] = rowScale[pivotRow];
+                rowScale[pivotRow] = swap;
+            }
+            int pivotOffset = column * width;
+            for (int j = column; j < width; j++) {
+                work[pivotOffset + j] /= pivot;
+            }
+            for (int i = 0; i < dim; i++) {
+                double factor = work[i * width + column];
+                if (i == column || factor == 0.0) {
+                    continue;
+                }
+                int offset = i * width;
+                for (int j = column; j < width; j++) {
+                    work[offset + j] -= factor * work[pivotOffset + j];
+                }
+            }
+        }
+
+        double[] inverse = new double[dim * dim];
+        for (int i = 0; i < dim; i++) {
+            System.arraycopy(work, i * width + dim, inverse, i * dim, dim);
+        }
+        return inverse;
+    }
+
+    private static double[] identity(int dim) {
+        double[] identity = new double[dim * dim];
+        for (int i = 0; i < dim; i++) {
+            identity[i * dim + i] = 1.0;
+        }
+        return identity;
+    }
+
+    /**
+     * Splits the rows of a product in half until a range is at most one
+     * tile high.
+     */
+    private static final class MultiplyTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[] a;
+        private final double[] b;
+        private final double[] out;
+        private final int dim;
+        private final int fromRow;
+        private final int toRow;
+
+        MultiplyTask(double[] a, double[] b, double[] out, int dim, int fromRow, int toRow) {
+            this.a = a;
+            this.b = b;
+            this.out = out;
+            this.dim = dim;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+        }
+
+        @Override
+        protected void compute() {
+            if (toRow - fromRow <= BLOCK) {
+                multiplyRows(a, b, out, dim, fromRow, toRow);
+                return;
+            }
+            int middle = (fromRow + toRow) >>> 1;
+            invokeAll(new MultiplyTask(a, b, out, dim, fromRow, middle),
+                    new MultiplyTask(a, b, out, dim, middle, toRow));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join task that splits a bulk power evaluation into halves until a
+ * range is no larger than the threshold, then runs the sequential bulk
+ * kernel on it. Each element is written by exactly one leaf, so results
+ * are identical to the sequential evaluation regardless of scheduling.
+ */
+final class ParallelPowerTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] out;
+    private final int from;
+    private final int to;
+    private final int threshold;
+
+    ParallelPowerTask(double[] xs, double[] ys, double[] out, int from, int to, int threshold) {
+        this.xs = xs;
+        this.ys = ys;
+        this.out = out;
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected void compute() {
+        int length = to - from;
+        if (length <= threshold) {
+            PowerCalculator.power(xs, from, ys, from, out, from, length);
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        invokeAll(new ParallelPowerTask(xs, ys, out, from, middle, threshold),
+                new ParallelPowerTask(xs, ys, out, middle, to, threshold));
+    }
+}
@@ -0,0 +1,149 @@
+package com.example;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Samples x^y along one varying input for {@link PowerPlotPanel}, caching
+ * the results in tiles.
+ *
+ * <p>Samples sit on power-of-two grids: at level e the i-th sample is taken
+ * at t = i * 2^e, where t is the base when {@link Variable#BASE} varies and
+ * the exponent otherwise. The grid points do not depend on the view, so
+ * after a pan only the tiles that scrolled into view are computed, and
+ * zooming back to an earlier level finds its tiles still cached. Each tile
+ * is one bulk {@link PowerCalculator#power} call; invalid samples are NaN.
+ *
+ * <p>Not thread safe; the panel only uses it from its render thread.
+ */
+final class PlotSampler {
+
+    /** Which input varies along the plot's horizontal axis. */
+    enum Variable {
+        BASE,
+        EXPONENT
+    }
+
+    /** Samples per tile. */
+    static final int TILE = 256;
+
+    private final Variable variable;
+    private final double fixed;
+    private final Map<TileKey, double[]> tiles;
+    private final double[] inputs = new double[TILE];
+    private final double[] constants = new double[TILE];
+    private long computedTiles;
+
+    /**
+     * @param variable Which input varies.
+     * @param fixed    The value of the other input.
+     * @param maxTiles Tiles kept before the least recently used is dropped.
+     */
+    PlotSampler(Variable variable, double fixed, int maxTiles) {
+        if (maxTiles <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive.");
+        }
+        this.variable = Objects.requireNonNull(variable, "variable");
+        this.fixed = fixed;
+        this.tiles = new LinkedHashMap<TileKey, double[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TileKey, double[]> eldest) {
+                return size() > maxTiles;
+            }
+        };
+        Arrays.fill(constants, fixed);
+    }
+
+    Variable variable() {
+        return variable;
+    }
+
+    double fixed() {
+        return fixed;
+    }
+
+    /**
+     * Fills out[0, count) with the samples first .. first + count - 1 of a
+     * level, computing any tiles not in the cache.
+     *
+     * @param cancelled Checked before each tile is computed.
+     * @return false if cancelled before every sample was filled.
+     */
+    boolean samples(int level, long first, int count, double[] out, BooleanSupplier cancelled) {
+        int filled = 0;
+        while (filled < count) {
+            long index = first + filled;
+            long tileIndex = Math.floorDiv(index, TILE);
+            TileKey key = new TileKey(level, tileIndex);
+            double[] tile = tiles.get(key);
+            if (tile == null) {
+                if (cancelled.getAsBoolean()) {
+                    return false;
+                }
+                tile = compute(level, tileIndex);
+                tiles.put(key, tile);
+            }
+            int offset = (int) Math.floorMod(index, (long) TILE);
+            int length = Math.min(TILE - offset, count - filled);
+            System.arraycopy(tile, offset, out, filled, length);
+            filled += length;
+        }
+        return true;
+    }
+
+    /**
+     * The position of a sample on its level's grid.
+     */
+    static double position(int level, long index) {
+        return Math.scalb((double) index, level);
+    }
+
+    /**
+     * Tiles computed so far, cached or not.
+     */
+    long computedTiles() {
+        return computedTiles;
+    }
+
+    private double[] compute(int level, long tileIndex) {
+        long first = tileIndex * TILE;
+        for (int i = 0; i < TILE; i++) {
+            inputs[i] = position(level, first + i);
+        }
+        double[] values = new double[TILE];
+        if (variable == Variable.BASE) {
+            PowerCalculator.power(inputs, fixed, values);
+        } else {
+            PowerCalculator.power(constants, inputs, values);
+        }
+        computedTiles++;
+        return values;
+    }
+
+    private static final class TileKey {
+        private final int level;
+        private final long index;
+
+        TileKey(int level, long index) {
+            this.level = level;
+            this.index = index;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof TileKey)) {
+                return false;
+            }
+            TileKey key = (TileKey) other;
+            return level == key.level && index == key.index;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * level + Long.hashCode(index);
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.example;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded memoization cache in front of {@link PowerCalculator#power}.
+ *
+ * <p>Entries are keyed on the raw bit patterns of x and y and stored in
+ * primitive long/double arrays, so lookups neither box nor allocate.
+ * The table is set-associative: a key hashes to one set of eight slots and
+ * only that set is searched or evicted from. Sets are grouped into
+ * independently locked stripes so concurrent callers rarely contend.
+ * Invalid inputs are never cached; they throw exactly as power(x, y) does.
+ */
+public final class PowerCache {
+
+    /**
+     * How a full set chooses which entry to evict.
+     */
+    public enum EvictionPolicy {
+        /** Second-chance clock: skips (and clears) recently referenced entries. */
+        CLOCK,
+        /** Evicts the entry whose last access is oldest, by a per-stripe counter. */
+        LRU_APPROXIMATE
+    }
+
+    /** Slots per set. */
+    private static final int WAYS = 8;
+
+    private static final int DEFAULT_STRIPES = 16;
+
+    /** Largest accepted capacity; a single stripe's slot arrays must still fit in an int index. */
+    public static final int MAX_CAPACITY = 1 << 30;
+
+    /** Largest accepted stripe count. */
+    public static final int MAX_STRIPES = 1 << 16;
+
+    private final EvictionPolicy policy;
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final int setsPerStripeMask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache holding at least the given number of entries, with the
+     * default number of lock stripes.
+     *
+     * @param capacity Minimum number of (x, y) entries to retain.
+     * @param policy   Eviction policy used when a set is full.
+     */
+    public PowerCache(int capacity, EvictionPolicy policy) {
+        this(capacity, policy, DEFAULT_STRIPES);
+    }
+
+    /**
+     * Creates a cache holding at least the given number of entries.
+     * Capacity and stripe count are rounded up to powers of two.
+     *
+     * @param capacity    Minimum number of (x, y) entries to retain, at most
+     *                    {@link #MAX_CAPACITY}.
+     * @param policy      Eviction policy used when a set is full.
+     * @param stripeCount Number of independently locked stripes, at most
+     *                    {@link #MAX_STRIPES}.
+     * @throws IllegalArgumentException if capacity or stripeCount is not
+     *                                  positive or above its maximum.
+     * @throws NullPointerException     if policy is null.
+     */
+    public PowerCache(int capacity, EvictionPolicy policy, int stripeCount) {
+        Objects.requireNonNull(policy, "policy");
+        if (capacity <= 0 || stripeCount <= 0) {
+            throw new IllegalArgumentException("Capacity and stripe count must be positive.");
+        }
+        if (capacity > MAX_CAPACITY || stripeCount > MAX_STRIPES) {
+            throw new IllegalArgumentException("Capacity must be at most " + MAX_CAPACITY
+                    + " and stripe count at most " + MAX_STRIPES + ".");
+        }
+        this.policy = policy;
+
+        int stripeTotal = nextPowerOfTwo(stripeCount);
+        int setTotal = nextPowerOfTwo(Math.max(stripeTotal, (capacity + WAYS - 1) / WAYS));
+        int setsPerStripe = setTotal / stripeTotal;
+
+        this.stripes = new Stripe[stripeTotal];
+        for (int i = 0; i < stripeTotal; i++) {
+            stripes[i] = new Stripe(setsPerStripe);
+        }
+        this.stripeMask = stripeTotal - 1;
+        this.setsPerStripeMask = setsPerStripe - 1;
+    }
+
+    /**
+     * Returns x^y from the cache, computing and storing it on a miss.
+     *
+     * @param x The base value.
+     * @param y The exponent value.
+     * @return x raised to the power of y.
+     * @throws IllegalArgumentException for the same inputs as power(x, y).
+     */
+    public double power(double x, double y) {
+        long keyX = Double.doubleToRawLongBits(x);
+        long keyY = Double.doubleToRawLongBits(y);
+        int hash = hash(keyX, keyY);
+        Stripe stripe = stripes[hash & stripeMask];
+        int set = (hash >>> Integer.numberOfTrailingZeros(stripes.length)) & setsPerStripeMask;
+
+        synchronized (stripe) {
+            int slot = stripe.find(set, keyX, keyY);
+            if (slot >= 0) {
+                stripe.touch(slot, policy);
+                hits.increment();
+                return stripe.values[slot];
+            }
+        }
+
+        // Compute outside the lock; invalid inputs throw here and are not cached
+        misses.increment();
+        double value = PowerCalculator.power(x, y);
+
+        synchronized (stripe) {
+            if (stripe.find(set, keyX, keyY) < 0 && stripe.insert(set, keyX, keyY, value, policy)) {
+                evictions.increment();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Number of lookups answered from the cache.
+     *
+     * @return The hit count.
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of lookups that had to compute the result (including invalid inputs).
+     *
+     * @return The miss count.
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Number of entries displaced to make room for new ones.
+     *
+     * @return The eviction count.
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Maximum number of entries the cache can hold.
+     *
+     * @return The slot count.
+     */
+    public int capacity() {
+        return stripes.length * (setsPerStripeMask + 1) * WAYS;
+    }
+
+    /**
+     * Removes every entry. Statistics are kept.
+     */
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    private static int hash(long keyX, long keyY) {
+        // Murmur3 64-bit finalizer over both keys
+        long h = keyX * 0x9E3779B97F4A7C15L ^ keyY;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    private static int nextPowerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    /**
+     * One lock stripe: a group of sets stored in parallel primitive arrays.
+     * All methods must be called while holding the stripe's monitor.
+     */
+    private static final class Stripe {
+        private final long[] keysX;
+        private final long[] keysY;
+        private final double[] values;
+        private final boolean[] occupied;
+        /** CLOCK reference bits. */
+        private final boolean[] referenced;
+        /** CLOCK hand per set. */
+        private final byte[] hands;
+        /** LRU_APPROXIMATE last-access stamps. */
+        private final long[] stamps;
+        private long clock;
+
+        Stripe(int sets) {
+            int slots = sets * WAYS;
+            keysX = new long[slots];
+            keysY = new long[slots];
+            values = new double[slots];
+            occupied = new boolean[slots];
+            referenced = new boolean[slots];
+            hands = new byte[sets];
+            stamps = new long[slots];
+        }
+
+        int find(int set, long keyX, long keyY) {
+            int start = set * WAYS;
+            for (int slot = start; slot < start + WAYS; slot++) {
+                if (occupied[slot] && keysX[slot] == keyX && keysY[slot] == keyY) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        void touch(int slot, EvictionPolicy policy) {
+            if (policy == EvictionPolicy.CLOCK) {
+                referenced[slot] = true;
+            } else {
+                stamps[slot] = ++clock;
+            }
+        }
+
+        /**
+         * Stores the entry in the set, evicting if it is full.
+         *
+         * @return true if an existing entry was evicted.
+         */
+        boolean insert(int set, long keyX, long keyY, double value, EvictionPolicy policy) {
+            int start = set * WAYS;
+            int slot = -1;
+            for (int i = start; i < start + WAYS; i++) {
+                if (!occupied[i]) {
+                    slot = i;
+                    break;
+                }
+            }
+            boolean evicted = slot < 0;
+            if (evicted) {
+                slot = policy == EvictionPolicy.CLOCK ? clockVictim(set) : oldestVictim(set);
+            }
+
+            keysX[slot] = keyX;
+            keysY[slot] = keyY;
+            values[slot] = value;
+            occupied[slot] = true;
+            referenced[slot] = false;
+            stamps[slot] = ++clock;
+            return evicted;
+        }
+
+        private int clockVictim(int set) {
+            int start = set * WAYS;
+            int hand = hands[set];
+            // At most one full sweep clears every bit, so this terminates
+            while (referenced[start + hand]) {
+                referenced[start + hand] = false;
+                hand = (hand + 1) & (WAYS - 1);
+            }
+            hands[set] = (byte) ((hand + 1) & (WAYS - 1));
+            return start + hand;
+        }
+
+        private int oldestVictim(int set) {
+            int start = set * WAYS;
+            int victim = start;
+            for (int i = start + 1; i < start + WAYS; i++) {
+                if (stamps[i] < stamps[victim]) {
+                    victim = i;
+                }
+            }
+            return victim;
+        }
+
+        void clear() {
+            Arrays.fill(occupied, false);
+            Arrays.fill(referenced, false);
+        }
+    }
+}
@@ -1,9 +1,18 @@
 package com.example;
 
+import java.util.Arrays;
+import java.util.Objects;
 import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
 
 public final class PowerCalculator {
 
+    /** Default leaf size for parallelPower; large enough to amortize task overhead. */
+    static final int DEFAULT_PARALLEL_THRESHOLD = 16_384;
+
     private PowerCalculator() {
         // Private constructor to prevent instantiation
     }
@@ -20,22 +29,503 @@ public final class PowerCalculator {
      *                                  negative base with non-integer exponent).
      */
     public static double power(double x, double y) throws IllegalArgumentException {
-        // FR-XY-004: Handle special cases
+        // FR-XY-003: Display error for 0^negative and negative base with non-integer exponent
+        byte status = status(x, y);
+        if (status != PowerStatus.OK) {
+            if (PowerMetrics.ENABLED) {
+                PowerMetrics.error(status);
+            }
+            throw new IllegalArgumentException(PowerStatus.message(status));
+        }
+
+        return evaluate(x, y, AccuracyTier.STANDARD);
+    }
+
+    /**
+     * Calculates x raised to the power of y at the given accuracy tier.
+     * Validation and special cases are the same as {@link #power(double, double)};
+     * the tier only changes how non-integer exponents are evaluated.
+     *
+     * @param x    The base value.
+     * @param y    The exponent value.
+     * @param tier The accuracy tier.
+     * @return x raised to the power of y.
+     * @throws IllegalArgumentException if inputs are invalid (0^negative,
+     *                                  negative base with non-integer exponent).
+     */
+    public static double power(double x, double y, AccuracyTier tier)
+            throws IllegalArgumentException {
+        Objects.requireNonNull(tier, "tier");
+        byte status = status(x, y);
+        if (status != PowerStatus.OK) {
+            if (PowerMetrics.ENABLED) {
+                PowerMetrics.error(status);
+            }
+            throw new IllegalArgumentException(PowerStatus.message(status));
+        }
+
+        return evaluate(x, y, tier);
+    }
+
+    /**
+     * Classifies (x, y) without computing or throwing.
+     *
+     * @param x The base value.
+     * @param y The exponent value.
+     * @return {@link PowerStatus#OK}, or the code of the error that
+     *         {@link #power} would throw for these inputs.
+     */
+    public static byte status(double x, double y) {
+        if (x == 0.0 && y < 0.0) {
+            return PowerStatus.ZERO_NEGATIVE_POWER;
+        }
+        if (x < 0 && !isInteger(y)) {
+            return PowerStatus.COMPLEX_RESULT;
+        }
+        return PowerStatus.OK;
+    }
+
+    /**
+     * Calculates x^y without ever throwing. Use {@link #status} to find out
+     * why a NaN was returned.
+     *
+     * @param x The base value.
+     * @param y The exponent value.
+     * @return x raised to the power of y, or NaN for invalid inputs.
+     */
+    public static double tryPower(double x, double y) {
+        return evaluate(x, y, AccuracyTier.STANDARD);
+    }
+
+    /**
+     * Compiles a power function for one fixed exponent, so x^y can be applied
+     * to many bases without classifying y on every call. Integer exponents use
+     * a precomputed squaring chain, 0.5, -0.5 and 1.5 a square root, and all
+     * other exponents a precomputed e^(y * ln(x)) kernel.
+     *
+     * <p>The returned function throws the same IllegalArgumentException as
+     * {@link #power} for invalid bases. Results are identical to
+     * {@link #power} except for the square-root exponents: x^0.5 is correctly
+     * rounded, and x^-0.5 and x^1.5 are within 1 ulp like {@link #power}
+     * but may differ from it in the last bit.
+     *
+     * @param y The exponent to compile.
+     * @return A function computing x^y.
+     */
+    public static DoubleUnaryOperator compile(double y) {
+        return CompiledPower.compile(y);
+    }
+
+    /**
+     * Creates an evaluator for one fixed base, which computes ln(x) once and
+     * reuses it for every exponent. Useful for sweeping many exponents over
+     * the same base (growth curves, discount factors); its powers methods
+     * generate evenly spaced exponents such as x^0 .. x^n incrementally.
+     *
+     * @param x The base value.
+     * @return An evaluator whose pow(y) equals power(x, y).
+     */
+    public static FixedBasePower withBase(double x) {
+        return new FixedBasePower(x);
+    }
+
+    /**
+     * Compiles an expression over powers, such as "2^3^0.5" or
+     * "1000 * 1.05^n", so it can be evaluated for many bindings of its
+     * variables without being parsed again.
+     *
+     * @param source The expression text.
+     * @return The compiled expression.
+     * @throws IllegalArgumentException if the text is not a valid expression.
+     */
+    public static PowerExpression compileExpression(String source) {
+        return PowerExpression.compile(source);
+    }
+
+    /**
+     * Calculates the principal value of x^y for a complex base
+     * x = xRe + i * xIm and exponent y = yRe + i * yIm, that is
+     * e^(y * Log(x)) with Arg(x) in (-pi, pi]. A negative real base with a
+     * non-integer exponent, which {@link #power} rejects, gets its complex
+     * result here: (-8)^(1/3) is 1 + 1.732i. Real integer exponents use
+     * exponentiation by squaring; a real positive base and real exponent
+     * give exactly power(x, y).
+     *
+     * @param xRe Real part of the base.
+     * @param xIm Imaginary part of the base.
+     * @param yRe Real part of the exponent.
+     * @param yIm Imaginary part of the exponent.
+     * @param out Receives the real part in out[0] and the imaginary part in out[1].
+     * @throws IllegalArgumentException if x is 0 and y is non-zero with a
+     *                                  real part that is not positive.
+     */
+    public static void complexPower(double xRe, double xIm, double yRe, double yIm, double[] out) {
+        Objects.checkFromIndexSize(0, 2, out.length);
+        if (ComplexPower.status(xRe, xIm, yRe, yIm) != PowerStatus.OK) {
+            throw new IllegalArgumentException(PowerStatus.ZERO_NEGATIVE_POWER_MESSAGE);
+        }
+        ComplexPower.evaluate(xRe, xIm, yRe, yIm, out, 0, out, 1);
+    }
+
+    /**
+     * Calculates (xRe[i] + i * xIm[i])^(yRe[i] + i * yIm[i]) for every
+     * element of struct-of-arrays buffers, as
+     * {@link #complexPower(double, double, double, double, double[])}
+     * without creating an object per element. Invalid elements are written
+     * as NaN in both parts.
+     *
+     * @param xRe   Real parts of the bases.
+     * @param xIm   Imaginary parts of the bases.
+     * @param yRe   Real parts of the exponents.
+     * @param yIm   Imaginary parts of the exponents.
+     * @param outRe Receives the real parts; may be one of the input arrays.
+     * @param outIm Receives the imaginary parts; may be one of the input arrays.
+     * @throws IllegalArgumentException if the arrays differ in length.
+     */
+    public static void complexPower(double[] xRe, double[] xIm, double[] yRe, double[] yIm,
+            double[] outRe, double[] outIm) {
+        int length = xRe.length;
+        if (xIm.length != length || yRe.length != length || yIm.length != length
+                || outRe.length != length || outIm.length != length) {
+            throw new IllegalArgumentException("Input and output arrays must have the same length.");
+        }
+        ComplexPower.evaluate(xRe, xIm, yRe, yIm, outRe, outIm, length);
+    }
+
+    /**
+     * Calculates (xRe[i] + i * xIm[i])^(yRe + i * yIm) for every element
+     * using one shared exponent, classified once; a real integer exponent
+     * runs the squaring loop directly. Invalid elements are written as NaN
+     * in both parts.
+     *
+     * @param xRe   Real parts of the bases.
+     * @param xIm   Imaginary parts of the bases.
+     * @param yRe   Real part of the exponent.
+     * @param yIm   Imaginary part of the exponent.
+     * @param outRe Receives the real parts; may be one of the input arrays.
+     * @param outIm Receives the imaginary parts; may be one of the input arrays.
+     * @throws IllegalArgumentException if the arrays differ in length.
+     */
+    public static void complexPower(double[] xRe, double[] xIm, double yRe, double yIm,
+            double[] outRe, double[] outIm) {
+        int length = xRe.length;
+        if (xIm.length != length || outRe.length != length || outIm.length != length) {
+            throw new IllegalArgumentException("Input and output arrays must have the same length.");
+        }
+        ComplexPower.evaluate(xRe, xIm, yRe, yIm, outRe, outIm, length);
+    }
+
+    /**
+     * Raises a square matrix to an integer power by exponentiation by
+     * squaring, for n-step Markov transitions or linear recurrences such as
+     * Fibonacci. Takes about 2 log2(|n|) cache-blocked matrix products, run
+     * in parallel on the common fork/join pool for large matrices. A
+     * negative n raises the inverse to -n.
+     *
+     * @param flatMatrix The matrix in row-major order; not modified.
+     * @param dim        The number of rows and columns.
+     * @param n          The exponent; 0 gives the identity.
+     * @return A new array holding the dim x dim result in row-major order.
+     * @throws IllegalArgumentException if dim is not positive, flatMatrix
+     *                                  does not have dim * dim elements, or
+     *                                  n is negative and the matrix is
+     *                                  singular.
+     */
+    public static double[] matrixPower(double[] flatMatrix, int dim, long n) {
+        return MatrixPower.power(flatMatrix, dim, n);
+    }
+
+    /**
+     * Calculates xs[i]^ys[i] for every element of the input arrays.
+     * Invalid elements (0^negative, negative base with non-integer exponent)
+     * are written as NaN instead of throwing, so one bad row does not abort
+     * the whole batch. Every valid element is identical to {@link #power}.
+     *
+     * @param xs  The base values.
+     * @param ys  The exponent values.
+     * @param out Receives the results; may be the same array as xs or ys.
+     * @throws IllegalArgumentException if the arrays differ in length.
+     */
+    public static void power(double[] xs, double[] ys, double[] out) {
+        if (xs.length != ys.length || xs.length != out.length) {
+            throw new IllegalArgumentException("Input and output arrays must have the same length.");
+        }
+        power(xs, 0, ys, 0, out, 0, xs.length);
+    }
+
+    /**
+     * Calculates xs[i]^ys[i] for every element at the given accuracy tier.
+     * Invalid elements are written as NaN.
+     *
+     * @param xs   The base values.
+     * @param ys   The exponent values.
+     * @param out  Receives the results; may be the same array as xs or ys.
+     * @param tier The accuracy tier.
+     * @throws IllegalArgumentException if the arrays differ in length.
+     */
+    public static void power(double[] xs, double[] ys, double[] out, AccuracyTier tier) {
+        Objects.requireNonNull(tier, "tier");
+        if (xs.length != ys.length || xs.length != out.length) {
+            throw new IllegalArgumentException("Input and output arrays must have the same length.");
+        }
+        for (int i = 0; i < xs.length; i++) {
+            out[i] = evaluate(xs[i], ys[i], tier);
+        }
+    }
+
+    /**
+     * Calculates xs[xOffset + i]^ys[yOffset + i] into out[outOffset + i]
+     * for i in [0, length). Invalid elements are written as NaN.
+     *
+     * @param xs        The base values.
+     * @param xOffset   First base index.
+     * @param ys        The exponent values.
+     * @param yOffset   First exponent index.
+     * @param out       Receives the results.
+     * @param outOffset First result index.
+     * @param length    Number of elements to evaluate.
+     * @throws IndexOutOfBoundsException if a range falls outside its array.
+     */
+    public static void power(double[] xs, int xOffset, double[] ys, int yOffset,
+            double[] out, int outOffset, int length) {
+        Objects.checkFromIndexSize(xOffset, length, xs.length);
+        Objects.checkFromIndexSize(yOffset, length, ys.length);
+        Objects.checkFromIndexSize(outOffset, length, out.length);
+
+        if (VectorSupport.AVAILABLE) {
+            if (PowerMetrics.ENABLED) {
+                PowerMetrics.count(PowerMetrics.VECTOR, length);
+            }
+            VectorSupport.power(xs, xOffset, ys, yOffset, out, outOffset, length);
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            double x = xs[xOffset + i];
+            double y = ys[yOffset + i];
+            out[outOffset + i] = evaluate(x, y, AccuracyTier.STANDARD);
+        }
+    }
+
+    /**
+     * Calculates xs[i]^ys[i] for every element and records a status code per
+     * element. Invalid elements are written as NaN with their error code;
+     * no exceptions are created.
+     *
+     * @param xs     The base values.
+     * @param ys     The exponent values.
+     * @param out    Receives the results.
+     * @param status Receives a {@link PowerStatus} code per element.
+     * @throws IllegalArgumentException if the arrays differ in length.
+     */
+    public static void power(double[] xs, double[] ys, double[] out, byte[] status) {
+        if (xs.length != ys.length || xs.length != out.length || xs.length != status.length) {
+            throw new IllegalArgumentException("Input and output arrays must have the same length.");
+        }
+        power(xs, 0, ys, 0, out, 0, status, 0, xs.length);
+    }
+
+    /**
+     * Calculates xs[xOffset + i]^ys[yOffset + i] into out[outOffset + i] and
+     * its status code into status[statusOffset + i] for i in [0, length).
+     *
+     * @param xs           The base values.
+     * @param xOffset      First base index.
+     * @param ys           The exponent values.
+     * @param yOffset      First exponent index.
+     * @param out          Receives the results.
+     * @param outOffset    First result index.
+     * @param status       Receives a {@link PowerStatus} code per element.
+     * @param statusOffset First status index.
+     * @param length       Number of elements to evaluate.
+     * @throws IndexOutOfBoundsException if a range falls outside its array.
+     */
+    public static void power(double[] xs, int xOffset, double[] ys, int yOffset,
+            double[] out, int outOffset, byte[] status, int statusOffset, int length) {
+        Objects.checkFromIndexSize(xOffset, length, xs.length);
+        Objects.checkFromIndexSize(yOffset, length, ys.length);
+        Objects.checkFromIndexSize(outOffset, length, out.length);
+        Objects.checkFromIndexSize(statusOffset, length, status.length);
+
+        for (int i = 0; i < length; i++) {
+            double x = xs[xOffset + i];
+            double y = ys[yOffset + i];
+            byte code = status(x, y);
+            if (PowerMetrics.ENABLED && code != PowerStatus.OK) {
+                PowerMetrics.error(code);
+            }
+            status[statusOffset + i] = code;
+            out[outOffset + i] = code == PowerStatus.OK
+                    ? evaluate(x, y, AccuracyTier.STANDARD) : Double.NaN;
+        }
+    }
+
+    /**
+     * Calculates xs[i]^y for every base using one shared exponent.
+     * The exponent is classified once rather than per element.
+     * Invalid elements are written as NaN.
+     *
+     * @param xs  The base values.
+     * @param y   The exponent applied to every base.
+     * @param out Receives the results; may be the same array as xs.
+     * @throws IllegalArgumentException if the arrays differ in length.
+     */
+    public static void power(double[] xs, double y, double[] out) {
+        if (xs.length != out.length) {
+            throw new IllegalArgumentException("Input and output arrays must have the same length.");
+        }
+        power(xs, 0, y, out, 0, xs.length);
+    }
+
+    /**
+     * Calculates xs[xOffset + i]^y into out[outOffset + i] for i in [0, length).
+     * Invalid elements are written as NaN.
+     *
+     * @param xs        The base values.
+     * @param xOffset   First base index.
+     * @param y         The exponent applied to every base.
+     * @param out       Receives the results.
+     * @param outOffset First result index.
+     * @param length    Number of elements to evaluate.
+     * @throws IndexOutOfBoundsException if a range falls outside its array.
+     */
+    public static void power(double[] xs, int xOffset, double y,
+            double[] out, int outOffset, int length) {
+        Objects.checkFromIndexSize(xOffset, length, xs.length);
+        Objects.checkFromIndexSize(outOffset, length, out.length);
+
+        if (y == 0.0) {
+            // Every base (including 0) raised to power 0 is 1
+            Arrays.fill(out, outOffset, outOffset + length, 1.0);
+            return;
+        }
+
+        if (PowerMetrics.ENABLED) {
+            PowerMetrics.count(PowerMetrics.FIXED_EXPONENT, length);
+        }
+
+        // Classify the exponent once for the whole batch
+        boolean integral = isInteger(y);
+        boolean negative = y < 0.0;
+        double magnitude = negative ? -y : y;
+        long n = (long) magnitude;
+
+        for (int i = 0; i < length; i++) {
+            double x = xs[xOffset + i];
+            double result;
+            if (x == 0.0) {
+                result = negative ? Double.NaN : 0.0;
+            } else if (x == 1.0) {
+                result = 1.0;
+            } else if (y == 1.0) {
+                result = x;
+            } else if (x < 0 && !integral) {
+                result = Double.NaN;
+            } else if (integral) {
+                double positive = powerInteger(x, n);
+                result = negative ? 1.0 / positive : positive;
+            } else {
+                result = fractionalPower(x, y, AccuracyTier.STANDARD);
+            }
+            out[outOffset + i] = result;
+        }
+    }
+
+    /**
+     * Calculates xs[i]^ys[i] in parallel on the common fork/join pool.
+     * Results are identical to {@link #power(double[], double[], double[])}.
+     *
+     * @param xs  The base values.
+     * @param ys  The exponent values.
+     * @param out Receives the results; may be the same array as xs or ys.
+     * @throws IllegalArgumentException if the arrays differ in length.
+     */
+    public static void parallelPower(double[] xs, double[] ys, double[] out) {
+        parallelPower(xs, ys, out, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Calculates xs[i]^ys[i] in parallel on the given pool. Ranges are split
+     * in half until they hold at most threshold elements, and each range is
+     * then evaluated sequentially. Invalid elements are written as NaN.
+     *
+     * @param xs        The base values.
+     * @param ys        The exponent values.
+     * @param out       Receives the results; may be the same array as xs or ys.
+     * @param pool      The pool to run on.
+     * @param threshold Largest range evaluated without further splitting.
+     * @throws IllegalArgumentException if the arrays differ in length or
+     *                                  threshold is not positive.
+     */
+    public static void parallelPower(double[] xs, double[] ys, double[] out,
+            ForkJoinPool pool, int threshold) {
+        if (xs.length != ys.length || xs.length != out.length) {
+            throw new IllegalArgumentException("Input and output arrays must have the same length.");
+        }
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("Threshold must be positive.");
+        }
+        pool.invoke(new ParallelPowerTask(xs, ys, out, 0, xs.length, threshold));
+    }
+
+    /**
+     * Streams xs[i]^ys[i] without materializing an output array. The stream
+     * is sequential; call {@code parallel()} on it to spread the work across
+     * the common pool. Invalid elements are NaN.
+     *
+     * @param xs The base values.
+     * @param ys The exponent values.
+     * @return The results in index order.
+     * @throws IllegalArgumentException if the arrays differ in length.
+     */
+    public static DoubleStream powerStream(double[] xs, double[] ys) {
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("Input arrays must have the same length.");
+        }
+        return IntStream.range(0, xs.length)
+                .mapToDouble(i -> evaluate(xs[i], ys[i], AccuracyTier.STANDARD));
+    }
+
+    /**
+     * Shared evaluation behind the scalar and bulk entry points. Returns NaN
+     * for the invalid cases that {@link #power} rejects with an exception.
+     */
+    private static double evaluate(double x, double y, AccuracyTier tier) {
+        if (PowerMetrics.ENABLED) {
+            return PowerMetrics.timed(x, y, tier);
+        }
+        return compute(x, y, tier);
+    }
+
+    /**
+     * The evaluation itself, counting its path when metrics are enabled.
+     */
+    static double compute(double x, double y, AccuracyTier tier) {
         if (x == 0.0) {
+            if (PowerMetrics.ENABLED) {
+                if (y < 0.0) {
+                    PowerMetrics.error(PowerStatus.ZERO_NEGATIVE_POWER);
+                } else {
+                    PowerMetrics.count(PowerMetrics.SPECIAL);
+                }
+            }
             if (y == 0.0) {
                 // 0^0 is typically defined as 1 in many contexts, but undefined in strict
                 // mathematical
                 // sense. For calculator context, often treated as 1.
                 return 1.0;
             } else if (y < 0.0) {
-                // FR-XY-003: Display error for 0^negative
-                throw new IllegalArgumentException("0 raised to a negative power is undefined.");
+                // 0^negative is undefined
+                return Double.NaN;
             } else {
                 // 0^positive is 0
                 return 0.0;
             }
         }
 
+        if (PowerMetrics.ENABLED && (x == 1.0 || y == 0.0 || y == 1.0)) {
+            PowerMetrics.count(PowerMetrics.SPECIAL);
+        }
+
         if (x == 1.0) {
             // 1^y is 1 for any y
             return 1.0;
@@ -51,47 +541,91 @@ public final class PowerCalculator {
             return x;
         }
 
-        // Handle negative base with non-integer exponent
-        if (x < 0 && !isInteger(y)) {
-            // FR-XY-003: Display error for negative base with non-integer exponent
-            throw new IllegalArgumentException(
-                    "Negative base with a non-integer exponent results in a complex number,"
-                            + " which is not supported.");
+        boolean integral = isInteger(y);
+
+        // Negative base with non-integer exponent would be complex
+        if (x < 0 && !integral) {
+            if (PowerMetrics.ENABLED) {
+                PowerMetrics.error(PowerStatus.COMPLEX_RESULT);
+            }
+            return Double.NaN;
+        }
+
+        if (!integral) {
+            if (PowerMetrics.ENABLED) {
+                PowerMetrics.count(tier == AccuracyTier.FAST ? PowerMetrics.FAST
+                        : tier == AccuracyTier.STRICT ? PowerMetrics.STRICT : PowerMetrics.STANDARD);
+            }
+            return fractionalPower(x, y, tier);
+        }
+
+        if (PowerMetrics.ENABLED) {
+            PowerMetrics.count(PowerMetrics.INTEGER);
+            PowerMetrics.squaringSteps((long) Math.abs(y));
         }
 
         // Handle negative exponent
         if (y < 0) {
-            return 1.0 / power(x, -y);
+            return 1.0 / powerInteger(x, (long) -y);
         }
 
-        // Handle integer exponents
-        if (isInteger(y)) {
-            return powerInteger(x, (long) y);
-        }
+        return powerInteger(x, (long) y);
+    }
 
-        // Handle fractional exponents using exponential and logarithm
-        if (x <= 0) {
-            throw new IllegalArgumentException(
-                    "Cannot compute fractional power of non-positive number.");
+    /**
+     * x^y = e^(y * ln(x)) for a positive x other than 1 and a non-integer y,
+     * evaluated directly for negative y too rather than as 1 / x^-y.
+     */
+    static double fractionalPower(double x, double y, AccuracyTier tier) {
+        if (tier == AccuracyTier.FAST) {
+            return ExpEngine.expFast(y * LogEngine.lnFast(x));
         }
 
-        // For x^y where y is fractional, use x^y = e^(y * ln(x))
-        double lnX = naturalLog(x);
-        double yLnX = y * lnX;
-        return exponential(yLnX);
+        return tier == AccuracyTier.STRICT
+                ? LogEngine.lnExtended(x, true, y, PowerCalculator::strictExponentialOfProduct)
+                : LogEngine.lnExtended(x, false, y, PowerCalculator::exponentialOfProduct);
+    }
+
+    /**
+     * e^(y * (lnHi + lnLo)) with the product carried as a double-double,
+     * the STANDARD tier's final step.
+     */
+    static double exponentialOfProduct(double lnHi, double lnLo, double x, double y) {
+        double hi = y * lnHi;
+        double lo = DoubleDouble.twoProductError(y, lnHi, hi) + y * lnLo;
+        return ExpEngine.exp(hi, lo);
+    }
+
+    /**
+     * The STRICT tier's final step, falling back to HighPrecisionMath.pow's
+     * BigInteger fixed point when the double-double result cannot be rounded
+     * with certainty.
+     */
+    private static double strictExponentialOfProduct(double lnHi, double lnLo, double x, double y) {
+        double hi = y * lnHi;
+        double lo = DoubleDouble.twoProductError(y, lnHi, hi) + y * lnLo;
+        // ln(x) is within 2^-73 relative, so e^(y ln x) is off by at most |y ln x| * 2^-73
+        double result = ExpEngine.expStrict(hi, lo, Math.abs(hi) * 0x1p-72);
+        if (result < 0.0) {
+            if (PowerMetrics.ENABLED) {
+                PowerMetrics.count(PowerMetrics.STRICT_FALLBACK);
+            }
+            return HighPrecisionMath.pow(x, y);
+        }
+        return result;
     }
 
     /**
      * Check if a double value is an integer
      */
-    private static boolean isInteger(double value) {
+    static boolean isInteger(double value) {
         return value == Math.floor(value) && !Double.isInfinite(value);
     }
 
     /**
      * Calculate x^n where n is an integer using exponentiation by squaring
      */
-    private static double powerInteger(double x, long n) {
+    static double powerInteger(double x, long n) {
         if (n == 0) {
             return 1.0;
         }
@@ -117,10 +651,11 @@ public final class PowerCalculator {
     }
 
     /**
-     * Calculate natural logarithm using Taylor series
-     * ln(x) = 2 * sum((1/(2k+1)) * ((x-1)/(x+1))^(2k+1)) for k=0 to infinity
+     * Calculate natural logarithm in constant time.
+     * ln(x) = k * ln(2) + ln(m), with k and m read from the IEEE-754 bits of x,
+     * see {@link LogEngine}.
      */
-    private static double naturalLog(double x) throws IllegalArgumentException {
+    static double naturalLog(double x) throws IllegalArgumentException {
         if (x <= 0) {
             throw new IllegalArgumentException(
                     "Natural logarithm is undefined for non-positive numbers.");
@@ -130,83 +665,32 @@ public final class PowerCalculator {
             return 0.0;
         }
 
-        // For better convergence, use ln(x) = ln(2^k * m) = k*ln(2) + ln(m)
-        // where m is in [1, 2)
-        int k = 0;
-        double m = x;
-
-        // Normalize x to range [1, 2)
-        while (m >= 2.0) {
-            m /= 2.0;
-            k++;
-        }
-        while (m < 1.0) {
-            m *= 2.0;
-            k--;
-        }
-
-        // Calculate ln(m) using Taylor series around 1
-        // ln(1+u) = u - u^2/2 + u^3/3 - u^4/4 + ...
-        double u = m - 1.0;
-        double result = 0.0;
-        double term = u;
-
-        for (int i = 1; i <= 100; i++) {
-            if (i % 2 == 1) {
-                result += term / i;
-            } else {
-                result -= term / i;
-            }
-            term *= u;
-
-            // Check for convergence
-            if (Math.abs(term / i) < 1e-15) {
-                break;
-            }
-        }
-
-        // ln(2) ≈ 0.6931471805599453
-        double ln2 = 0.6931471805599453;
-        return k * ln2 + result;
+        return LogEngine.ln(x);
     }
 
     /**
-     * Calculate e^x using Taylor series
-     * e^x = 1 + x + x^2/2! + x^3/3! + ...
+     * Calculate e^x with a fixed number of operations.
+     * e^x = 2^e * 2^(j/128) * e^r, with 2^e built directly in the exponent bits,
+     * see {@link ExpEngine}.
      */
-    private static double exponential(double x) {
+    static double exponential(double x) {
         if (x == 0.0) {
             return 1.0;
         }
 
-        // For large |x|, use e^x = e^(n + f) = e^n * e^f
-        // where n is integer and |f| < 1
-        int n = (int) Math.floor(x);
-        double f = x - n;
-
-        // Calculate e^f using Taylor series
-        double result = 1.0;
-        double term = 1.0;
-
-        for (int i = 1; i <= 100; i++) {
-            term *= f / i;
-            result += term;
+        return ExpEngine.exp(x);
+    }
 
-            // Check for convergence
-            if (Math.abs(term) < 1e-15) {
-                break;
+    public static void main(String[] args) {
+        if (args.length > 0) {
+            // Non-interactive modes such as --batch
+            int status = CommandLine.run(args, System.in, System.out, System.err);
+            if (status != 0) {
+                System.exit(status);
             }
+            return;
         }
 
-        // Calculate e^n = (e^1)^n
-        // e ≈ 2.718281828459045
-        double e = 2.718281828459045;
-        double eToN = powerInteger(e, n);
-
-        return eToN * result;
-    }
-
-    public static void main(String[] args) {
         try (Scanner scanner = new Scanner(System.in)) {
             boolean continueCalculation = true;
 
@@ -10,6 +10,10 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.swing.BorderFactory;
 import javax.swing.AbstractAction;
@@ -19,9 +23,12 @@ import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JTabbedPane;
 import javax.swing.JTextField;
 import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
 import javax.swing.UIManager;
 import javax.swing.KeyStroke;
 import javax.swing.border.Border;
@@ -32,9 +39,19 @@ import javax.swing.event.DocumentListener;
 /**
  * GUI for the x^y Power Calculator
  * Provides a user-friendly interface for calculating powers from scratch
+ *
+ * <p>Inputs are validated shortly after the user stops typing, and every
+ * valid pair is evaluated on a background thread, so a live result follows
+ * the input without ever blocking the Event Dispatch Thread. A newer input
+ * cancels any evaluation still running for an older one.
  */
 public class PowerCalculatorGUI extends JFrame {
 
+    /** Quiet time after the last keystroke before inputs are validated. */
+    private static final int DEBOUNCE_MILLIS = 150;
+
+    private static final String RESULT_PROMPT = "Result: (Enter values and click Calculate)";
+
     private JTextField baseField;
     private JTextField exponentField;
     private JLabel resultLabel;
@@ -43,6 +60,19 @@ public class PowerCalculatorGUI extends JFrame {
     private JButton clearButton;
     private Border defaultTextFieldBorder;
 
+    private final ExecutorService evaluator = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "power-gui-evaluator");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Timer validationTimer;
+    private SwingWorker<Double, Void> pendingEvaluation;
+
+    // Inputs parsed by the last validation, reused by calculatePower
+    private boolean inputsValid;
+    private double parsedBase;
+    private double parsedExponent;
+
     public PowerCalculatorGUI() {
         initializeGUI();
         setupEventHandlers();
@@ -53,7 +83,7 @@ public class PowerCalculatorGUI extends JFrame {
      */
     private void initializeGUI() {
         setTitle("x^y Power Calculator - From Scratch Implementation");
-        setSize(500, 350);
+        setSize(720, 480);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLocationRelativeTo(null); // Center the window
         setResizable(true);
@@ -80,7 +110,7 @@ public class PowerCalculatorGUI extends JFrame {
         baseLabel.setFont(new Font("SansSerif", Font.PLAIN, 14));
         baseField = new JTextField(15);
         baseField.setFont(new Font("Monospaced", Font.PLAIN, 14));
-        baseField.setToolTipText("Enter the base value (any real number)");
+        baseField.setToolTipText("Enter the base value (a real number or expression, e.g. 2^0.5)");
         baseLabel.setLabelFor(baseField);
         baseLabel.setDisplayedMnemonic(KeyEvent.VK_B);
         baseField.getAccessibleContext().setAccessibleName("Base input field");
@@ -92,7 +122,7 @@ public class PowerCalculatorGUI extends JFrame {
         exponentLabel.setFont(new Font("SansSerif", Font.PLAIN, 14));
         exponentField = new JTextField(15);
         exponentField.setFont(new Font("Monospaced", Font.PLAIN, 14));
-        exponentField.setToolTipText("Enter the exponent value (any real number)");
+        exponentField.setToolTipText("Enter the exponent value (a real number or expression, e.g. 1/3)");
         exponentLabel.setLabelFor(exponentField);
         exponentLabel.setDisplayedMnemonic(KeyEvent.VK_E);
         exponentField.getAccessibleContext().setAccessibleName("Exponent input field");
@@ -137,7 +167,7 @@ public class PowerCalculatorGUI extends JFrame {
         resultPanel.setLayout(new BorderLayout());
         resultPanel.setBorder(BorderFactory.createTitledBorder("Result"));
 
-        resultLabel = new JLabel("Result: (Enter values and click Calculate)");
+        resultLabel = new JLabel(RESULT_PROMPT);
         resultLabel.setFont(new Font("Monospaced", Font.BOLD, 16));
         resultLabel.setHorizontalAlignment(SwingConstants.CENTER);
         resultLabel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
@@ -169,7 +199,12 @@ public class PowerCalculatorGUI extends JFrame {
 
         mainPanel.add(centerPanel, BorderLayout.CENTER);
 
-        add(mainPanel);
+        JTabbedPane tabs = new JTabbedPane();
+        tabs.addTab("Calculator", mainPanel);
+        tabs.addTab("Plot", new PowerPlotPanel());
+        tabs.setMnemonicAt(0, KeyEvent.VK_A);
+        tabs.setMnemonicAt(1, KeyEvent.VK_P);
+        add(tabs);
 
         // Set default button for Enter key and bind ESC to clear
         getRootPane().setDefaultButton(calculateButton);
@@ -229,21 +264,29 @@ public class PowerCalculatorGUI extends JFrame {
         baseField.addKeyListener(enterKeyListener);
         exponentField.addKeyListener(enterKeyListener);
 
-        // Real-time validation to prevent errors and provide feedback
+        // Real-time validation, debounced so a burst of keystrokes is parsed once
+        validationTimer = new Timer(DEBOUNCE_MILLIS, new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                updateValidationState();
+            }
+        });
+        validationTimer.setRepeats(false);
+
         DocumentListener validationListener = new DocumentListener() {
             @Override
             public void insertUpdate(DocumentEvent e) {
-                updateValidationState();
+                validationTimer.restart();
             }
 
             @Override
             public void removeUpdate(DocumentEvent e) {
-                updateValidationState();
+                validationTimer.restart();
             }
 
             @Override
             public void changedUpdate(DocumentEvent e) {
-                updateValidationState();
+                validationTimer.restart();
             }
         };
 
@@ -258,6 +301,17 @@ public class PowerCalculatorGUI extends JFrame {
      * Calculate the power using the from-scratch implementation
      */
     private void calculatePower() {
+        if (validationTimer.isRunning()) {
+            // Validate the latest keystrokes now rather than after the delay
+            validationTimer.stop();
+            updateValidationState();
+        }
+        if (inputsValid) {
+            resultLabel.setText("Calculating...");
+            startEvaluation(parsedBase, parsedExponent);
+            return;
+        }
+
         // Clear previous results
         resultLabel.setText("Calculating...");
         errorLabel.setText("");
@@ -279,19 +333,19 @@ public class PowerCalculatorGUI extends JFrame {
             double y;
 
             try {
-                x = Double.parseDouble(baseText);
-            } catch (NumberFormatException ex) {
+                x = parseValue(baseText);
+            } catch (IllegalArgumentException ex) {
                 throw new IllegalArgumentException(
-                        "Base value must be a valid number. Please check your input for \'"
+                        "Base value must be a valid number or expression. Please check your input for \'"
                                 + baseText + "\'.",
                         ex);
             }
 
             try {
-                y = Double.parseDouble(exponentText);
-            } catch (NumberFormatException ex) {
+                y = parseValue(exponentText);
+            } catch (IllegalArgumentException ex) {
                 throw new IllegalArgumentException(
-                        "Exponent value must be a valid number. Please check your input for '"
+                        "Exponent value must be a valid number or expression. Please check your input for '"
                                 + exponentText + "'.",
                         ex);
             }
@@ -306,35 +360,90 @@ public class PowerCalculatorGUI extends JFrame {
             }
 
             // Calculate the result using our from-scratch implementation
-            double result = PowerCalculator.power(x, y);
-
-            // Check result validity
-            if (Double.isNaN(result)) {
-                resultLabel.setText("Result: NaN (Not a Number)");
-                errorLabel.setText("The calculation resulted in an undefined value.");
-            } else if (Double.isInfinite(result)) {
-                if (result > 0) {
-                    resultLabel.setText("Result: +∞ (Positive Infinity)");
-                } else {
-                    resultLabel.setText("Result: -∞ (Negative Infinity)");
+            startEvaluation(x, y);
+        } catch (IllegalArgumentException ex) {
+            resultLabel.setText("Result: Error");
+            errorLabel.setText("Error: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Evaluates x^y on the background executor, cancelling any evaluation
+     * still running for earlier inputs. The result is shown on the EDT.
+     */
+    private void startEvaluation(final double x, final double y) {
+        cancelEvaluation();
+        SwingWorker<Double, Void> worker = new SwingWorker<Double, Void>() {
+            @Override
+            protected Double doInBackground() {
+                return PowerCalculator.power(x, y);
+            }
+
+            @Override
+            protected void done() {
+                if (pendingEvaluation != this) {
+                    // Superseded by newer inputs
+                    return;
                 }
-                errorLabel.setText("The result is too large to represent as a finite number.");
-            } else {
-                // Format the result appropriately
-                if (Math.abs(result) < 1e-10 && result != 0) {
-                    resultLabel.setText(String.format("Result: %.2e", result));
-                } else if (Math.abs(result) > 1e10) {
-                    resultLabel.setText(String.format("Result: %.2e", result));
-                } else {
-                    resultLabel.setText(String.format("Result: %.10f", result));
+                pendingEvaluation = null;
+                try {
+                    showResult(get());
+                } catch (CancellationException ex) {
+                    // Cancelled without being superseded, e.g. by clearFields
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException ex) {
+                    showError(ex.getCause());
                 }
-                errorLabel.setText(""); // Clear any previous error
             }
+        };
+        pendingEvaluation = worker;
+        evaluator.execute(worker);
+    }
 
-        } catch (IllegalArgumentException ex) {
+    private void cancelEvaluation() {
+        if (pendingEvaluation != null) {
+            pendingEvaluation.cancel(true);
+            pendingEvaluation = null;
+        }
+    }
+
+    /**
+     * Display a successfully computed result
+     */
+    private void showResult(double result) {
+        // Check result validity
+        if (Double.isNaN(result)) {
+            resultLabel.setText("Result: NaN (Not a Number)");
+            errorLabel.setText("The calculation resulted in an undefined value.");
+        } else if (Double.isInfinite(result)) {
+            if (result > 0) {
+                resultLabel.setText("Result: +∞ (Positive Infinity)");
+            } else {
+                resultLabel.setText("Result: -∞ (Negative Infinity)");
+            }
+            errorLabel.setText("The result is too large to represent as a finite number.");
+        } else {
+            // Format the result appropriately
+            if (Math.abs(result) < 1e-10 && result != 0) {
+                resultLabel.setText(String.format("Result: %.2e", result));
+            } else if (Math.abs(result) > 1e10) {
+                resultLabel.setText(String.format("Result: %.2e", result));
+            } else {
+                resultLabel.setText(String.format("Result: %.10f", result));
+            }
+            errorLabel.setText(""); // Clear any previous error
+        }
+    }
+
+    /**
+     * Display an exception thrown by an evaluation
+     */
+    private void showError(Throwable ex) {
+        if (ex instanceof IllegalArgumentException) {
             resultLabel.setText("Result: Error");
             errorLabel.setText("Error: " + ex.getMessage());
-        } catch (Exception ex) {
+        } else {
             resultLabel.setText("Result: Unexpected Error");
             errorLabel.setText("An unexpected error occurred. Please try again or contact support.");
             // Log the actual exception for debugging (in a real application)
@@ -347,9 +456,10 @@ public class PowerCalculatorGUI extends JFrame {
      * Clear all input fields and results
      */
     private void clearFields() {
+        cancelEvaluation();
         baseField.setText("");
         exponentField.setText("");
-        resultLabel.setText("Result: (Enter values and click Calculate)");
+        resultLabel.setText(RESULT_PROMPT);
         errorLabel.setText("");
         baseField.requestFocus(); // Set focus back to base field
         // Restore borders
@@ -361,17 +471,22 @@ public class PowerCalculatorGUI extends JFrame {
     /**
      * Validate inputs in real time to prevent common errors and reduce memory load.
      * Enables/disables calculate button and sets helpful error messages.
+     * Runs once per burst of keystrokes, keeps the parsed values for
+     * calculatePower and starts a live evaluation when both inputs are valid.
      */
     private void updateValidationState() {
         String baseText = baseField.getText().trim();
         String exponentText = exponentField.getText().trim();
 
+        inputsValid = false;
+        cancelEvaluation();
         errorLabel.setText("");
         baseField.setBorder(defaultTextFieldBorder);
         exponentField.setBorder(defaultTextFieldBorder);
 
         if (baseText.isEmpty() || exponentText.isEmpty()) {
             calculateButton.setEnabled(false);
+            resultLabel.setText(RESULT_PROMPT);
             return;
         }
 
@@ -387,6 +502,7 @@ public class PowerCalculatorGUI extends JFrame {
                 exponentField.setBorder(new LineBorder(Color.RED));
             }
             calculateButton.setEnabled(false);
+            resultLabel.setText(RESULT_PROMPT);
             return;
         }
 
@@ -395,6 +511,7 @@ public class PowerCalculatorGUI extends JFrame {
             errorLabel.setText("0 raised to a negative power is undefined.");
             exponentField.setBorder(new LineBorder(Color.RED));
             calculateButton.setEnabled(false);
+            resultLabel.setText(RESULT_PROMPT);
             return;
         }
 
@@ -402,17 +519,44 @@ public class PowerCalculatorGUI extends JFrame {
             errorLabel.setText("Negative base requires an integer exponent.");
             exponentField.setBorder(new LineBorder(Color.RED));
             calculateButton.setEnabled(false);
+            resultLabel.setText(RESULT_PROMPT);
             return;
         }
 
         calculateButton.setEnabled(true);
+
+        // NaN and Infinity parse, but calculatePower explains why they are rejected
+        if (Double.isNaN(x) || Double.isInfinite(x) || Double.isNaN(y) || Double.isInfinite(y)) {
+            resultLabel.setText(RESULT_PROMPT);
+            return;
+        }
+        inputsValid = true;
+        parsedBase = x;
+        parsedExponent = y;
+        startEvaluation(x, y);
     }
 
     private static Double tryParseDouble(String value) {
+        try {
+            return parseValue(value);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses a number, or failing that a constant expression such as 2^3^0.5.
+     */
+    private static double parseValue(String value) {
         try {
             return Double.parseDouble(value);
         } catch (NumberFormatException ex) {
-            return null;
+            PowerExpression expression = PowerCalculator.compileExpression(value);
+            if (!expression.isConstant()) {
+                throw new IllegalArgumentException("Variables are not supported here: "
+                        + expression.variables() + ".", ex);
+            }
+            return expression.evaluate();
         }
     }
 
@@ -0,0 +1,573 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A compiled arithmetic expression over powers, such as {@code 2^3^0.5},
+ * {@code 1000 * 1.05^n} or {@code x^2.2 - 1}.
+ *
+ * <p>The grammar has numbers, variables, parentheses, unary minus and the
+ * operators {@code + - * / ^}. {@code ^} binds tightest and is right
+ * associative, so {@code 2^3^2} is 2^9 and {@code -2^2} is -4.
+ *
+ * <p>The source is parsed once into a tree. Constant subexpressions are
+ * folded, a constant exponent is compiled with {@link PowerCalculator#compile}
+ * and a constant base uses {@link PowerCalculator#withBase}, so evaluating
+ * the tree never reparses or reclassifies. The bulk
+ * {@link #evaluate(double[][], double[])} works through the bindings a block
+ * at a time, running each node over the whole block.
+ *
+ * <p>Instances are immutable and safe to share between threads.
+ * Obtain one with {@link PowerCalculator#compileExpression(String)}.
+ */
+public final class PowerExpression {
+
+    /** Bindings evaluated per pass of the bulk tree walk. */
+    static final int BLOCK = 1024;
+
+    private final String source;
+    private final List<String> variables;
+    private final Node root;
+
+    private PowerExpression(String source, List<String> variables, Node root) {
+        this.source = source;
+        this.variables = variables;
+        this.root = root;
+    }
+
+    /**
+     * Parses and compiles an expression, see
+     * {@link PowerCalculator#compileExpression}.
+     */
+    static PowerExpression compile(String source) {
+        Objects.requireNonNull(source, "source");
+        Parser parser = new Parser(source);
+        Node root = parser.parse();
+        return new PowerExpression(source, Collections.unmodifiableList(parser.variables), root);
+    }
+
+    /**
+     * The variables of the expression, in order of first appearance. This is
+     * the order in which {@link #evaluate} takes their values.
+     *
+     * @return The variable names; empty for a constant expression.
+     */
+    public List<String> variables() {
+        return variables;
+    }
+
+    /**
+     * Whether the expression has no variables.
+     *
+     * @return true if every evaluation gives the same result.
+     */
+    public boolean isConstant() {
+        return variables.isEmpty();
+    }
+
+    /**
+     * Evaluates the expression for one binding of its variables.
+     *
+     * @param values One value per variable, in the order of {@link #variables}.
+     * @return The value of the expression.
+     * @throws IllegalArgumentException if the number of values is wrong, or
+     *                                  for any power that {@link PowerCalculator#power}
+     *                                  rejects.
+     */
+    public double evaluate(double... values) {
+        if (values.length != variables.size()) {
+            throw new IllegalArgumentException("Expected " + variables.size() + " values for "
+                    + variables + " but got " + values.length + ".");
+        }
+        return root.value(values);
+    }
+
+    /**
+     * Evaluates the expression for many bindings. columns[v][i] is the value
+     * of variable v in binding i. Bindings with an invalid power are written
+     * as NaN instead of throwing, as in the bulk {@link PowerCalculator#power}.
+     *
+     * @param columns One array of values per variable, in the order of
+     *                {@link #variables}.
+     * @param out     Receives one result per binding; may be one of the columns.
+     * @throws IllegalArgumentException if the number of columns is wrong, or
+     *                                  they differ in length from out.
+     */
+    public void evaluate(double[][] columns, double[] out) {
+        if (columns.length != variables.size()) {
+            throw new IllegalArgumentException("Expected " + variables.size() + " columns for "
+                    + variables + " but got " + columns.length + ".");
+        }
+        for (double[] column : columns) {
+            if (column.length != out.length) {
+                throw new IllegalArgumentException("Input and output arrays must have the same length.");
+            }
+        }
+
+        double[] block = new double[Math.min(BLOCK, out.length)];
+        double[][] scratch = new double[root.temps][block.length];
+        for (int offset = 0; offset < out.length; offset += block.length) {
+            int length = Math.min(block.length, out.length - offset);
+            root.values(columns, offset, length, block, scratch, 0);
+            System.arraycopy(block, 0, out, offset, length);
+        }
+    }
+
+    /**
+     * The source the expression was compiled from.
+     */
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    /**
+     * A node of the compiled tree. value evaluates one binding; values
+     * evaluates length bindings from offset into out[0, length), using
+     * scratch[level] and above for intermediate blocks.
+     */
+    private abstract static class Node {
+        /** Scratch blocks needed by the bulk walk of this subtree. */
+        final int temps;
+        /** Nodes on the longest path down, i.e. the recursion depth of value. */
+        final int depth;
+
+        Node(int temps, int depth) {
+            this.temps = temps;
+            this.depth = depth;
+        }
+
+        abstract double value(double[] bindings);
+
+        abstract void values(double[][] columns, int offset, int length, double[] out,
+                double[][] scratch, int level);
+    }
+
+    private static final class Constant extends Node {
+        private final double value;
+
+        Constant(double value) {
+            super(0, 1);
+            this.value = value;
+        }
+
+        @Override
+        double value(double[] bindings) {
+            return value;
+        }
+
+        @Override
+        void values(double[][] columns, int offset, int length, double[] out, double[][] scratch, int level) {
+            Arrays.fill(out, 0, length, value);
+        }
+    }
+
+    private static final class Variable extends Node {
+        private final int index;
+
+        Variable(int index) {
+            super(0, 1);
+            this.index = index;
+        }
+
+        @Override
+        double value(double[] bindings) {
+            return bindings[index];
+        }
+
+        @Override
+        void values(double[][] columns, int offset, int length, double[] out, double[][] scratch, int level) {
+            System.arraycopy(columns[index], offset, out, 0, length);
+        }
+    }
+
+    private static final class Negate extends Node {
+        private final Node operand;
+
+        Negate(Node operand) {
+            super(operand.temps, operand.depth + 1);
+            this.operand = operand;
+        }
+
+        @Override
+        double value(double[] bindings) {
+            return -operand.value(bindings);
+        }
+
+        @Override
+        void values(double[][] columns, int offset, int length, double[] out, double[][] scratch, int level) {
+            operand.values(columns, offset, length, out, scratch, level);
+            for (int i = 0; i < length; i++) {
+                out[i] = -out[i];
+            }
+        }
+    }
+
+    private static final class Arithmetic extends Node {
+        private final char operator;
+        private final Node left;
+        private final Node right;
+
+        Arithmetic(char operator, Node left, Node right) {
+            super(Math.max(left.temps, right.temps + 1), Math.max(left.depth, right.depth) + 1);
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        double value(double[] bindings) {
+            return apply(operator, left.value(bindings), right.value(bindings));
+        }
+
+        @Override
+        void values(double[][] columns, int offset, int length, double[] out, double[][] scratch, int level) {
+            left.values(columns, offset, length, out, scratch, level);
+            double[] rights = scratch[level];
+            right.values(columns, offset, length, rights, scratch, level + 1);
+            // One loop per operator keeps the switch out of the inner loop
+            switch (operator) {
+                case '+':
+                    for (int i = 0; i < length; i++) {
+                        out[i] += rights[i];
+                    }
+                    break;
+                case '-':
+                    for (int i = 0; i < length; i++) {
+                        out[i] -= rights[i];
+                    }
+                    break;
+                case '*':
+                    for (int i = 0; i < length; i++) {
+                        out[i] *= rights[i];
+                    }
+                    break;
+                default:
+                    for (int i = 0; i < length; i++) {
+                        out[i] /= rights[i];
+                    }
+                    break;
+            }
+        }
+
+        private static double apply(char operator, double a, double b) {
+            switch (operator) {
+                case '+':
+                    return a + b;
+                case '-':
+                    return a - b;
+                case '*':
+                    return a * b;
+                default:
+                    return a / b;
+            }
+        }
+    }
+
+    /**
+     * base^y for a constant y, through a kernel compiled once.
+     */
+    private static final class ConstantExponent extends Node {
+        private final Node base;
+        private final double exponent;
+        private final DoubleUnaryOperator kernel;
+
+        ConstantExponent(Node base, double exponent) {
+            super(base.temps, base.depth + 1);
+            this.base = base;
+            this.exponent = exponent;
+            this.kernel = PowerCalculator.compile(exponent);
+        }
+
+        @Override
+        double value(double[] bindings) {
+            return kernel.applyAsDouble(base.value(bindings));
+        }
+
+        @Override
+        void values(double[][] columns, int offset, int length, double[] out, double[][] scratch, int level) {
+            base.values(columns, offset, length, out, scratch, level);
+            for (int i = 0; i < length; i++) {
+                // Checked first so an invalid base gives NaN without an exception
+                out[i] = PowerCalculator.status(out[i], exponent) == PowerStatus.OK
+                        ? kernel.applyAsDouble(out[i]) : Double.NaN;
+            }
+        }
+    }
+
+    /**
+     * x^exponent for a constant x, reusing ln(x).
+     */
+    private static final class ConstantBase extends Node {
+        private final FixedBasePower base;
+        private final Node exponent;
+
+        ConstantBase(double base, Node exponent) {
+            super(exponent.temps, exponent.depth + 1);
+            this.base = PowerCalculator.withBase(base);
+            this.exponent = exponent;
+        }
+
+        @Override
+        double value(double[] bindings) {
+            return base.pow(exponent.value(bindings));
+        }
+
+        @Override
+        void values(double[][] columns, int offset, int length, double[] out, double[][] scratch, int level) {
+            exponent.values(columns, offset, length, out, scratch, level);
+            base.pow(out, 0, out, 0, length);
+        }
+    }
+
+    private static final class Power extends Node {
+        private final Node base;
+        private final Node exponent;
+
+        Power(Node base, Node exponent) {
+            super(Math.max(base.temps, exponent.temps + 1), Math.max(base.depth, exponent.depth) + 1);
+            this.base = base;
+            this.exponent = exponent;
+        }
+
+        @Override
+        double value(double[] bindings) {
+            return PowerCalculator.power(base.value(bindings), exponent.value(bindings));
+        }
+
+        @Override
+        void values(double[][] columns, int offset, int length, double[] out, double[][] scratch, int level) {
+            base.values(columns, offset, length, out, scratch, level);
+            double[] exponents = scratch[level];
+            exponent.values(columns, offset, length, exponents, scratch, level + 1);
+            PowerCalculator.power(out, 0, exponents, 0, out, 0, length);
+        }
+    }
+
+    /**
+     * Recursive descent parser that builds and folds the tree as it goes.
+     */
+    private static final class Parser {
+        private static final double[] NO_BINDINGS = new double[0];
+
+        /**
+         * Deepest nesting accepted, counting parentheses, signs and exponents
+         * while parsing and operators in the compiled tree, where a chain
+         * such as 1 + 2 + 3 nests to the left. Parsing and evaluation both
+         * recurse, so the limit keeps them far from a StackOverflowError.
+         */
+        private static final int MAX_DEPTH = 1000;
+
+        private final String source;
+        private final List<String> variables = new ArrayList<>();
+        private int position;
+        private int depth;
+
+        Parser(String source) {
+            this.source = source;
+        }
+
+        Node parse() {
+            Node node = sum();
+            skipSpaces();
+            if (position < source.length()) {
+                throw error("Unexpected '" + source.charAt(position) + "'");
+            }
+            return node;
+        }
+
+        // sum := product (('+' | '-') product)*
+        private Node sum() {
+            Node node = product();
+            while (true) {
+                if (accept('+')) {
+                    node = arithmetic('+', node, product());
+                } else if (accept('-')) {
+                    node = arithmetic('-', node, product());
+                } else {
+                    return node;
+                }
+            }
+        }
+
+        // product := unary (('*' | '/') unary)*
+        private Node product() {
+            Node node = unary();
+            while (true) {
+                if (accept('*')) {
+                    node = arithmetic('*', node, unary());
+                } else if (accept('/')) {
+                    node = arithmetic('/', node, unary());
+                } else {
+                    return node;
+                }
+            }
+        }
+
+        // unary := ('-' | '+') unary | power
+        private Node unary() {
+            if (accept('-')) {
+                descend();
+                Node operand = unary();
+                depth--;
+                return operand instanceof Constant
+                        ? new Constant(-operand.value(NO_BINDINGS)) : bounded(new Negate(operand));
+            }
+            if (accept('+')) {
+                descend();
+                Node operand = unary();
+                depth--;
+                return operand;
+            }
+            return power();
+        }
+
+        // power := primary ('^' unary)?, so ^ is right associative
+        private Node power() {
+            Node base = primary();
+            if (!accept('^')) {
+                return base;
+            }
+            descend();
+            Node exponent = unary();
+            depth--;
+            Node node;
+            if (exponent instanceof Constant) {
+                node = new ConstantExponent(base, exponent.value(NO_BINDINGS));
+            } else if (base instanceof Constant) {
+                node = new ConstantBase(base.value(NO_BINDINGS), exponent);
+            } else {
+                node = new Power(base, exponent);
+            }
+            return fold(bounded(node), base, exponent);
+        }
+
+        // primary := number | variable | '(' sum ')'
+        private Node primary() {
+            skipSpaces();
+            if (position >= source.length()) {
+                throw error("Expected a number, variable or '('");
+            }
+            char c = source.charAt(position);
+            if (c == '(') {
+                position++;
+                descend();
+                Node node = sum();
+                if (!accept(')')) {
+                    throw error("Expected ')'");
+                }
+                depth--;
+                return node;
+            }
+            if (Character.isDigit(c) || c == '.') {
+                return number();
+            }
+            if (Character.isLetter(c) || c == '_') {
+                return variable();
+            }
+            throw error("Unexpected '" + c + "'");
+        }
+
+        private Node number() {
+            int start = position;
+            while (position < source.length()
+                    && (Character.isDigit(source.charAt(position)) || source.charAt(position) == '.')) {
+                position++;
+            }
+            if (position < source.length() && (source.charAt(position) == 'e' || source.charAt(position) == 'E')) {
+                int mark = position++;
+                if (position < source.length() && (source.charAt(position) == '+' || source.charAt(position) == '-')) {
+                    position++;
+                }
+                if (position < source.length() && Character.isDigit(source.charAt(position))) {
+                    while (position < source.length() && Character.isDigit(source.charAt(position))) {
+                        position++;
+                    }
+                } else {
+                    // Not an exponent after all; the 'e' is left for the caller to reject
+                    position = mark;
+                }
+            }
+            String text = source.substring(start, position);
+            try {
+                return new Constant(Double.parseDouble(text));
+            } catch (NumberFormatException ex) {
+                position = start;
+                throw error("Invalid number '" + text + "'");
+            }
+        }
+
+        private Node variable() {
+            int start = position;
+            while (position < source.length()
+                    && (Character.isLetterOrDigit(source.charAt(position)) || source.charAt(position) == '_')) {
+                position++;
+            }
+            String name = source.substring(start, position);
+            int index = variables.indexOf(name);
+            if (index < 0) {
+                index = variables.size();
+                variables.add(name);
+            }
+            return new Variable(index);
+        }
+
+        private Node arithmetic(char operator, Node left, Node right) {
+            return fold(bounded(new Arithmetic(operator, left, right)), left, right);
+        }
+
+        private Node bounded(Node node) {
+            if (node.depth > MAX_DEPTH) {
+                throw error("Expression nested too deeply");
+            }
+            return node;
+        }
+
+        /**
+         * Replaces a node whose operands are constant by its value. A power
+         * that is always invalid stays unfolded, so it fails on evaluation
+         * like the same power written with variables.
+         */
+        private static Node fold(Node node, Node left, Node right) {
+            if (!(left instanceof Constant) || !(right instanceof Constant)) {
+                return node;
+            }
+            try {
+                return new Constant(node.value(NO_BINDINGS));
+            } catch (IllegalArgumentException ex) {
+                return node;
+            }
+        }
+
+        private boolean accept(char c) {
+            skipSpaces();
+            if (position < source.length() && source.charAt(position) == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void skipSpaces() {
+            while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+                position++;
+            }
+        }
+
+        private void descend() {
+            if (++depth > MAX_DEPTH) {
+                throw error("Expression nested too deeply");
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + (position + 1) + " of '"
+                    + source + "'.");
+        }
+    }
+}
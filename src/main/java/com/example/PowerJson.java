@@ -0,0 +1,293 @@
+package com.example;
+
+import java.util.Arrays;
+
+/**
+ * Minimal JSON codec for the HTTP service, working directly on ASCII bytes.
+ *
+ * <p>Only the shapes the service exchanges are supported: objects with
+ * number or number-array fields. Numbers are parsed with
+ * {@link AsciiNumbers} without building Strings, and results are written
+ * into one growable byte array that is sent with a fixed Content-Length.
+ * Non-finite results, which JSON numbers cannot express, are written as
+ * the strings "Infinity", "-Infinity" and "NaN".
+ */
+final class PowerJson {
+
+    private PowerJson() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Reads {@code {"x": number, "y": number}} into pair[0] and pair[1].
+     *
+     * @throws IllegalArgumentException if the body is not such an object.
+     */
+    static void readPair(byte[] body, int length, double[] pair) {
+        Parser parser = new Parser(body, length);
+        boolean seenX = false;
+        boolean seenY = false;
+        parser.expect('{');
+        if (!parser.consume('}')) {
+            do {
+                String key = parser.key("x", "y");
+                parser.expect(':');
+                if ("x".equals(key)) {
+                    pair[0] = parser.number();
+                    seenX = true;
+                } else {
+                    pair[1] = parser.number();
+                    seenY = true;
+                }
+            } while (parser.consume(','));
+            parser.expect('}');
+        }
+        parser.end();
+        if (!seenX || !seenY) {
+            throw new IllegalArgumentException("Both \"x\" and \"y\" are required.");
+        }
+    }
+
+    /**
+     * Reads {@code {"xs": [numbers], "ys": [numbers]}}.
+     *
+     * @param maxLength Largest accepted array length.
+     * @return The two arrays, xs first.
+     * @throws IllegalArgumentException if the body is not such an object or
+     *         the arrays differ in length.
+     */
+    static double[][] readBatch(byte[] body, int length, int maxLength) {
+        Parser parser = new Parser(body, length);
+        double[] xs = null;
+        double[] ys = null;
+        parser.expect('{');
+        if (!parser.consume('}')) {
+            do {
+                String key = parser.key("xs", "ys");
+                parser.expect(':');
+                if ("xs".equals(key)) {
+                    xs = parser.numberArray(maxLength);
+                } else {
+                    ys = parser.numberArray(maxLength);
+                }
+            } while (parser.consume(','));
+            parser.expect('}');
+        }
+        parser.end();
+        if (xs == null || ys == null) {
+            throw new IllegalArgumentException("Both \"xs\" and \"ys\" are required.");
+        }
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("\"xs\" and \"ys\" must have the same length.");
+        }
+        return new double[][] {xs, ys};
+    }
+
+    /**
+     * Recursive-descent reader over bytes[0, length).
+     */
+    private static final class Parser {
+        private final byte[] bytes;
+        private final int end;
+        private int position;
+
+        Parser(byte[] bytes, int length) {
+            this.bytes = bytes;
+            this.end = length;
+        }
+
+        void expect(char c) {
+            if (!consume(c)) {
+                throw error("Expected '" + c + "'");
+            }
+        }
+
+        boolean consume(char c) {
+            skipWhitespace();
+            if (position < end && bytes[position] == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Reads a quoted key, which must be one of the candidates.
+         */
+        String key(String... candidates) {
+            expect('"');
+            int start = position;
+            while (position < end && bytes[position] != '"') {
+                position++;
+            }
+            if (position == end) {
+                throw error("Unterminated string");
+            }
+            int keyLength = position - start;
+            position++;
+            for (String candidate : candidates) {
+                if (matches(candidate, start, keyLength)) {
+                    return candidate;
+                }
+            }
+            throw error("Unknown field");
+        }
+
+        double number() {
+            skipWhitespace();
+            int start = position;
+            while (position < end && isNumberByte(bytes[position])) {
+                position++;
+            }
+            if (start == position) {
+                throw error("Expected a number");
+            }
+            try {
+                return AsciiNumbers.parseDouble(bytes, start, position);
+            } catch (NumberFormatException ex) {
+                throw error("Invalid number");
+            }
+        }
+
+        double[] numberArray(int maxLength) {
+            expect('[');
+            double[] values = new double[16];
+            int count = 0;
+            if (!consume(']')) {
+                do {
+                    if (count == maxLength) {
+                        throw new IllegalArgumentException(
+                                "Arrays are limited to " + maxLength + " elements.");
+                    }
+                    if (count == values.length) {
+                        values = Arrays.copyOf(values, Math.min(2 * count, maxLength));
+                    }
+                    values[count++] = number();
+                } while (consume(','));
+                expect(']');
+            }
+            return count == values.length ? values : Arrays.copyOf(values, count);
+        }
+
+        void end() {
+            skipWhitespace();
+            if (position != end) {
+                throw error("Unexpected trailing content");
+            }
+        }
+
+        private boolean matches(String candidate, int start, int length) {
+            if (candidate.length() != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (bytes[start + i] != candidate.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void skipWhitespace() {
+            while (position < end && (bytes[position] == ' ' || bytes[position] == '\t'
+                    || bytes[position] == '\n' || bytes[position] == '\r')) {
+                position++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at offset " + position + ".");
+        }
+
+        private static boolean isNumberByte(byte b) {
+            return (b >= '0' && b <= '9') || b == '-' || b == '+' || b == '.' || b == 'e' || b == 'E';
+        }
+    }
+
+    /**
+     * Builds a response body in a growable byte array.
+     */
+    static final class Writer {
+        private final StringBuilder text = new StringBuilder(32);
+        private byte[] buffer;
+        private int length;
+
+        Writer(int capacity) {
+            buffer = new byte[Math.max(capacity, 16)];
+        }
+
+        Writer write(char c) {
+            ensure(1);
+            buffer[length++] = (byte) c;
+            return this;
+        }
+
+        /**
+         * Appends ASCII text as-is.
+         */
+        Writer write(CharSequence ascii) {
+            ensure(ascii.length());
+            for (int i = 0; i < ascii.length(); i++) {
+                buffer[length++] = (byte) ascii.charAt(i);
+            }
+            return this;
+        }
+
+        /**
+         * Appends a number, or a quoted string for non-finite values.
+         */
+        Writer number(double value) {
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                return write('"').write(Double.toString(value)).write('"');
+            }
+            // StringBuilder.append(double) formats without creating a String
+            text.setLength(0);
+            text.append(value);
+            return write(text);
+        }
+
+        Writer number(long value) {
+            text.setLength(0);
+            text.append(value);
+            return write(text);
+        }
+
+        /**
+         * Appends a quoted string, escaping quotes, backslashes and control
+         * characters. Non-ASCII characters are written as \\u escapes.
+         */
+        Writer string(String value) {
+            write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    write('\\').write(c);
+                } else if (c < 0x20 || c > 0x7E) {
+                    write("\\u");
+                    String hex = Integer.toHexString(c);
+                    for (int pad = hex.length(); pad < 4; pad++) {
+                        write('0');
+                    }
+                    write(hex);
+                } else {
+                    write(c);
+                }
+            }
+            return write('"');
+        }
+
+        byte[] bytes() {
+            return buffer;
+        }
+
+        int length() {
+            return length;
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+            }
+        }
+    }
+}
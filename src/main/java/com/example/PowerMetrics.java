@@ -0,0 +1,259 @@
+package com.example;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Optional instrumentation of the {@link PowerCalculator} hot paths.
+ *
+ * <p>Enabled with {@code -Dpowercalculator.metrics=true}. The flag is read
+ * once into {@link #ENABLED}; every recording site is guarded by it, and
+ * because it is a static final field the JIT compiles the disabled guards
+ * away entirely. When enabled, counts go to striped {@link LongAdder}s, so
+ * threads evaluating in parallel do not contend on one cache line, and one
+ * call in {@link #SAMPLE_INTERVAL} is timed into a log-bucketed histogram.
+ *
+ * <p>Counted: which path each {@code power}, {@code tryPower}, bulk and
+ * stream evaluation took, the squaring steps of the integer path, STRICT
+ * fallbacks to BigInteger fixed point, and rejected inputs by type.
+ * Compiled and fixed-base evaluators are not counted.
+ */
+public final class PowerMetrics implements PowerMetricsMBean {
+
+    /** Whether metrics are recorded; fixed at class initialization. */
+    static final boolean ENABLED = Boolean.getBoolean("powercalculator.metrics");
+
+    /** On average one call in this many is timed. */
+    static final int SAMPLE_INTERVAL = 64;
+
+    static final String OBJECT_NAME = "com.example:type=PowerMetrics";
+
+    static final int SPECIAL = 0;
+    static final int INTEGER = 1;
+    static final int FAST = 2;
+    static final int STANDARD = 3;
+    static final int STRICT = 4;
+    static final int STRICT_FALLBACK = 5;
+    static final int FIXED_EXPONENT = 6;
+    static final int VECTOR = 7;
+    private static final int COUNTERS = 8;
+
+    private static final LongAdder[] PATHS = adders(COUNTERS);
+    /** Indexed by {@link PowerStatus} code. */
+    private static final LongAdder[] ERRORS = adders(3);
+    private static final LongAdder[] SQUARING_STEPS = adders(64);
+
+    private static final AtomicLongArray LATENCY = new AtomicLongArray(LatencyHistogram.BUCKETS);
+    private static final LongAdder LATENCY_SUM = new LongAdder();
+    private static final LongAccumulator LATENCY_MAX = new LongAccumulator(Math::max, 0L);
+
+    static {
+        if (ENABLED) {
+            register();
+        }
+    }
+
+    PowerMetrics() {
+        // Stateless view over the static counters
+    }
+
+    /**
+     * Counts one call on a path.
+     */
+    static void count(int path) {
+        PATHS[path].increment();
+    }
+
+    /**
+     * Counts several elements on a path, for bulk calls.
+     */
+    static void count(int path, long elements) {
+        PATHS[path].add(elements);
+    }
+
+    static void error(byte status) {
+        ERRORS[status].increment();
+    }
+
+    /**
+     * Counts an integer-path call by the bit length of its exponent
+     * magnitude, which is the number of squaring steps.
+     */
+    static void squaringSteps(long n) {
+        SQUARING_STEPS[64 - Long.numberOfLeadingZeros(n)].increment();
+    }
+
+    /**
+     * Evaluates one element, timing a random sample of calls.
+     */
+    static double timed(double x, double y, AccuracyTier tier) {
+        if (ThreadLocalRandom.current().nextInt(SAMPLE_INTERVAL) != 0) {
+            return PowerCalculator.compute(x, y, tier);
+        }
+        long start = System.nanoTime();
+        double result = PowerCalculator.compute(x, y, tier);
+        recordLatency(System.nanoTime() - start);
+        return result;
+    }
+
+    static void recordLatency(long nanos) {
+        long value = Math.max(nanos, 0L);
+        LATENCY.incrementAndGet(LatencyHistogram.index(value));
+        LATENCY_SUM.add(value);
+        LATENCY_MAX.accumulate(value);
+    }
+
+    /**
+     * Registers the MBean with the platform MBean server, once.
+     *
+     * @return Whether it is registered after the call.
+     */
+    static synchronized boolean register() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new PowerMetrics(), name);
+            }
+            return true;
+        } catch (JMException ex) {
+            // Metrics still count; they are just not visible over JMX
+            return false;
+        }
+    }
+
+    @Override
+    public long getSpecialCaseCalls() {
+        return PATHS[SPECIAL].sum();
+    }
+
+    @Override
+    public long getIntegerCalls() {
+        return PATHS[INTEGER].sum();
+    }
+
+    @Override
+    public long getFastFractionalCalls() {
+        return PATHS[FAST].sum();
+    }
+
+    @Override
+    public long getStandardFractionalCalls() {
+        return PATHS[STANDARD].sum();
+    }
+
+    @Override
+    public long getStrictFractionalCalls() {
+        return PATHS[STRICT].sum();
+    }
+
+    @Override
+    public long getStrictFallbacks() {
+        return PATHS[STRICT_FALLBACK].sum();
+    }
+
+    @Override
+    public long getFixedExponentElements() {
+        return PATHS[FIXED_EXPONENT].sum();
+    }
+
+    @Override
+    public long getVectorElements() {
+        return PATHS[VECTOR].sum();
+    }
+
+    @Override
+    public long getZeroNegativePowerErrors() {
+        return ERRORS[PowerStatus.ZERO_NEGATIVE_POWER].sum();
+    }
+
+    @Override
+    public long getComplexResultErrors() {
+        return ERRORS[PowerStatus.COMPLEX_RESULT].sum();
+    }
+
+    @Override
+    public long[] getSquaringStepCounts() {
+        long[] counts = new long[SQUARING_STEPS.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = SQUARING_STEPS[i].sum();
+        }
+        return counts;
+    }
+
+    @Override
+    public long getSampledCalls() {
+        return latency().count();
+    }
+
+    @Override
+    public double getLatencyMeanNanos() {
+        long count = latency().count();
+        return count == 0 ? 0.0 : (double) LATENCY_SUM.sum() / count;
+    }
+
+    @Override
+    public long getLatencyP50Nanos() {
+        return percentile(50.0);
+    }
+
+    @Override
+    public long getLatencyP99Nanos() {
+        return percentile(99.0);
+    }
+
+    @Override
+    public long getLatencyP999Nanos() {
+        return percentile(99.9);
+    }
+
+    @Override
+    public long getLatencyMaxNanos() {
+        return LATENCY_MAX.get();
+    }
+
+    @Override
+    public void reset() {
+        for (LongAdder[] adders : new LongAdder[][] {PATHS, ERRORS, SQUARING_STEPS}) {
+            for (LongAdder adder : adders) {
+                adder.reset();
+            }
+        }
+        for (int i = 0; i < LATENCY.length(); i++) {
+            LATENCY.set(i, 0L);
+        }
+        LATENCY_SUM.reset();
+        LATENCY_MAX.reset();
+    }
+
+    private static long percentile(double percentile) {
+        // Snapshot values sit at their bucket tops; never report above the true max
+        return Math.min(latency().valueAtPercentile(percentile), LATENCY_MAX.get());
+    }
+
+    /**
+     * A snapshot of the sampled latencies. Each value stands at the top of
+     * its bucket, so percentiles are within the histogram's 1/128 precision.
+     */
+    private static LatencyHistogram latency() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < LATENCY.length(); i++) {
+            histogram.record(LatencyHistogram.highestInBucket(i), LATENCY.get(i));
+        }
+        return histogram;
+    }
+
+    private static LongAdder[] adders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
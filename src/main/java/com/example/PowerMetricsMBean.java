@@ -0,0 +1,61 @@
+package com.example;
+
+/**
+ * JMX view of {@link PowerMetrics}, registered as
+ * {@code com.example:type=PowerMetrics} when metrics are enabled.
+ * Latencies are in nanoseconds and come from sampled calls.
+ */
+public interface PowerMetricsMBean {
+
+    /** Calls answered by a special case: a base of 0 or 1, or an exponent of 0 or 1. */
+    long getSpecialCaseCalls();
+
+    /** Calls evaluated by squaring, for integer exponents. */
+    long getIntegerCalls();
+
+    /** Calls evaluated through ln and exp at the FAST tier. */
+    long getFastFractionalCalls();
+
+    /** Calls evaluated through ln and exp at the STANDARD tier. */
+    long getStandardFractionalCalls();
+
+    /** Calls evaluated through ln and exp at the STRICT tier. */
+    long getStrictFractionalCalls();
+
+    /** STRICT calls whose rounding test failed and that fell back to BigInteger fixed point. */
+    long getStrictFallbacks();
+
+    /** Elements of bulk calls with one shared exponent. */
+    long getFixedExponentElements();
+
+    /**
+     * Elements of bulk calls handed to the SIMD kernel. Elements the kernel
+     * passes back to the scalar path are also counted under their path.
+     */
+    long getVectorElements();
+
+    /** Inputs rejected as 0 raised to a negative power. */
+    long getZeroNegativePowerErrors();
+
+    /** Inputs rejected as a negative base with a non-integer exponent. */
+    long getComplexResultErrors();
+
+    /** Integer-path calls by squaring steps: element i counts exponents of bit length i. */
+    long[] getSquaringStepCounts();
+
+    /** Calls whose latency was sampled. */
+    long getSampledCalls();
+
+    double getLatencyMeanNanos();
+
+    long getLatencyP50Nanos();
+
+    long getLatencyP99Nanos();
+
+    long getLatencyP999Nanos();
+
+    long getLatencyMaxNanos();
+
+    /** Clears every counter and the latency histogram. */
+    void reset();
+}
@@ -0,0 +1,458 @@
+package com.example;
+
+import java.awt.BasicStroke;
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JTextField;
+import javax.swing.Timer;
+
+/**
+ * Plots x^y over a range of x (with y fixed) or of y (with x fixed).
+ * Drag to pan and use the mouse wheel to zoom.
+ *
+ * <p>A background thread renders each view into a {@link BufferedImage} in
+ * coarse-to-fine passes, so a rough curve appears at once and sharpens.
+ * Samples come from a {@link PlotSampler}, whose cache means pans and zooms
+ * only compute newly exposed regions. Until the new image is ready, the
+ * canvas shows the previous one transformed to the current view, so
+ * dragging stays smooth. Finished passes are picked up by a 60 fps repaint
+ * timer.
+ */
+final class PowerPlotPanel extends JPanel {
+
+    /** Levels above the finest rendered first, finest last. */
+    private static final int[] PASS_OFFSETS = {4, 2, 0};
+
+    private static final int FRAME_MILLIS = 16;
+    private static final int CACHE_TILES = 1024;
+    private static final double ZOOM_STEP = 1.15;
+    private static final int FIT_SAMPLES = 512;
+
+    private final JComboBox<String> variableBox = new JComboBox<>(new String[] {"x (base)", "y (exponent)"});
+    private final JTextField fixedField = new JTextField("2", 6);
+    private final JTextField fromField = new JTextField("0", 6);
+    private final JTextField toField = new JTextField("4", 6);
+    private final JLabel fixedLabel = new JLabel("with y =");
+    private final JLabel statusLabel = new JLabel("Drag to pan, scroll to zoom.");
+    private final PlotCanvas canvas = new PlotCanvas();
+
+    private final ExecutorService renderer = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "power-plot-renderer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicReference<Request> requested = new AtomicReference<>();
+    private final AtomicBoolean renderScheduled = new AtomicBoolean();
+    private final AtomicBoolean frameReady = new AtomicBoolean();
+    private volatile RenderedFrame frame;
+
+    // Owned by the EDT
+    private PlotSampler sampler;
+    private View view;
+
+    PowerPlotPanel() {
+        super(new BorderLayout());
+        setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        JPanel controls = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        JButton plotButton = new JButton("Plot");
+        controls.add(new JLabel("Vary"));
+        controls.add(variableBox);
+        controls.add(new JLabel("from"));
+        controls.add(fromField);
+        controls.add(new JLabel("to"));
+        controls.add(toField);
+        controls.add(fixedLabel);
+        controls.add(fixedField);
+        controls.add(plotButton);
+        variableBox.getAccessibleContext().setAccessibleName("Plotted variable");
+        fromField.getAccessibleContext().setAccessibleName("Range start");
+        toField.getAccessibleContext().setAccessibleName("Range end");
+        fixedField.getAccessibleContext().setAccessibleName("Fixed input value");
+
+        statusLabel.setFont(new Font("SansSerif", Font.PLAIN, 12));
+        add(controls, BorderLayout.NORTH);
+        add(canvas, BorderLayout.CENTER);
+        add(statusLabel, BorderLayout.SOUTH);
+
+        ActionListener plot = new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                plot();
+            }
+        };
+        plotButton.addActionListener(plot);
+        fromField.addActionListener(plot);
+        toField.addActionListener(plot);
+        fixedField.addActionListener(plot);
+        variableBox.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                fixedLabel.setText(variableBox.getSelectedIndex() == 0 ? "with y =" : "with x =");
+            }
+        });
+
+        Timer repaintTimer = new Timer(FRAME_MILLIS, new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (frameReady.getAndSet(false)) {
+                    canvas.repaint();
+                }
+            }
+        });
+        repaintTimer.start();
+    }
+
+    /**
+     * Reads the controls and plots a fresh view, with the value axis fitted
+     * to the curve.
+     */
+    private void plot() {
+        double from;
+        double to;
+        double fixed;
+        try {
+            from = Double.parseDouble(fromField.getText().trim());
+            to = Double.parseDouble(toField.getText().trim());
+            fixed = Double.parseDouble(fixedField.getText().trim());
+        } catch (NumberFormatException ex) {
+            statusLabel.setText("Error: The range and fixed value must be numbers.");
+            return;
+        }
+        if (!(from < to) || Double.isInfinite(from) || Double.isInfinite(to) || !Double.isFinite(fixed)) {
+            statusLabel.setText("Error: The range must be finite with from below to.");
+            return;
+        }
+
+        PlotSampler.Variable variable = variableBox.getSelectedIndex() == 0
+                ? PlotSampler.Variable.BASE : PlotSampler.Variable.EXPONENT;
+        if (sampler == null || sampler.variable() != variable
+                || Double.doubleToLongBits(sampler.fixed()) != Double.doubleToLongBits(fixed)) {
+            sampler = new PlotSampler(variable, fixed, CACHE_TILES);
+        }
+        view = fit(variable, fixed, from, to);
+        statusLabel.setText("Drag to pan, scroll to zoom.");
+        canvas.repaint();
+        requestRender();
+    }
+
+    /**
+     * A view of [from, to] whose value range covers the finite samples.
+     */
+    private static View fit(PlotSampler.Variable variable, double fixed, double from, double to) {
+        double[] inputs = new double[FIT_SAMPLES];
+        double[] values = new double[FIT_SAMPLES];
+        for (int i = 0; i < FIT_SAMPLES; i++) {
+            inputs[i] = from + (to - from) * i / (FIT_SAMPLES - 1);
+        }
+        if (variable == PlotSampler.Variable.BASE) {
+            PowerCalculator.power(inputs, fixed, values);
+        } else {
+            double[] bases = new double[FIT_SAMPLES];
+            Arrays.fill(bases, fixed);
+            PowerCalculator.power(bases, inputs, values);
+        }
+        double low = Double.POSITIVE_INFINITY;
+        double high = Double.NEGATIVE_INFINITY;
+        for (double value : values) {
+            if (Double.isFinite(value)) {
+                low = Math.min(low, value);
+                high = Math.max(high, value);
+            }
+        }
+        if (low > high) {
+            low = -1.0;
+            high = 1.0;
+        }
+        // Scaled before subtracting so a range near Double.MAX_VALUE cannot overflow
+        double margin = high > low ? high * 0.05 - low * 0.05 : Math.max(1.0, Math.abs(low) * 0.1);
+        return new View(from, to, low - margin, high + margin);
+    }
+
+    /**
+     * Asks the render thread for the current view, replacing any request it
+     * has not started yet.
+     */
+    private void requestRender() {
+        int width = canvas.getWidth();
+        int height = canvas.getHeight();
+        if (sampler == null || width <= 0 || height <= 0) {
+            return;
+        }
+        requested.set(new Request(sampler, view, width, height));
+        if (renderScheduled.compareAndSet(false, true)) {
+            renderer.execute(this::renderLoop);
+        }
+    }
+
+    private void renderLoop() {
+        while (true) {
+            Request request = requested.get();
+            render(request);
+            renderScheduled.set(false);
+            // A request that arrived during render() found the loop scheduled
+            if (requested.get() == request || !renderScheduled.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Renders one request pass by pass, stopping as soon as it is replaced.
+     */
+    private void render(Request request) {
+        View v = request.view;
+        // Finest level: about one sample per pixel column
+        int finest = Math.getExponent((v.right - v.left) / request.width);
+        for (int offset : PASS_OFFSETS) {
+            int level = finest + offset;
+            long first = (long) Math.floor(Math.scalb(v.left, -level)) - 1;
+            long last = (long) Math.ceil(Math.scalb(v.right, -level)) + 1;
+            double[] values = new double[(int) (last - first + 1)];
+            if (!request.sampler.samples(level, first, values.length, values, () -> requested.get() != request)) {
+                return;
+            }
+            frame = new RenderedFrame(draw(request, level, first, values), v);
+            frameReady.set(true);
+        }
+    }
+
+    private static BufferedImage draw(Request request, int level, long first, double[] values) {
+        int width = request.width;
+        int height = request.height;
+        View v = request.view;
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+
+            g.setColor(Color.LIGHT_GRAY);
+            if (v.left < 0.0 && v.right > 0.0) {
+                int zero = (int) Math.round(v.toPixelX(0.0, width));
+                g.drawLine(zero, 0, zero, height);
+            }
+            if (v.bottom < 0.0 && v.top > 0.0) {
+                int zero = (int) Math.round(v.toPixelY(0.0, height));
+                g.drawLine(0, zero, width, zero);
+            }
+
+            g.setColor(new Color(70, 130, 180));
+            g.setStroke(new BasicStroke(1.5f));
+            Path2D.Double path = new Path2D.Double();
+            boolean drawing = false;
+            // Keep far off-screen points within a range Java2D draws reliably
+            double limit = 4.0 * (width + height);
+            for (int i = 0; i < values.length; i++) {
+                double value = values[i];
+                if (!Double.isFinite(value)) {
+                    drawing = false;
+                    continue;
+                }
+                double px = v.toPixelX(PlotSampler.position(level, first + i), width);
+                double py = Math.max(-limit, Math.min(limit, v.toPixelY(value, height)));
+                if (drawing) {
+                    path.lineTo(px, py);
+                } else {
+                    path.moveTo(px, py);
+                    drawing = true;
+                }
+            }
+            g.draw(path);
+
+            g.setColor(Color.DARK_GRAY);
+            g.setFont(new Font("SansSerif", Font.PLAIN, 11));
+            g.drawString(label(v.top), 4, 12);
+            g.drawString(label(v.bottom), 4, height - 4);
+            String right = label(v.right);
+            g.drawString(label(v.left), 4, height - 18);
+            g.drawString(right, width - 4 - g.getFontMetrics().stringWidth(right), height - 18);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    private static String label(double value) {
+        return String.format("%.4g", value);
+    }
+
+    /**
+     * The drawing surface; handles panning and zooming on the EDT.
+     */
+    private final class PlotCanvas extends JComponent {
+        private int dragX;
+        private int dragY;
+
+        PlotCanvas() {
+            setOpaque(true);
+            MouseAdapter mouse = new MouseAdapter() {
+                @Override
+                public void mousePressed(MouseEvent e) {
+                    dragX = e.getX();
+                    dragY = e.getY();
+                }
+
+                @Override
+                public void mouseDragged(MouseEvent e) {
+                    if (view == null) {
+                        return;
+                    }
+                    view = view.pan(e.getX() - dragX, e.getY() - dragY, getWidth(), getHeight());
+                    dragX = e.getX();
+                    dragY = e.getY();
+                    repaint();
+                    requestRender();
+                }
+
+                @Override
+                public void mouseWheelMoved(MouseWheelEvent e) {
+                    if (view == null) {
+                        return;
+                    }
+                    double factor = Math.pow(ZOOM_STEP, e.getPreciseWheelRotation());
+                    view = view.zoom(e.getX(), e.getY(), factor, getWidth(), getHeight());
+                    repaint();
+                    requestRender();
+                }
+            };
+            addMouseListener(mouse);
+            addMouseMotionListener(mouse);
+            addMouseWheelListener(mouse);
+            addComponentListener(new ComponentAdapter() {
+                @Override
+                public void componentResized(ComponentEvent e) {
+                    requestRender();
+                }
+            });
+        }
+
+        @Override
+        protected void paintComponent(Graphics graphics) {
+            Graphics2D g = (Graphics2D) graphics;
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, getWidth(), getHeight());
+            RenderedFrame current = frame;
+            if (current == null || view == null) {
+                g.setColor(Color.GRAY);
+                g.drawString("Choose a range and press Plot.", 10, 20);
+                return;
+            }
+            // Map the rendered view onto the current one until a new frame arrives
+            View from = current.view;
+            int imageWidth = current.image.getWidth();
+            int imageHeight = current.image.getHeight();
+            double scaleX = (from.right - from.left) / (view.right - view.left) * getWidth() / imageWidth;
+            double scaleY = (from.top - from.bottom) / (view.top - view.bottom) * getHeight() / imageHeight;
+            double shiftX = view.toPixelX(from.left, getWidth());
+            double shiftY = view.toPixelY(from.top, getHeight());
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(current.image, new AffineTransform(scaleX, 0.0, 0.0, scaleY, shiftX, shiftY), null);
+        }
+    }
+
+    /**
+     * A rectangle of the plot in data coordinates: left to right along the
+     * varying input, bottom to top in value.
+     */
+    static final class View {
+        final double left;
+        final double right;
+        final double bottom;
+        final double top;
+
+        View(double left, double right, double bottom, double top) {
+            this.left = left;
+            this.right = right;
+            this.bottom = bottom;
+            this.top = top;
+        }
+
+        double toPixelX(double t, int width) {
+            return (t - left) / (right - left) * width;
+        }
+
+        double toPixelY(double value, int height) {
+            return (top - value) / (top - bottom) * height;
+        }
+
+        /**
+         * The view moved so content follows a drag of (dx, dy) pixels.
+         */
+        View pan(int dx, int dy, int width, int height) {
+            double shiftX = -dx * (right - left) / width;
+            double shiftY = dy * (top - bottom) / height;
+            return new View(left + shiftX, right + shiftX, bottom + shiftY, top + shiftY);
+        }
+
+        /**
+         * The view scaled by factor about the pixel (px, py); factors below
+         * one zoom in.
+         */
+        View zoom(int px, int py, double factor, int width, int height) {
+            double t = left + (right - left) * px / width;
+            double value = top - (top - bottom) * py / height;
+            View zoomed = new View(t + (left - t) * factor, t + (right - t) * factor,
+                    value + (bottom - value) * factor, value + (top - value) * factor);
+            // Stop where the samples would run out of double precision
+            double span = zoomed.right - zoomed.left;
+            return span > Math.ulp(Math.max(Math.abs(t), Double.MIN_NORMAL)) * width
+                    && zoomed.top - zoomed.bottom > 0.0 && Double.isFinite(span) ? zoomed : this;
+        }
+    }
+
+    private static final class Request {
+        final PlotSampler sampler;
+        final View view;
+        final int width;
+        final int height;
+
+        Request(PlotSampler sampler, View view, int width, int height) {
+            this.sampler = sampler;
+            this.view = view;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    /**
+     * A finished pass and the view it shows.
+     */
+    private static final class RenderedFrame {
+        final BufferedImage image;
+        final View view;
+
+        RenderedFrame(BufferedImage image, View view) {
+            this.image = image;
+            this.view = view;
+        }
+    }
+}
@@ -0,0 +1,487 @@
+package com.example;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * A {@link Flow.Processor} that evaluates (x, y) requests in micro-batches.
+ *
+ * <p>Requests are collected until a batch holds maxBatch of them or the
+ * first one has waited for the time window, then the whole batch goes
+ * through the bulk status kernel
+ * {@link PowerCalculator#power(double[], int, double[], int, double[], int, byte[], int, int)}.
+ * Every request produces one {@link Result} in order; invalid inputs give a
+ * result with an error status rather than failing the stream.
+ *
+ * <p>Backpressure runs both ways: results are only delivered against the
+ * subscriber's demand, and the processor only requests more from upstream
+ * while fewer than capacity requests are queued or outstanding. All
+ * batching and delivery happens in a serialized drain loop on the
+ * executor, so signals may arrive from any thread. One subscriber is
+ * supported; later ones receive onError.
+ */
+public final class PowerProcessor implements Flow.Processor<PowerProcessor.Request, PowerProcessor.Result>,
+        PowerProcessorMBean {
+
+    static final int DEFAULT_MAX_BATCH = 256;
+    static final Duration DEFAULT_WINDOW = Duration.ofMillis(1);
+    static final int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * One x^y evaluation to perform.
+     */
+    public static final class Request {
+        private final double x;
+        private final double y;
+
+        /**
+         * @param x The base value.
+         * @param y The exponent value.
+         */
+        public Request(double x, double y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        public double x() {
+            return x;
+        }
+
+        public double y() {
+            return y;
+        }
+
+        @Override
+        public String toString() {
+            return x + "^" + y;
+        }
+    }
+
+    /**
+     * The outcome of one request: its value, or NaN and an error status.
+     */
+    public static final class Result {
+        private final double x;
+        private final double y;
+        private final double value;
+        private final byte status;
+
+        Result(double x, double y, double value, byte status) {
+            this.x = x;
+            this.y = y;
+            this.value = value;
+            this.status = status;
+        }
+
+        public double x() {
+            return x;
+        }
+
+        public double y() {
+            return y;
+        }
+
+        /**
+         * @return x^y, or NaN if the request was invalid.
+         */
+        public double value() {
+            return value;
+        }
+
+        /**
+         * @return A {@link PowerStatus} code.
+         */
+        public byte status() {
+            return status;
+        }
+
+        public boolean isOk() {
+            return status == PowerStatus.OK;
+        }
+
+        /**
+         * @return The error message, or null for a valid request.
+         */
+        public String error() {
+            return isOk() ? null : PowerStatus.message(status);
+        }
+
+        @Override
+        public String toString() {
+            return x + "^" + y + " = " + (isOk() ? Double.toString(value) : error());
+        }
+    }
+
+    private final int maxBatch;
+    private final long windowNanos;
+    private final int capacity;
+    private final Executor executor;
+
+    // Signals, written by any thread
+    private final ConcurrentLinkedQueue<Request> inbox = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicReference<Flow.Subscriber<? super Result>> subscriber = new AtomicReference<>();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    /** Set once the subscriber's onSubscribe has returned, so no signal can precede it. */
+    private volatile Flow.Subscriber<? super Result> downstream;
+    private volatile Flow.Subscription upstream;
+    private volatile boolean timerFired;
+    private volatile boolean upstreamDone;
+    private volatile Throwable upstreamError;
+    private volatile Throwable demandError;
+    private volatile boolean cancelled;
+
+    // Drain loop state
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] values;
+    private final byte[] statuses;
+    private final ArrayDeque<Result> outbox = new ArrayDeque<>();
+    private int batchSize;
+    private long batchDeadline;
+    private boolean timerArmed;
+    private long upstreamOutstanding;
+    private boolean terminated;
+
+    // Metrics, written only by the drain loop
+    private volatile long batches;
+    private volatile long elements;
+    private volatile int largestBatch;
+    private volatile long windowFlushes;
+
+    /**
+     * A processor with batches of up to {@value #DEFAULT_MAX_BATCH}, a 1 ms
+     * window and a capacity of {@value #DEFAULT_CAPACITY}, draining on the
+     * common fork/join pool.
+     */
+    public PowerProcessor() {
+        this(DEFAULT_MAX_BATCH, DEFAULT_WINDOW, DEFAULT_CAPACITY, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param maxBatch The most requests evaluated together.
+     * @param window   The longest a request waits for its batch to fill;
+     *                 zero evaluates whatever has arrived on every drain.
+     * @param capacity The most requests buffered or requested from upstream;
+     *                 at least maxBatch.
+     * @param executor Runs the drain loop and the downstream signals.
+     * @throws IllegalArgumentException if maxBatch is not positive, the
+     *                                  window is negative, or capacity is
+     *                                  below maxBatch.
+     */
+    public PowerProcessor(int maxBatch, Duration window, int capacity, Executor executor) {
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive.");
+        }
+        if (window.isNegative()) {
+            throw new IllegalArgumentException("Window must not be negative.");
+        }
+        if (capacity < maxBatch) {
+            throw new IllegalArgumentException("Capacity must be at least the batch size.");
+        }
+        this.maxBatch = maxBatch;
+        this.windowNanos = window.toNanos();
+        this.capacity = capacity;
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.xs = new double[maxBatch];
+        this.ys = new double[maxBatch];
+        this.values = new double[maxBatch];
+        this.statuses = new byte[maxBatch];
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Result> next) {
+        Objects.requireNonNull(next, "subscriber");
+        if (!subscriber.compareAndSet(null, next)) {
+            next.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    // Already failed
+                }
+
+                @Override
+                public void cancel() {
+                    // Already failed
+                }
+            });
+            next.onError(new IllegalStateException("PowerProcessor supports a single subscriber."));
+            return;
+        }
+        next.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    demandError = new IllegalArgumentException("Demand must be positive, got " + n + ".");
+                } else {
+                    demand.getAndAccumulate(n, (current, added) -> current + added < 0
+                            ? Long.MAX_VALUE : current + added);
+                }
+                drain();
+            }
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+                drain();
+            }
+        });
+        downstream = next;
+        drain();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (upstream != null) {
+            subscription.cancel();
+            return;
+        }
+        upstream = subscription;
+        drain();
+    }
+
+    @Override
+    public void onNext(Request item) {
+        inbox.offer(Objects.requireNonNull(item, "item"));
+        queueDepth.incrementAndGet();
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        upstreamError = Objects.requireNonNull(throwable, "throwable");
+        upstreamDone = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        upstreamDone = true;
+        drain();
+    }
+
+    /**
+     * Registers this processor with the platform MBean server.
+     *
+     * @param name Distinguishes this processor from others in the ObjectName.
+     * @return Whether it is registered after the call.
+     */
+    public boolean register(String name) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = new ObjectName("com.example:type=PowerProcessor,name="
+                    + ObjectName.quote(name));
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(this, objectName);
+            }
+            return true;
+        } catch (JMException ex) {
+            return false;
+        }
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public long getBatches() {
+        return batches;
+    }
+
+    @Override
+    public long getElements() {
+        return elements;
+    }
+
+    @Override
+    public int getLargestBatch() {
+        return largestBatch;
+    }
+
+    @Override
+    public double getMeanBatchSize() {
+        long count = batches;
+        return count == 0 ? 0.0 : (double) elements / count;
+    }
+
+    @Override
+    public long getWindowFlushes() {
+        return windowFlushes;
+    }
+
+    /**
+     * Schedules the drain loop unless it is already running; a running
+     * loop sees the new signal before it exits.
+     */
+    private void drain() {
+        if (wip.getAndIncrement() == 0) {
+            executor.execute(this::drainLoop);
+        }
+    }
+
+    private void drainLoop() {
+        int missed = 1;
+        do {
+            // Nothing happens until onSubscribe has returned; subscribe drains again then
+            if (!terminated && downstream != null) {
+                if (cancelled || demandError != null) {
+                    stop();
+                } else {
+                    // Read before polling, so every request sent before completion is seen
+                    boolean finished = upstreamDone;
+                    collect(finished);
+                    emit(finished);
+                    if (cancelled) {
+                        stop();
+                    } else if (!finished && !terminated) {
+                        requestMore();
+                    }
+                }
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * Moves arrived requests into batches, evaluating each batch once it is
+     * full, its window has passed, or upstream has finished.
+     */
+    private void collect(boolean finished) {
+        Request request;
+        while ((request = inbox.poll()) != null) {
+            upstreamOutstanding--;
+            if (batchSize == 0) {
+                batchDeadline = System.nanoTime() + windowNanos;
+            }
+            xs[batchSize] = request.x;
+            ys[batchSize] = request.y;
+            batchSize++;
+            if (batchSize == maxBatch) {
+                flush();
+            }
+        }
+        if (timerFired) {
+            // Possibly a timer of an earlier batch; re-armed below if still needed
+            timerFired = false;
+            timerArmed = false;
+        }
+        if (batchSize == 0) {
+            return;
+        }
+        long remaining = batchDeadline - System.nanoTime();
+        if (finished || remaining <= 0) {
+            if (!finished) {
+                windowFlushes++;
+            }
+            flush();
+        } else if (!timerArmed) {
+            timerArmed = true;
+            CompletableFuture.delayedExecutor(remaining, TimeUnit.NANOSECONDS, executor).execute(() -> {
+                timerFired = true;
+                drain();
+            });
+        }
+    }
+
+    private void flush() {
+        PowerCalculator.power(xs, 0, ys, 0, values, 0, statuses, 0, batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            outbox.add(new Result(xs[i], ys[i], values[i], statuses[i]));
+        }
+        batches++;
+        elements += batchSize;
+        largestBatch = Math.max(largestBatch, batchSize);
+        batchSize = 0;
+        timerArmed = false;
+    }
+
+    /**
+     * Delivers results against demand, then the terminal signal once
+     * everything has been delivered.
+     */
+    private void emit(boolean finished) {
+        Flow.Subscriber<? super Result> target = downstream;
+        if (target == null) {
+            return;
+        }
+        long requested = demand.get();
+        long emitted = 0;
+        while (emitted != requested && !outbox.isEmpty() && !cancelled) {
+            Result result = outbox.poll();
+            queueDepth.decrementAndGet();
+            emitted++;
+            try {
+                target.onNext(result);
+            } catch (RuntimeException ex) {
+                // A throwing subscriber is treated as cancelled
+                cancelled = true;
+            }
+        }
+        if (emitted > 0 && requested != Long.MAX_VALUE) {
+            demand.addAndGet(-emitted);
+        }
+        if (finished && !cancelled && batchSize == 0 && outbox.isEmpty() && inbox.isEmpty()) {
+            terminated = true;
+            Throwable error = upstreamError;
+            if (error != null) {
+                target.onError(error);
+            } else {
+                target.onComplete();
+            }
+        }
+    }
+
+    /**
+     * Tops the requests outstanding upstream up to capacity, in steps of
+     * at least a quarter of it so upstream is not asked one at a time.
+     */
+    private void requestMore() {
+        Flow.Subscription subscription = upstream;
+        if (subscription == null) {
+            return;
+        }
+        long room = capacity - (long) queueDepth.get() - upstreamOutstanding;
+        if (room > 0 && (room >= capacity / 4 || upstreamOutstanding == 0)) {
+            upstreamOutstanding += room;
+            subscription.request(room);
+        }
+    }
+
+    private void stop() {
+        terminated = true;
+        Flow.Subscription subscription = upstream;
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        inbox.clear();
+        outbox.clear();
+        batchSize = 0;
+        queueDepth.set(0);
+        Throwable error = demandError;
+        Flow.Subscriber<? super Result> target = downstream;
+        if (error != null && target != null && !cancelled) {
+            target.onError(error);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example;
+
+/**
+ * JMX view of one {@link PowerProcessor}, registered as
+ * {@code com.example:type=PowerProcessor,name=<name>} by
+ * {@link PowerProcessor#register(String)}.
+ */
+public interface PowerProcessorMBean {
+
+    /** Requests received but not yet delivered downstream. */
+    int getQueueDepth();
+
+    /** The most requests the processor buffers before it stops requesting more. */
+    int getCapacity();
+
+    /** Batches evaluated so far. */
+    long getBatches();
+
+    /** Requests evaluated so far. */
+    long getElements();
+
+    /** The largest batch evaluated so far. */
+    int getLargestBatch();
+
+    /** Mean requests per batch, or 0 before the first batch. */
+    double getMeanBatchSize();
+
+    /** Batches flushed by the time window before they were full. */
+    long getWindowFlushes();
+}
@@ -0,0 +1,298 @@
+package com.example;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embedded HTTP service for {@link PowerCalculator}, built on the JDK's
+ * {@code com.sun.net.httpserver}.
+ *
+ * <p>Endpoints:
+ * <ul>
+ *   <li>{@code GET /power?x=2&y=0.5} or {@code POST /power} with
+ *       {@code {"x":2,"y":0.5}} returns {@code {"result":1.4142135623730951}}.
+ *       Inputs without a real result get 422 and {@code {"error":"..."}}.</li>
+ *   <li>{@code POST /power/batch} with {@code {"xs":[...],"ys":[...]}}
+ *       returns {@code {"results":[...],"errors":[{"index":i,"error":"..."}]}},
+ *       where invalid elements are null in results. The arrays go through the
+ *       bulk {@link PowerCalculator#power(double[], double[], double[])}.</li>
+ * </ul>
+ * Malformed requests get 400. Every response carries a Content-Length, so
+ * connections stay open for keep-alive clients.
+ *
+ * <p>Handlers run on virtual threads when the JDK provides them (Java 21+,
+ * looked up reflectively so the class still runs on Java 11), and on a
+ * fixed pool of platform threads otherwise.
+ */
+final class PowerServer {
+
+    /** Largest accepted request body, in bytes. */
+    static final int MAX_BODY = 64 << 20;
+
+    /** Largest accepted batch, in elements. */
+    static final int MAX_BATCH = 1 << 20;
+
+    private static final int BACKLOG = 1024;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+
+    /**
+     * Binds the server; call {@link #start} to begin serving.
+     *
+     * @param address The address to listen on; port 0 picks a free port.
+     * @throws IOException if the address cannot be bound.
+     */
+    PowerServer(InetSocketAddress address) throws IOException {
+        server = HttpServer.create(address, BACKLOG);
+        ExecutorService virtual = newVirtualThreadExecutor();
+        virtualThreads = virtual != null;
+        executor = virtualThreads ? virtual : newPlatformThreadExecutor();
+        server.setExecutor(executor);
+        server.createContext("/power", this::handlePower);
+        server.createContext("/power/batch", this::handleBatch);
+    }
+
+    void start() {
+        server.start();
+    }
+
+    /**
+     * Stops accepting requests and waits up to delaySeconds for running
+     * exchanges to finish.
+     */
+    void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    /**
+     * The bound port, useful when the server was created with port 0.
+     */
+    int port() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Whether handlers run on virtual threads.
+     */
+    boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    private void handlePower(HttpExchange exchange) throws IOException {
+        try {
+            if (!"/power".equals(exchange.getRequestURI().getPath())) {
+                sendError(exchange, 404, "Not found.");
+                return;
+            }
+            double[] pair = new double[2];
+            String method = exchange.getRequestMethod();
+            if ("GET".equals(method)) {
+                readQuery(exchange.getRequestURI().getRawQuery(), pair);
+            } else if ("POST".equals(method)) {
+                byte[] body = readBody(exchange);
+                if (body == null) {
+                    return;
+                }
+                PowerJson.readPair(body, body.length, pair);
+            } else {
+                exchange.getResponseHeaders().set("Allow", "GET, POST");
+                sendError(exchange, 405, "Use GET or POST.");
+                return;
+            }
+
+            byte status = PowerCalculator.status(pair[0], pair[1]);
+            if (status != PowerStatus.OK) {
+                sendError(exchange, 422, PowerStatus.message(status));
+                return;
+            }
+            PowerJson.Writer writer = new PowerJson.Writer(48);
+            writer.write("{\"result\":").number(PowerCalculator.tryPower(pair[0], pair[1])).write('}');
+            send(exchange, 200, writer);
+        } catch (IllegalArgumentException ex) {
+            sendError(exchange, 400, ex.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleBatch(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                sendError(exchange, 405, "Use POST.");
+                return;
+            }
+            byte[] body = readBody(exchange);
+            if (body == null) {
+                return;
+            }
+            double[][] in = PowerJson.readBatch(body, body.length, MAX_BATCH);
+            double[] xs = in[0];
+            double[] ys = in[1];
+            double[] out = new double[xs.length];
+            PowerCalculator.power(xs, ys, out);
+
+            PowerJson.Writer writer = new PowerJson.Writer(24 * out.length + 32);
+            writer.write("{\"results\":[");
+            int errors = 0;
+            for (int i = 0; i < out.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                // NaN is either an error or the genuine result of a NaN input
+                if (out[i] != out[i] && PowerCalculator.status(xs[i], ys[i]) != PowerStatus.OK) {
+                    writer.write("null");
+                    errors++;
+                } else {
+                    writer.number(out[i]);
+                }
+            }
+            writer.write("],\"errors\":[");
+            if (errors > 0) {
+                boolean first = true;
+                for (int i = 0; i < out.length; i++) {
+                    byte status = out[i] != out[i] ? PowerCalculator.status(xs[i], ys[i]) : PowerStatus.OK;
+                    if (status != PowerStatus.OK) {
+                        if (!first) {
+                            writer.write(',');
+                        }
+                        first = false;
+                        writer.write("{\"index\":").number((long) i)
+                                .write(",\"error\":").string(PowerStatus.message(status)).write('}');
+                    }
+                }
+            }
+            writer.write("]}");
+            send(exchange, 200, writer);
+        } catch (IllegalArgumentException ex) {
+            sendError(exchange, 400, ex.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Reads x and y from a query string such as {@code x=2&y=0.5}.
+     */
+    private static void readQuery(String query, double[] pair) {
+        boolean seenX = false;
+        boolean seenY = false;
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                int equals = parameter.indexOf('=');
+                String name = equals < 0 ? parameter : parameter.substring(0, equals);
+                String value = equals < 0 ? "" : URLDecoder.decode(
+                        parameter.substring(equals + 1), StandardCharsets.UTF_8).trim();
+                if ("x".equals(name) || "y".equals(name)) {
+                    double number;
+                    try {
+                        number = Double.parseDouble(value);
+                    } catch (NumberFormatException ex) {
+                        throw new IllegalArgumentException("Invalid number for " + name + ".");
+                    }
+                    if ("x".equals(name)) {
+                        pair[0] = number;
+                        seenX = true;
+                    } else {
+                        pair[1] = number;
+                        seenY = true;
+                    }
+                }
+            }
+        }
+        if (!seenX || !seenY) {
+            throw new IllegalArgumentException("Both x and y are required.");
+        }
+    }
+
+    /**
+     * Reads the whole request body, presized from Content-Length when the
+     * client sends one.
+     *
+     * @return The body, or null after a 413 response.
+     */
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        String declared = exchange.getRequestHeaders().getFirst("Content-Length");
+        long length = -1;
+        if (declared != null) {
+            try {
+                length = Long.parseLong(declared.trim());
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid Content-Length.");
+            }
+        }
+        if (length > MAX_BODY) {
+            sendError(exchange, 413, "Request body exceeds " + MAX_BODY + " bytes.");
+            return null;
+        }
+
+        InputStream in = exchange.getRequestBody();
+        if (length >= 0) {
+            byte[] body = in.readNBytes((int) length);
+            if (body.length != length) {
+                throw new IllegalArgumentException("Request body is shorter than its Content-Length.");
+            }
+            return body;
+        }
+        byte[] body = in.readNBytes(MAX_BODY + 1);
+        if (body.length > MAX_BODY) {
+            sendError(exchange, 413, "Request body exceeds " + MAX_BODY + " bytes.");
+            return null;
+        }
+        return body;
+    }
+
+    private static void sendError(HttpExchange exchange, int code, String message) throws IOException {
+        PowerJson.Writer writer = new PowerJson.Writer(message.length() + 16);
+        writer.write("{\"error\":").string(message).write('}');
+        send(exchange, code, writer);
+    }
+
+    private static void send(HttpExchange exchange, int code, PowerJson.Writer writer) throws IOException {
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(code, writer.length());
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(writer.bytes(), 0, writer.length());
+        }
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor(), or null when the JDK has
+     * no virtual threads.
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            // Java 11-18 lack the method; 19 and 20 throw unless preview is enabled
+            return null;
+        }
+    }
+
+    private static ExecutorService newPlatformThreadExecutor() {
+        AtomicInteger count = new AtomicInteger();
+        int threads = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+        return Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "power-server-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
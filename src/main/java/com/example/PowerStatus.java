@@ -0,0 +1,49 @@
+package com.example;
+
+/**
+ * Compact status codes for the non-throwing power API.
+ * Each invalid case that {@link PowerCalculator#power} reports with an
+ * IllegalArgumentException has a code here, so callers handling dirty data
+ * can classify rows without ever allocating an exception.
+ */
+public final class PowerStatus {
+
+    /** The result is valid. */
+    public static final byte OK = 0;
+
+    /** FR-XY-003: 0 raised to a negative power. */
+    public static final byte ZERO_NEGATIVE_POWER = 1;
+
+    /** FR-XY-003: Negative base with a non-integer exponent. */
+    public static final byte COMPLEX_RESULT = 2;
+
+    static final String ZERO_NEGATIVE_POWER_MESSAGE = "0 raised to a negative power is undefined.";
+
+    static final String COMPLEX_RESULT_MESSAGE =
+            "Negative base with a non-integer exponent results in a complex number,"
+                    + " which is not supported.";
+
+    private PowerStatus() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * The error message used by {@link PowerCalculator#power} for a status.
+     *
+     * @param status A status code.
+     * @return The message, or an empty string for {@link #OK}.
+     * @throws IllegalArgumentException for an unknown code.
+     */
+    public static String message(byte status) {
+        switch (status) {
+            case OK:
+                return "";
+            case ZERO_NEGATIVE_POWER:
+                return ZERO_NEGATIVE_POWER_MESSAGE;
+            case COMPLEX_RESULT:
+                return COMPLEX_RESULT_MESSAGE;
+            default:
+                throw new IllegalArgumentException("Unknown power status: " + status);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SocketChannel;
+import java.util.Objects;
+
+/**
+ * Blocking client for the binary protocol of {@link PowerTcpServer}.
+ *
+ * <p>{@link #power(double, double)} makes one round trip. The bulk
+ * {@link #power(double[], double[], double[], byte[])} pipelines its
+ * requests, keeping up to {@link #MAX_IN_FLIGHT} frames outstanding so the
+ * connection never waits on a single round trip. A client is not thread
+ * safe; use one per thread.
+ */
+public final class PowerTcpClient implements Closeable {
+
+    /** Requests sent ahead of their responses by the bulk call. */
+    static final int MAX_IN_FLIGHT = 1024;
+
+    private static final int CHUNK_FRAMES = MAX_IN_FLIGHT / 4;
+
+    private final SocketChannel channel;
+    private final ByteBuffer requests = ByteBuffer.allocateDirect(CHUNK_FRAMES * PowerTcpServer.REQUEST_BYTES)
+            .order(ByteOrder.LITTLE_ENDIAN);
+    private final ByteBuffer responses = ByteBuffer.allocateDirect(MAX_IN_FLIGHT * PowerTcpServer.RESPONSE_BYTES)
+            .order(ByteOrder.LITTLE_ENDIAN);
+    private long nextId;
+
+    /**
+     * Connects to a server.
+     *
+     * @param address The server address.
+     * @throws IOException if the connection fails.
+     */
+    public PowerTcpClient(InetSocketAddress address) throws IOException {
+        channel = SocketChannel.open(address);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+    }
+
+    /**
+     * Calculates x^y on the server.
+     *
+     * @param x The base value.
+     * @param y The exponent value.
+     * @return The result of x^y.
+     * @throws IllegalArgumentException for the same inputs as
+     *                                  {@link PowerCalculator#power(double, double)}.
+     * @throws IOException if the connection fails.
+     */
+    public double power(double x, double y) throws IOException {
+        long id = nextId++;
+        requests.clear();
+        requests.putLong(id).putDouble(x).putDouble(y);
+        send();
+        responses.clear();
+        receive(PowerTcpServer.RESPONSE_BYTES);
+        responses.flip();
+        checkId(id, responses.getLong());
+        double result = responses.getDouble();
+        byte status = responses.get();
+        if (status != PowerStatus.OK) {
+            throw new IllegalArgumentException(PowerStatus.message(status));
+        }
+        return result;
+    }
+
+    /**
+     * Calculates xs[i]^ys[i] on the server for every i, pipelining the
+     * requests. Invalid elements get NaN and their status code, as in
+     * {@link PowerCalculator#power(double[], double[], double[], byte[])}.
+     *
+     * @param xs     The base values.
+     * @param ys     The exponent values.
+     * @param out    Receives the results.
+     * @param status Receives a {@link PowerStatus} code per element.
+     * @throws IllegalArgumentException if the arrays differ in length.
+     * @throws IOException if the connection fails.
+     */
+    public void power(double[] xs, double[] ys, double[] out, byte[] status) throws IOException {
+        Objects.requireNonNull(status, "status");
+        if (xs.length != ys.length || xs.length != out.length || xs.length != status.length) {
+            throw new IllegalArgumentException("Input and output arrays must have the same length.");
+        }
+        long firstId = nextId;
+        nextId += xs.length;
+        int sent = 0;
+        int received = 0;
+        responses.clear();
+        while (received < xs.length) {
+            int chunk = Math.min(CHUNK_FRAMES, xs.length - sent);
+            if (chunk > 0 && sent - received + chunk <= MAX_IN_FLIGHT) {
+                requests.clear();
+                for (int i = sent; i < sent + chunk; i++) {
+                    requests.putLong(firstId + i).putDouble(xs[i]).putDouble(ys[i]);
+                }
+                send();
+                sent += chunk;
+                continue;
+            }
+
+            // Read whatever has arrived, then decode the complete frames
+            if (channel.read(responses) < 0) {
+                throw new EOFException("Server closed the connection.");
+            }
+            responses.flip();
+            while (responses.remaining() >= PowerTcpServer.RESPONSE_BYTES) {
+                checkId(firstId + received, responses.getLong());
+                out[received] = responses.getDouble();
+                status[received] = responses.get();
+                received++;
+            }
+            responses.compact();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void send() throws IOException {
+        requests.flip();
+        while (requests.hasRemaining()) {
+            channel.write(requests);
+        }
+    }
+
+    private void receive(int bytes) throws IOException {
+        while (responses.position() < bytes) {
+            if (channel.read(responses) < 0) {
+                throw new EOFException("Server closed the connection.");
+            }
+        }
+    }
+
+    private static void checkId(long expected, long actual) throws IOException {
+        if (expected != actual) {
+            throw new IOException("Expected response " + expected + " but received " + actual + ".");
+        }
+    }
+}
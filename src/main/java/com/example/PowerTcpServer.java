@@ -0,0 +1,222 @@
+package com.example;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+
+/**
+ * Binary TCP service for {@link PowerCalculator}, served by one
+ * non-blocking NIO selector thread.
+ *
+ * <p>All values are little-endian. A request frame is 24 bytes (long id,
+ * double x, double y); the matching response frame is 17 bytes (long id,
+ * double result, byte {@link PowerStatus} code). Invalid inputs get NaN and
+ * their status code. Clients may pipeline any number of requests on one
+ * connection; responses come back in request order.
+ *
+ * <p>Each read decodes every complete frame in the connection's direct
+ * buffer and evaluates them as one batch through the bulk
+ * {@link PowerCalculator#power(double[], int, double[], int, double[], int, int)}.
+ * While a connection has responses the socket has not accepted yet, it is
+ * not read, so a client that stops reading is throttled by TCP flow control
+ * instead of growing server buffers.
+ */
+final class PowerTcpServer {
+
+    static final int REQUEST_BYTES = 24;
+    static final int RESPONSE_BYTES = 17;
+
+    /** Frames decoded per read, which bounds each connection's buffers. */
+    static final int BATCH_FRAMES = 4096;
+
+    private final Selector selector;
+    private final ServerSocketChannel listener;
+    private final Thread thread;
+
+    // Batch scratch space, only touched by the selector thread
+    private final long[] ids = new long[BATCH_FRAMES];
+    private final double[] xs = new double[BATCH_FRAMES];
+    private final double[] ys = new double[BATCH_FRAMES];
+    private final double[] results = new double[BATCH_FRAMES];
+
+    private volatile boolean running;
+
+    /**
+     * Binds the server; call {@link #start} to begin serving.
+     *
+     * @param address The address to listen on; port 0 picks a free port.
+     * @throws IOException if the address cannot be bound.
+     */
+    PowerTcpServer(InetSocketAddress address) throws IOException {
+        selector = Selector.open();
+        listener = ServerSocketChannel.open();
+        try {
+            listener.bind(address, 1024);
+            listener.configureBlocking(false);
+            listener.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException ex) {
+            listener.close();
+            selector.close();
+            throw ex;
+        }
+        thread = new Thread(this::serve, "power-tcp-selector");
+        thread.setDaemon(true);
+    }
+
+    void start() {
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * Closes the listener and every open connection.
+     */
+    void stop() {
+        running = false;
+        if (thread.getState() == Thread.State.NEW) {
+            // Never started, so release the listener here
+            closeAll();
+            return;
+        }
+        selector.wakeup();
+        try {
+            thread.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The bound port, useful when the server was created with port 0.
+     */
+    int port() {
+        return listener.socket().getLocalPort();
+    }
+
+    private void serve() {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    try {
+                        if (key.isAcceptable()) {
+                            accept();
+                        } else if (key.isWritable()) {
+                            flush(key);
+                        } else if (key.isReadable()) {
+                            read(key);
+                        }
+                    } catch (IOException ex) {
+                        // The peer went away or broke the connection; drop it
+                        closeQuietly(key);
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException ex) {
+            // Fall through to shut down
+        } finally {
+            closeAll();
+        }
+    }
+
+    private void closeAll() {
+        try {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key);
+            }
+            selector.close();
+        } catch (IOException | ClosedSelectorException ex) {
+            // Nothing left to release
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = listener.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        channel.register(selector, SelectionKey.OP_READ, new Connection());
+    }
+
+    /**
+     * Decodes every complete frame, evaluates them as one batch and starts
+     * writing the responses.
+     */
+    private void read(SelectionKey key) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        Connection connection = (Connection) key.attachment();
+        ByteBuffer in = connection.in;
+        if (channel.read(in) < 0) {
+            closeQuietly(key);
+            return;
+        }
+
+        in.flip();
+        int count = in.remaining() / REQUEST_BYTES;
+        for (int i = 0; i < count; i++) {
+            ids[i] = in.getLong();
+            xs[i] = in.getDouble();
+            ys[i] = in.getDouble();
+        }
+        // Keep any partial frame for the next read
+        in.compact();
+        if (count == 0) {
+            return;
+        }
+
+        PowerCalculator.power(xs, 0, ys, 0, results, 0, count);
+        ByteBuffer out = connection.out;
+        for (int i = 0; i < count; i++) {
+            double result = results[i];
+            // NaN is either an error or the genuine result of a NaN input
+            byte status = result != result ? PowerCalculator.status(xs[i], ys[i]) : PowerStatus.OK;
+            out.putLong(ids[i]).putDouble(result).put(status);
+        }
+        flush(key);
+    }
+
+    /**
+     * Writes pending responses, reading again only once they are all sent.
+     */
+    private static void flush(SelectionKey key) throws IOException {
+        ByteBuffer out = ((Connection) key.attachment()).out;
+        out.flip();
+        ((SocketChannel) key.channel()).write(out);
+        out.compact();
+        key.interestOps(out.position() > 0 ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+    }
+
+    private static void closeQuietly(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException ex) {
+            // Already broken
+        }
+    }
+
+    /**
+     * Per-connection buffers. The output buffer holds the responses to one
+     * full input buffer, so a batch always fits once earlier responses are
+     * sent.
+     */
+    private static final class Connection {
+        final ByteBuffer in = ByteBuffer.allocateDirect(BATCH_FRAMES * REQUEST_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        final ByteBuffer out = ByteBuffer.allocateDirect(BATCH_FRAMES * RESPONSE_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example;
+
+/**
+ * Entry point for the SIMD bulk kernel.
+ *
+ * <p>This is the Java 11 version, which has no kernel. On Java 17 and later
+ * the multi-release JAR replaces it with the version under
+ * {@code META-INF/versions/17}, which uses the incubating Vector API when
+ * the {@code jdk.incubator.vector} module has been added.
+ */
+final class VectorSupport {
+
+    /**
+     * Whether {@link #power} may be called. Initialized by a method call so
+     * javac cannot inline the value into callers compiled against this class.
+     */
+    static final boolean AVAILABLE = detect();
+
+    private VectorSupport() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * STANDARD-tier bulk power, bit-for-bit identical to the scalar path.
+     * Never called on this version, since {@link #AVAILABLE} is false.
+     */
+    static void power(double[] xs, int xOffset, double[] ys, int yOffset,
+            double[] out, int outOffset, int length) {
+        throw new UnsupportedOperationException("No vector kernel on this Java version.");
+    }
+
+    private static boolean detect() {
+        return false;
+    }
+}
@@ -0,0 +1,313 @@
+package com.example;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * STANDARD-tier bulk power on the incubating Vector API.
+ *
+ * <p>Every lane performs the operations of {@link LogEngine#lnExtended},
+ * {@link PowerCalculator#exponentialOfProduct} and
+ * {@link ExpEngine#exp(double, double)} in the same order, with the table
+ * lookups done as gathers, so each result is bit-for-bit identical to the
+ * scalar path. Lanes outside the common case are recomputed with
+ * {@link PowerCalculator#tryPower}: non-positive, subnormal or non-finite
+ * bases, x == 1, integer or non-finite exponents, and results near e^0 or
+ * near the overflow and underflow limits.
+ *
+ * <p>Work is done in blocks of up to {@link #BLOCK} elements, in four loops
+ * that pass their results through scratch arrays. One loop over all of it
+ * would exceed what C2 inlines into a single method, and every call left
+ * out of line boxes its vector arguments. The scratch arrays are allocated
+ * once per thread, so a bulk call does not allocate.
+ */
+final class VectorPowerKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INDEX_SPECIES =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(SPECIES.vectorBitSize() / 2));
+
+    private static final int TABLE_BITS = 7;
+    private static final int TABLE_MASK = (1 << TABLE_BITS) - 1;
+    private static final int MANTISSA_BITS = 52;
+    private static final int EXPONENT_BIAS = 1023;
+    private static final long MANTISSA_MASK = (1L << MANTISSA_BITS) - 1;
+    private static final long ONE_BITS = Double.doubleToRawLongBits(1.0);
+    private static final double SPLITTER = 134217729.0;
+
+    /** Every double of at least this magnitude is an integer. */
+    private static final double TWO_52 = 0x1p52;
+
+    /**
+     * Lanes whose e^x argument lies in this range end in a normal result,
+     * where ExpEngine.scale is a single multiply.
+     */
+    private static final double MIN_EXPONENT = -707.0;
+    private static final double MAX_EXPONENT = 708.0;
+
+    /** Elements per block, a multiple of every vector length. */
+    private static final int BLOCK = 256;
+
+    /**
+     * LogEngine's table with buckets 0 and 127 centred on c = 1. This
+     * reproduces the scalar near-one branch exactly, since the residual and
+     * ln(c) are then zero.
+     */
+    private static final double[] CENTER = centredOnOne(LogEngine.CENTER, 1.0);
+    private static final double[] INV_CENTER = centredOnOne(LogEngine.INV_CENTER, 1.0);
+    private static final double[] LOG_CENTER_HI = centredOnOne(LogEngine.LOG_CENTER_HI, 0.0);
+    private static final double[] LOG_CENTER_LO = centredOnOne(LogEngine.LOG_CENTER_LO, 0.0);
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private VectorPowerKernel() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * The number of doubles processed per vector.
+     */
+    static int lanes() {
+        return SPECIES.length();
+    }
+
+    /**
+     * Calculates xs[xOffset + i]^ys[yOffset + i] into out[outOffset + i]
+     * for i in [0, length), exactly as {@link PowerCalculator#tryPower}.
+     * The ranges must already have been checked.
+     */
+    static void power(double[] xs, int xOffset, double[] ys, int yOffset,
+            double[] out, int outOffset, int length) {
+        int lanes = SPECIES.length();
+        int vectorLength = length - length % lanes;
+        if (vectorLength > 0) {
+            Scratch scratch = SCRATCH.get();
+            double[] hi = scratch.hi;
+            double[] lo = scratch.lo;
+            double[] k = scratch.k;
+            int[] bucket = scratch.bucket;
+
+            for (int i = 0; i < vectorLength; i += BLOCK) {
+                int count = Math.min(BLOCK, vectorLength - i);
+                reduceBlock(xs, xOffset + i, hi, lo, k, bucket, count);
+                logBlock(hi, lo, k, bucket, count);
+                productBlock(xs, xOffset + i, ys, yOffset + i, hi, lo, bucket, count);
+                expBlock(xs, xOffset + i, ys, yOffset + i, hi, lo, out, outOffset + i, bucket, count);
+            }
+        }
+        for (int i = vectorLength; i < length; i++) {
+            out[outOffset + i] = PowerCalculator.tryPower(xs[xOffset + i], ys[yOffset + i]);
+        }
+    }
+
+    /**
+     * A copy of table with the entries for buckets 0 and 127 replaced.
+     */
+    private static double[] centredOnOne(double[] table, double value) {
+        double[] copy = table.clone();
+        copy[0] = value;
+        copy[TABLE_MASK] = value;
+        return copy;
+    }
+
+    /**
+     * The table reduction of LogEngine.lnExtended, x = 2^k * c * (1 + r + rLo),
+     * for count bases. Lanes that are not normal and positive produce
+     * garbage that productBlock discards.
+     */
+    private static void reduceBlock(double[] xs, int xOffset, double[] rOut, double[] rLoOut,
+            double[] kOut, int[] bucketOut, int count) {
+        for (int i = 0; i < count; i += SPECIES.length()) {
+            DoubleVector x = DoubleVector.fromArray(SPECIES, xs, xOffset + i);
+
+            // Bucket 127 is centred on 2, so halve m as the scalar code does
+            LongVector bits = x.reinterpretAsLongs();
+            LongVector bucket = bits.lanewise(VectorOperators.LSHR, MANTISSA_BITS - TABLE_BITS)
+                    .and(TABLE_MASK);
+            VectorMask<Long> top = bucket.compare(VectorOperators.EQ, TABLE_MASK);
+
+            bits.lanewise(VectorOperators.LSHR, MANTISSA_BITS).sub(EXPONENT_BIAS).add(1, top)
+                    .convert(VectorOperators.L2D, 0).reinterpretAsDoubles().intoArray(kOut, i);
+            DoubleVector m = bits.and(MANTISSA_MASK).or(ONE_BITS).reinterpretAsDoubles();
+            m = m.blend(m.mul(0.5), top.cast(SPECIES));
+
+            bucket.convertShape(VectorOperators.L2I, INDEX_SPECIES, 0).reinterpretAsInts()
+                    .intoArray(bucketOut, i);
+            DoubleVector c = DoubleVector.fromArray(SPECIES, CENTER, 0, bucketOut, i);
+            DoubleVector inverse = DoubleVector.fromArray(SPECIES, INV_CENTER, 0, bucketOut, i);
+
+            // d - r * c exactly, as in the scalar code
+            DoubleVector d = m.sub(c);
+            DoubleVector r = d.mul(inverse);
+            DoubleVector rHead = r.reinterpretAsLongs().and(~0x7FFFFFFL).reinterpretAsDoubles();
+            DoubleVector residual = d.sub(rHead.mul(c)).sub(r.sub(rHead).mul(c));
+            r.intoArray(rOut, i);
+            residual.mul(inverse).intoArray(rLoOut, i);
+        }
+    }
+
+    /**
+     * The series of LogEngine.lnExtended's STANDARD branch. Replaces r and
+     * rLo with the unnormalized sum s3 + lo.
+     */
+    private static void logBlock(double[] rIn, double[] rLoIn, double[] kIn, int[] bucketIn, int count) {
+        for (int i = 0; i < count; i += SPECIES.length()) {
+            DoubleVector r = DoubleVector.fromArray(SPECIES, rIn, i);
+            DoubleVector k = DoubleVector.fromArray(SPECIES, kIn, i);
+            DoubleVector logCHi = DoubleVector.fromArray(SPECIES, LOG_CENTER_HI, 0, bucketIn, i);
+
+            DoubleVector square = r.mul(r);
+            DoubleVector squareErr = twoProductError(r, r, square);
+            DoubleVector half = square.mul(0.5);
+
+            DoubleVector a = k.mul(LogEngine.LN2_HI);
+            DoubleVector s1 = a.add(logCHi);
+            DoubleVector e1 = twoSumError(a, logCHi, s1);
+            DoubleVector s2 = s1.add(r);
+            DoubleVector e2 = twoSumError(s1, r, s2);
+            DoubleVector s3 = s2.sub(half);
+            DoubleVector e3 = twoSumError(s2, half.neg(), s3);
+
+            DoubleVector r3 = square.mul(r);
+            DoubleVector lo = e1.add(e2).add(e3).add(k.mul(LogEngine.LN2_LO))
+                    .add(DoubleVector.fromArray(SPECIES, LOG_CENTER_LO, 0, bucketIn, i))
+                    .sub(squareErr.mul(0.5))
+                    .add(DoubleVector.fromArray(SPECIES, rLoIn, i).mul(r.neg().add(1.0).add(square)));
+            DoubleVector series = r.mul(1.0 / 9).add(-1.0 / 8);
+            series = r.mul(series).add(1.0 / 7);
+            series = r.mul(series).add(-1.0 / 6);
+            series = r.mul(series).add(1.0 / 5);
+            series = r.mul(series).add(-1.0 / 4);
+            series = r.mul(series).add(1.0 / 3);
+            lo = lo.add(r3.mul(series));
+
+            s3.intoArray(rIn, i);
+            lo.intoArray(rLoIn, i);
+        }
+    }
+
+    /**
+     * Normalizes ln(x) and forms y * ln(x) as hi + lo, as in
+     * PowerCalculator.exponentialOfProduct. hi is set to NaN in every lane
+     * the kernel does not cover.
+     */
+    private static void productBlock(double[] xs, int xOffset, double[] ys, int yOffset,
+            double[] sumIn, double[] loIn, int[] indexOut, int count) {
+        for (int i = 0; i < count; i += SPECIES.length()) {
+            DoubleVector x = DoubleVector.fromArray(SPECIES, xs, xOffset + i);
+            DoubleVector y = DoubleVector.fromArray(SPECIES, ys, yOffset + i);
+            DoubleVector sum = DoubleVector.fromArray(SPECIES, sumIn, i);
+            DoubleVector tail = DoubleVector.fromArray(SPECIES, loIn, i);
+
+            DoubleVector lnHi = sum.add(tail);
+            DoubleVector lnLo = twoSumError(sum, tail, lnHi);
+            DoubleVector hi = y.mul(lnHi);
+            DoubleVector lo = twoProductError(y, lnHi, hi).add(y.mul(lnLo));
+
+            // Normal, positive x other than 1; finite, non-integer y (below
+            // 2^52, adding and removing 2^52 rounds to the nearest integer);
+            // and an exponent that needs neither ExpEngine's 1 + x shortcut
+            // nor its overflow, underflow or subnormal handling
+            DoubleVector magnitude = y.abs();
+            VectorMask<Double> kernel = x.compare(VectorOperators.GE, Double.MIN_NORMAL)
+                    .and(x.compare(VectorOperators.LT, Double.POSITIVE_INFINITY))
+                    .and(x.compare(VectorOperators.NE, 1.0))
+                    .and(magnitude.compare(VectorOperators.LT, TWO_52))
+                    .and(magnitude.add(TWO_52).sub(TWO_52).compare(VectorOperators.NE, magnitude))
+                    .and(hi.compare(VectorOperators.GE, MIN_EXPONENT))
+                    .and(hi.compare(VectorOperators.LE, MAX_EXPONENT))
+                    .and(hi.abs().compare(VectorOperators.GE, ExpEngine.TINY));
+
+            hi.blend(Double.NaN, kernel.not()).intoArray(sumIn, i);
+            lo.intoArray(loIn, i);
+
+            // ExpEngine's table index j = k & 127, for the gathers in expBlock
+            hi.mul(ExpEngine.INV_LN2_N).add(ExpEngine.ROUND_SHIFT).reinterpretAsLongs().and(TABLE_MASK)
+                    .convertShape(VectorOperators.L2I, INDEX_SPECIES, 0).reinterpretAsInts()
+                    .intoArray(indexOut, i);
+        }
+    }
+
+    /**
+     * ExpEngine.exp(hi, lo) for the products from productBlock. NaN lanes
+     * are recomputed with the scalar path.
+     */
+    private static void expBlock(double[] xs, int xOffset, double[] ys, int yOffset,
+            double[] hiIn, double[] loIn, double[] out, int outOffset, int[] indexIn, int count) {
+        for (int i = 0; i < count; i += SPECIES.length()) {
+            DoubleVector hi = DoubleVector.fromArray(SPECIES, hiIn, i);
+
+            // (int) of the raw bits sign-extends the low 32 bits
+            DoubleVector kd = hi.mul(ExpEngine.INV_LN2_N).add(ExpEngine.ROUND_SHIFT);
+            LongVector k = kd.reinterpretAsLongs()
+                    .lanewise(VectorOperators.LSHL, 32).lanewise(VectorOperators.ASHR, 32);
+            kd = kd.sub(ExpEngine.ROUND_SHIFT);
+
+            DoubleVector r = hi.sub(kd.mul(ExpEngine.LN2_N_HI)).sub(kd.mul(ExpEngine.LN2_N_LO))
+                    .add(DoubleVector.fromArray(SPECIES, loIn, i));
+            DoubleVector series = r.mul(1.0 / 120).add(1.0 / 24);
+            series = r.mul(series).add(1.0 / 6);
+            series = r.mul(series).add(1.0 / 2);
+            DoubleVector p = r.add(r.mul(r).mul(series));
+
+            DoubleVector tableHi = DoubleVector.fromArray(SPECIES, ExpEngine.TABLE_HI, 0, indexIn, i);
+            DoubleVector tableLo = DoubleVector.fromArray(SPECIES, ExpEngine.TABLE_LO, 0, indexIn, i);
+            DoubleVector t = tableHi.add(tableLo.add(tableHi.mul(p)));
+
+            // 2^e from the exponent bits; e = k >> 7 is in the normal range here
+            DoubleVector scale = k.lanewise(VectorOperators.ASHR, TABLE_BITS).add(EXPONENT_BIAS)
+                    .lanewise(VectorOperators.LSHL, MANTISSA_BITS).reinterpretAsDoubles();
+            DoubleVector result = t.mul(scale);
+
+            VectorMask<Double> other = hi.test(VectorOperators.IS_NAN);
+            if (other.anyTrue()) {
+                // Read the inputs before the store, since out may alias xs or ys
+                for (int lane = 0; lane < SPECIES.length(); lane++) {
+                    if (other.laneIsSet(lane)) {
+                        int offset = i + lane;
+                        result = result.withLane(lane,
+                                PowerCalculator.tryPower(xs[xOffset + offset], ys[yOffset + offset]));
+                    }
+                }
+            }
+            result.intoArray(out, outOffset + i);
+        }
+    }
+
+    /**
+     * One thread's block buffers. The kernel never calls back into itself,
+     * so a thread only uses its buffers for one block at a time.
+     */
+    private static final class Scratch {
+        final double[] hi = new double[BLOCK];
+        final double[] lo = new double[BLOCK];
+        final double[] k = new double[BLOCK];
+        final int[] bucket = new int[BLOCK];
+    }
+
+    /**
+     * Lanewise DoubleDouble.twoSumError.
+     */
+    private static DoubleVector twoSumError(DoubleVector a, DoubleVector b, DoubleVector sum) {
+        DoubleVector bVirtual = sum.sub(a);
+        DoubleVector aVirtual = sum.sub(bVirtual);
+        return a.sub(aVirtual).add(b.sub(bVirtual));
+    }
+
+    /**
+     * Lanewise DoubleDouble.twoProductError.
+     */
+    private static DoubleVector twoProductError(DoubleVector a, DoubleVector b, DoubleVector product) {
+        DoubleVector t = a.mul(SPLITTER);
+        DoubleVector aHi = t.sub(t.sub(a));
+        DoubleVector aLo = a.sub(aHi);
+        t = b.mul(SPLITTER);
+        DoubleVector bHi = t.sub(t.sub(b));
+        DoubleVector bLo = b.sub(bHi);
+        return aHi.mul(bHi).sub(product).add(aHi.mul(bLo)).add(aLo.mul(bHi)).add(aLo.mul(bLo));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example;
+
+/**
+ * Entry point for the SIMD bulk kernel, Java 17 version.
+ *
+ * <p>The kernel is used only when the {@code jdk.incubator.vector} module is
+ * in the boot layer (run with {@code --add-modules jdk.incubator.vector})
+ * and the {@code powercalculator.vector} system property is not
+ * {@code false}. Otherwise the scalar loop in {@link PowerCalculator} runs.
+ */
+final class VectorSupport {
+
+    /** Whether {@link #power} may be called. */
+    static final boolean AVAILABLE = detect();
+
+    private VectorSupport() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * STANDARD-tier bulk power, bit-for-bit identical to the scalar path.
+     */
+    static void power(double[] xs, int xOffset, double[] ys, int yOffset,
+            double[] out, int outOffset, int length) {
+        VectorPowerKernel.power(xs, xOffset, ys, yOffset, out, outOffset, length);
+    }
+
+    private static boolean detect() {
+        if ("false".equalsIgnoreCase(System.getProperty("powercalculator.vector"))) {
+            return false;
+        }
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return false;
+        }
+        try {
+            // A single lane would only add overhead to the scalar loop
+            return VectorPowerKernel.lanes() > 1;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+}
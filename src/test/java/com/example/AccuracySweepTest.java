@@ -0,0 +1,105 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+public class AccuracySweepTest {
+
+    /**
+     * Override with -Dsweep.samples=300000000 for a full sweep, whose report
+     * is written to target/accuracy-sweep.txt.
+     */
+    private static final long SAMPLES = Long.getLong("sweep.samples", 1L << 19);
+
+    @Test
+    void testSweepWithinBudgets() throws IOException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        AccuracySweep.Report report = new AccuracySweep(SAMPLES, 42, threads).run();
+        String text = report.toText();
+        if (System.getProperty("sweep.samples") != null) {
+            Path file = Paths.get("target", "accuracy-sweep.txt");
+            Files.createDirectories(file.getParent());
+            Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+        }
+
+        List<String> violations = report.violations(AccuracySweep.DEFAULT_BUDGETS,
+                AccuracySweep.DEFAULT_REGION_BUDGETS);
+        assertTrue(violations.isEmpty(), () -> String.join("\n", violations) + "\n" + text);
+        assertEquals(SAMPLES, report.checked() + report.invalid());
+        for (AccuracySweep.Path path : AccuracySweep.Path.values()) {
+            assertTrue(report.nanosPerCall(path) > 0.0, path.name());
+        }
+    }
+
+    @Test
+    void testUlpErrorAndBuckets() {
+        assertEquals(0.0, AccuracySweep.ulpError(2.0, 2.0), 0.0);
+        assertEquals(0.0, AccuracySweep.ulpError(Double.NaN, Double.NaN), 0.0);
+        assertEquals(1.0, AccuracySweep.ulpError(Math.nextUp(3.0), 3.0), 0.0);
+        assertEquals(1.0, AccuracySweep.ulpError(0.0, Double.MIN_VALUE), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, AccuracySweep.ulpError(Double.POSITIVE_INFINITY, Double.MAX_VALUE));
+        assertEquals(Double.POSITIVE_INFINITY, AccuracySweep.ulpError(Double.NaN, 1.0));
+
+        assertEquals(0, AccuracySweep.bucket(0.0));
+        assertEquals(1, AccuracySweep.bucket(0.5));
+        assertEquals(2, AccuracySweep.bucket(1.0));
+        assertEquals(3, AccuracySweep.bucket(2.0));
+        assertEquals(4, AccuracySweep.bucket(2.5));
+        assertEquals("4", AccuracySweep.bucketLabel(4));
+        assertEquals(AccuracySweep.BUCKETS - 2, AccuracySweep.bucket(0x1p32));
+        assertEquals(AccuracySweep.BUCKETS - 1, AccuracySweep.bucket(0x1p32 + 1.0));
+        assertEquals(AccuracySweep.BUCKETS - 1, AccuracySweep.bucket(Double.POSITIVE_INFINITY));
+
+        assertEquals(1.0, AccuracySweep.reference(1.0, Double.POSITIVE_INFINITY), 0.0);
+        assertEquals(0.0, AccuracySweep.reference(0.0, Double.NaN), 0.0);
+        assertEquals(StrictMath.pow(2.5, 0.3), AccuracySweep.reference(2.5, 0.3), 0.0);
+    }
+
+    @Test
+    void testIndependentOfThreadCount() {
+        long samples = 5L * AccuracySweep.BLOCK + 123;
+        AccuracySweep.Report single = new AccuracySweep(samples, 7, 1).run();
+        AccuracySweep.Report several = new AccuracySweep(samples, 7, 3).run();
+
+        assertEquals(single.checked(), several.checked());
+        assertEquals(single.invalid(), several.invalid());
+        for (AccuracySweep.Path path : AccuracySweep.Path.values()) {
+            for (AccuracySweep.Region region : AccuracySweep.Region.values()) {
+                assertArrayEquals(single.histogram(path, region), several.histogram(path, region));
+                assertEquals(single.maxUlp(path, region), several.maxUlp(path, region), 0.0);
+            }
+        }
+    }
+
+    @Test
+    void testSweepCommand() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        String samples = Integer.toString(6 * AccuracySweep.BLOCK);
+
+        assertEquals(0, CommandLine.run(new String[] {"--sweep", "--samples", samples, "--threads", "2"},
+                System.in, new PrintStream(out), new PrintStream(err)));
+        String report = out.toString(StandardCharsets.UTF_8);
+        assertTrue(report.contains("StrictMath"), report);
+        assertTrue(report.contains("STANDARD INTEGER"), report);
+
+        // Integer exponents are off by more than 0 ulp somewhere in every sweep
+        assertEquals(3, CommandLine.run(new String[] {"--sweep", "--samples", samples, "--max-ulp", "integer=0"},
+                System.in, new PrintStream(out), new PrintStream(err)));
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("Over budget: FAST INTEGER"));
+
+        assertEquals(2, CommandLine.run(new String[] {"--sweep", "--max-ulp", "slow=1"},
+                System.in, new PrintStream(out), new PrintStream(err)));
+        assertEquals(2, CommandLine.run(new String[] {"--sweep", "--samples", "0"},
+                System.in, new PrintStream(out), new PrintStream(err)));
+    }
+}
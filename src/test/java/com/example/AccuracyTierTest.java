@@ -0,0 +1,174 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+
+public class AccuracyTierTest {
+
+    private static final int SAMPLES = 2000;
+
+    private static double ulpError(double actual, double expected) {
+        if (actual == expected) {
+            return 0.0;
+        }
+        return Math.abs(actual - expected) / Math.ulp(expected);
+    }
+
+    /**
+     * Random (x, y) with a non-integer y, cycling through typical inputs,
+     * bases close to 1 with large exponents, and results near the edges of
+     * the double range.
+     */
+    private static double[] sample(SplittableRandom random, int i) {
+        double x;
+        double y;
+        switch (i % 4) {
+            case 0:
+                x = Math.exp(random.nextDouble(-40.0, 40.0));
+                y = random.nextDouble(-10.0, 10.0);
+                break;
+            case 1:
+                x = 1.0 + random.nextDouble(-0.01, 0.01);
+                y = random.nextDouble(-1e4, 1e4);
+                break;
+            case 2:
+                x = Math.exp(random.nextDouble(-5.0, 5.0));
+                y = random.nextDouble(-700.0, 700.0) / Math.log(x);
+                break;
+            default:
+                x = random.nextDouble(0.0, 4.0);
+                y = random.nextDouble(-3.0, 3.0);
+                break;
+        }
+        return new double[] {x, y};
+    }
+
+    @Test
+    void testStrictIsCorrectlyRounded() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < SAMPLES; i++) {
+            double[] xy = sample(random, i);
+            double expected = HighPrecisionMath.pow(xy[0], xy[1]);
+            assertEquals(expected, PowerCalculator.power(xy[0], xy[1], AccuracyTier.STRICT), 0.0,
+                    "x=" + xy[0] + ", y=" + xy[1]);
+        }
+    }
+
+    @Test
+    void testStandardWithinOneUlp() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < SAMPLES; i++) {
+            double[] xy = sample(random, i);
+            double expected = HighPrecisionMath.pow(xy[0], xy[1]);
+            double actual = PowerCalculator.power(xy[0], xy[1], AccuracyTier.STANDARD);
+            assertTrue(ulpError(actual, expected) <= 1.0,
+                    "x=" + xy[0] + ", y=" + xy[1] + ": " + actual + " vs " + expected);
+        }
+    }
+
+    @Test
+    void testFastWithinRelativeBound() {
+        SplittableRandom random = new SplittableRandom(11);
+        for (int i = 0; i < SAMPLES; i++) {
+            double[] xy = sample(random, i);
+            double expected = HighPrecisionMath.pow(xy[0], xy[1]);
+            double actual = PowerCalculator.power(xy[0], xy[1], AccuracyTier.FAST);
+            assertEquals(expected, actual, expected * 1e-8, "x=" + xy[0] + ", y=" + xy[1]);
+        }
+    }
+
+    @Test
+    void testDefaultPowerIsStandard() {
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < 1000; i++) {
+            double[] xy = sample(random, i);
+            assertEquals(PowerCalculator.power(xy[0], xy[1], AccuracyTier.STANDARD),
+                    PowerCalculator.power(xy[0], xy[1]), 0.0);
+        }
+    }
+
+    @Test
+    void testStrictSubnormalAndBoundaryResults() {
+        // 2^-1074.5 rounds to the smallest subnormal
+        assertEquals(Double.MIN_VALUE, PowerCalculator.power(0.5, 1074.5, AccuracyTier.STRICT), 0.0);
+        assertEquals(HighPrecisionMath.pow(0.3, 600.25),
+                PowerCalculator.power(0.3, 600.25, AccuracyTier.STRICT), 0.0);
+        assertEquals(HighPrecisionMath.pow(1.5, 1750.5),
+                PowerCalculator.power(1.5, 1750.5, AccuracyTier.STRICT), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, PowerCalculator.power(2.0, 1024.5, AccuracyTier.STRICT), 0.0);
+        assertEquals(0.0, PowerCalculator.power(2.0, -1100.5, AccuracyTier.STRICT), 0.0);
+    }
+
+    @Test
+    void testStrictSubnormalBases() {
+        // Both fail Ziv's test, so the fallback must see the unscaled base
+        assertEquals(0.2620022851372921,
+                PowerCalculator.power(1.2780037071075577E-308, 0.0018892733412556924, AccuracyTier.STRICT), 0.0);
+        assertEquals(1.7651422977048275E-31,
+                PowerCalculator.power(1.4718266167749504E-308, 0.09990256359718239, AccuracyTier.STRICT), 0.0);
+
+        SplittableRandom random = new SplittableRandom(13);
+        for (int i = 0; i < SAMPLES; i++) {
+            double x = Double.longBitsToDouble(random.nextLong(1L, 1L << 52));
+            double y = random.nextDouble(-700.0, 700.0) / Math.log(x);
+            assertEquals(HighPrecisionMath.pow(x, y), PowerCalculator.power(x, y, AccuracyTier.STRICT), 0.0,
+                    "x=" + x + ", y=" + y);
+        }
+    }
+
+    @Test
+    void testStrictWithLargeLogarithms() {
+        // y * ln(x) near 345 leaves a lo part far above an ulp of the reduced argument
+        assertEquals(Math.sqrt(2.693259085508715E300),
+                PowerCalculator.power(2.693259085508715E300, 0.5, AccuracyTier.STRICT), 0.0);
+        assertEquals(Math.sqrt(7.113338139498957E115),
+                PowerCalculator.power(7.113338139498957E115, 0.5, AccuracyTier.STRICT), 0.0);
+
+        SplittableRandom random = new SplittableRandom(17);
+        for (int i = 0; i < SAMPLES; i++) {
+            double x = Double.longBitsToDouble(random.nextLong(1L << 52, 0x7FF0000000000000L));
+            assertEquals(Math.sqrt(x), PowerCalculator.power(x, 0.5, AccuracyTier.STRICT), 0.0, "x=" + x);
+        }
+    }
+
+    @Test
+    void testSpecialCasesMatchAcrossTiers() {
+        for (AccuracyTier tier : AccuracyTier.values()) {
+            assertEquals(243.0, PowerCalculator.power(3.0, 5.0, tier), 0.0);
+            assertEquals(0.125, PowerCalculator.power(2.0, -3.0, tier), 0.0);
+            assertEquals(1.0, PowerCalculator.power(0.0, 0.0, tier), 0.0);
+            assertEquals(0.0, PowerCalculator.power(0.0, 2.5, tier), 0.0);
+            assertEquals(1.0, PowerCalculator.power(1.0, 0.3, tier), 0.0);
+            assertEquals(Double.POSITIVE_INFINITY,
+                    PowerCalculator.power(Double.POSITIVE_INFINITY, 0.5, tier), 0.0);
+            assertEquals(0.0, PowerCalculator.power(Double.POSITIVE_INFINITY, -0.5, tier), 0.0);
+            assertTrue(Double.isNaN(PowerCalculator.power(Double.NaN, 0.5, tier)));
+            assertTrue(Double.isNaN(PowerCalculator.power(2.0, Double.NaN, tier)));
+            assertEquals(Math.sqrt(Double.MIN_VALUE), PowerCalculator.power(Double.MIN_VALUE, 0.5, tier),
+                    Math.sqrt(Double.MIN_VALUE) * 1e-8);
+
+            final AccuracyTier t = tier;
+            assertThrows(IllegalArgumentException.class, () -> PowerCalculator.power(0.0, -0.5, t));
+            assertThrows(IllegalArgumentException.class, () -> PowerCalculator.power(-2.0, 0.5, t));
+        }
+    }
+
+    @Test
+    void testBulkMatchesScalar() {
+        double[] xs = {2.0, 0.0, -2.0, 1.7, 1e-300, 3.0};
+        double[] ys = {0.5, -1.0, 0.5, -2.25, 0.75, 4.0};
+        for (AccuracyTier tier : AccuracyTier.values()) {
+            double[] out = new double[xs.length];
+            PowerCalculator.power(xs, ys, out, tier);
+            for (int i = 0; i < xs.length; i++) {
+                if (PowerCalculator.status(xs[i], ys[i]) == PowerStatus.OK) {
+                    assertEquals(PowerCalculator.power(xs[i], ys[i], tier), out[i], 0.0);
+                } else {
+                    assertTrue(Double.isNaN(out[i]));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+public class BatchRunnerTest {
+
+    private static String run(String input, BatchRunner.Format format, int precision)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new BatchRunner(format, precision).run(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII)), out);
+        return out.toString(StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    void testSeparatorsAndSkippedLines() throws IOException {
+        String output = run("2 3\n# comment\n\n4,0.5\r\n2.5;2\n-2\t3", BatchRunner.Format.SHORTEST, 0);
+
+        assertEquals("x,y,result,error\n"
+                + "2,3,8.0,\n"
+                + "4,0.5,2.0,\n"
+                + "2.5,2,6.25,\n"
+                + "-2,3,-8.0,\n", output);
+    }
+
+    @Test
+    void testRowErrorsDoNotStopTheRun() throws IOException {
+        String output = run("0 -2\nabc 2\n2 x\n5\n1 2 3\n-4 0.5\n2 2\n",
+                BatchRunner.Format.SHORTEST, 0);
+        String[] rows = output.split("\n");
+
+        assertEquals(8, rows.length);
+        assertEquals("0,-2,,\"" + PowerStatus.ZERO_NEGATIVE_POWER_MESSAGE + "\"", rows[1]);
+        assertEquals("abc,2,,invalid base", rows[2]);
+        assertEquals("2,x,,invalid exponent", rows[3]);
+        assertEquals("5,,,missing exponent", rows[4]);
+        assertEquals("1,2,,too many values", rows[5]);
+        assertTrue(rows[6].startsWith("-4,0.5,,\"Negative base"));
+        assertEquals("2,2,4.0,", rows[7]);
+    }
+
+    @Test
+    void testOutputFormats() throws IOException {
+        assertEquals("x,y,result,error\n2,0.5,1.414,\n", run("2 0.5\n", BatchRunner.Format.FIXED, 3));
+        assertEquals("x,y,result,error\n10,5,1.00e+05,\n",
+                run("10 5\n", BatchRunner.Format.SCIENTIFIC, 2));
+    }
+
+    @Test
+    void testParsedValuesMatchDoubleParseDouble() {
+        String[] inputs = {"0", "-0", "1", "3.14159", "-2.5e-3", "1e22", "1e23", "123456789012345678",
+            "0.1", ".5", "5.", "4.9e-324", "1.7976931348623157e308", "NaN", "-Infinity", "0x1p3"};
+        for (String input : inputs) {
+            byte[] bytes = ("  " + input + " ").getBytes(StandardCharsets.US_ASCII);
+            assertEquals(Double.parseDouble(input),
+                    AsciiNumbers.parseDouble(bytes, 2, bytes.length - 1), 0.0, input);
+        }
+        byte[] bad = "1.2.3".getBytes(StandardCharsets.US_ASCII);
+        assertThrows(NumberFormatException.class, () -> AsciiNumbers.parseDouble(bad, 0, bad.length));
+    }
+
+    @Test
+    void testCommandLineArguments() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        int status = CommandLine.run(new String[] {"--batch", "--format", "fixed", "--precision", "2"},
+                new ByteArrayInputStream("3 2\n".getBytes(StandardCharsets.US_ASCII)),
+                new PrintStream(out), new PrintStream(err));
+
+        assertEquals(0, status);
+        assertEquals("x,y,result,error\n3,2,9.00,\n", out.toString(StandardCharsets.US_ASCII));
+
+        status = CommandLine.run(new String[] {"--bogus"}, new ByteArrayInputStream(new byte[0]),
+                new PrintStream(out), new PrintStream(err));
+        assertEquals(2, status);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class BinaryJobTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testResultsMatchBulkPowerAcrossWindows() throws IOException {
+        int n = 10_001;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = (i % 5 == 0 ? -1.0 : 1.0) * (0.25 + i * 0.01);
+            ys[i] = (i % 4 == 0) ? (i % 9) : (i % 17) * 0.3 - 2.5;
+        }
+        double[] expected = new double[n];
+        PowerCalculator.power(xs, ys, expected);
+
+        Path input = tempDir.resolve("job.bin");
+        Path output = tempDir.resolve("result.bin");
+        BinaryJob.writeInput(input, xs, ys);
+
+        // A small window forces many mappings, including a partial last one
+        long records = new BinaryJob(1000).run(input, output);
+
+        assertEquals(n, records);
+        assertEquals(BinaryJob.HEADER_BYTES + n * 8L, Files.size(output));
+        assertArrayEquals(expected, BinaryJob.readOutput(output), 0.0);
+    }
+
+    @Test
+    void testEmptyJob() throws IOException {
+        Path input = tempDir.resolve("empty.bin");
+        Path output = tempDir.resolve("empty-result.bin");
+        BinaryJob.writeInput(input, new double[0], new double[0]);
+
+        assertEquals(0, new BinaryJob().run(input, output));
+        assertEquals(0, BinaryJob.readOutput(output).length);
+    }
+
+    @Test
+    void testRejectsBadHeaderAndTruncatedInput() throws IOException {
+        Path input = tempDir.resolve("bad.bin");
+        Path output = tempDir.resolve("bad-result.bin");
+
+        Files.write(input, new byte[] {1, 2, 3});
+        assertThrows(IOException.class, () -> new BinaryJob().run(input, output));
+
+        BinaryJob.writeInput(input, new double[] {2.0, 3.0}, new double[] {2.0, 2.0});
+        byte[] bytes = Files.readAllBytes(input);
+        Files.write(input, Arrays.copyOf(bytes, bytes.length - 8));
+        assertThrows(IOException.class, () -> new BinaryJob().run(input, output));
+
+        // A record count whose byte size overflows a long
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putLong(8, Long.MAX_VALUE / 8);
+        Files.write(input, bytes);
+        IOException ex = assertThrows(IOException.class, () -> new BinaryJob().run(input, output));
+        assertTrue(ex.getMessage().startsWith("Record count too large"), ex.getMessage());
+    }
+
+    @Test
+    void testRejectsSameInputAndOutput() throws IOException {
+        Path input = tempDir.resolve("same.bin");
+        BinaryJob.writeInput(input, new double[] {2.0}, new double[] {3.0});
+        byte[] before = Files.readAllBytes(input);
+
+        assertThrows(IOException.class, () -> new BinaryJob().run(input, input));
+        assertThrows(IOException.class,
+                () -> new BinaryJob().run(input, tempDir.resolve(".").resolve("same.bin")));
+        assertArrayEquals(before, Files.readAllBytes(input));
+    }
+
+    @Test
+    void testCommandLine() throws IOException {
+        Path input = tempDir.resolve("cli.bin");
+        Path output = tempDir.resolve("cli-result.bin");
+        BinaryJob.writeInput(input, new double[] {2.0, 0.0}, new double[] {10.0, -1.0});
+
+        int status = CommandLine.run(new String[] {"--binary", input.toString(), output.toString()},
+                new ByteArrayInputStream(new byte[0]), new PrintStream(new ByteArrayOutputStream()),
+                new PrintStream(new ByteArrayOutputStream()));
+
+        assertEquals(0, status);
+        double[] results = BinaryJob.readOutput(output);
+        assertEquals(1024.0, results[0], 0.0);
+        assertTrue(Double.isNaN(results[1]));
+    }
+}
@@ -0,0 +1,96 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+import java.util.function.DoubleUnaryOperator;
+
+public class CompiledPowerTest {
+
+    private static final double[] BASES = {
+        0.0, -0.0, 1.0, 2.0, -2.0, 0.1, 3.7, -3.7, 10.0, 1e-300, 1e300, Double.NaN
+    };
+
+    @Test
+    void testIntegerExponentsMatchPowerExactly() {
+        double[] exponents = {0.0, 1.0, 2.0, 3.0, 4.0, 5.0, 17.0, 1000.0,
+            -1.0, -2.0, -3.0, -4.0, -9.0};
+        for (double y : exponents) {
+            DoubleUnaryOperator f = PowerCalculator.compile(y);
+            for (double x : BASES) {
+                if (x == 0.0 && y < 0.0) {
+                    assertThrows(IllegalArgumentException.class, () -> f.applyAsDouble(x));
+                } else {
+                    assertEquals(PowerCalculator.power(x, y), f.applyAsDouble(x), 0.0,
+                            x + "^" + y);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testFractionalExponentsMatchPowerExactly() {
+        double[] exponents = {2.2, 0.37, -0.75, 1.0 / 3.0, Double.POSITIVE_INFINITY};
+        for (double y : exponents) {
+            DoubleUnaryOperator f = PowerCalculator.compile(y);
+            for (double x : BASES) {
+                if (x < 0.0 || (x == 0.0 && y < 0.0)) {
+                    assertThrows(IllegalArgumentException.class, () -> f.applyAsDouble(x));
+                } else {
+                    assertEquals(PowerCalculator.power(x, y), f.applyAsDouble(x), 0.0,
+                            x + "^" + y);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testHalfIntegerExponents() {
+        assertEquals(3.0, PowerCalculator.compile(0.5).applyAsDouble(9.0), 0.0);
+        assertEquals(8.0, PowerCalculator.compile(1.5).applyAsDouble(4.0), 0.0);
+        assertEquals(0.125, PowerCalculator.compile(-1.5).applyAsDouble(4.0), 0.0);
+        assertEquals(0.0, PowerCalculator.compile(2.5).applyAsDouble(0.0), 0.0);
+        assertEquals(1.0, PowerCalculator.compile(-2.5).applyAsDouble(1.0), 0.0);
+        // x^n alone leaves the double range although the result does not
+        assertEquals(PowerCalculator.power(100.0, -155.5), PowerCalculator.compile(-155.5).applyAsDouble(100.0), 0.0);
+        assertTrue(PowerCalculator.compile(-155.5).applyAsDouble(100.0) > 0.0);
+        assertEquals(PowerCalculator.power(0.01, 155.5), PowerCalculator.compile(155.5).applyAsDouble(0.01), 0.0);
+        assertEquals(PowerCalculator.power(0.01, -154.5), PowerCalculator.compile(-154.5).applyAsDouble(0.01), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, PowerCalculator.compile(155.5).applyAsDouble(100.0), 0.0);
+        // Larger half-integers would drift with x^n by squaring, so they match power exactly
+        assertEquals(PowerCalculator.power(5.699098833788526, 299.5),
+                PowerCalculator.compile(299.5).applyAsDouble(5.699098833788526), 0.0);
+        assertEquals(PowerCalculator.power(3.7, 155.5), PowerCalculator.compile(155.5).applyAsDouble(3.7), 0.0);
+        assertEquals(PowerCalculator.power(3.7, -155.5), PowerCalculator.compile(-155.5).applyAsDouble(3.7), 0.0);
+
+        SplittableRandom random = new SplittableRandom(5);
+        for (double y : new double[] {0.5, -0.5, 1.5, 2.5, -1.5, -3.5, 40.5}) {
+            DoubleUnaryOperator f = PowerCalculator.compile(y);
+            for (int i = 0; i < 20_000; i++) {
+                double x = Math.exp(random.nextDouble(-700.0, 700.0) / Math.max(Math.abs(y), 1.0));
+                double expected = PowerCalculator.power(x, y, AccuracyTier.STRICT);
+                double actual = f.applyAsDouble(x);
+                if (y == 0.5) {
+                    assertEquals(expected, actual, 0.0, x + "^" + y);
+                } else if (y == -0.5 || y == 1.5) {
+                    assertEquals(expected, actual, Math.ulp(expected), x + "^" + y);
+                } else {
+                    assertEquals(PowerCalculator.power(x, y), actual, 0.0, x + "^" + y);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testInvalidBasesThrowLikePower() {
+        assertThrows(IllegalArgumentException.class,
+                () -> PowerCalculator.compile(0.5).applyAsDouble(-4.0));
+        assertThrows(IllegalArgumentException.class,
+                () -> PowerCalculator.compile(-0.5).applyAsDouble(0.0));
+        assertThrows(IllegalArgumentException.class,
+                () -> PowerCalculator.compile(2.2).applyAsDouble(-1.0));
+        assertThrows(IllegalArgumentException.class,
+                () -> PowerCalculator.compile(-2.0).applyAsDouble(0.0));
+    }
+}
@@ -0,0 +1,218 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+
+public class ComplexPowerTest {
+
+    private static double[] power(double xRe, double xIm, double yRe, double yIm) {
+        double[] out = new double[2];
+        PowerCalculator.complexPower(xRe, xIm, yRe, yIm, out);
+        return out;
+    }
+
+    private static void assertComplex(double re, double im, double[] actual, double tolerance) {
+        double scale = Math.max(1.0, Math.hypot(re, im));
+        assertEquals(re, actual[0], tolerance * scale, "real part");
+        assertEquals(im, actual[1], tolerance * scale, "imaginary part");
+    }
+
+    @Test
+    void testRealInputsMatchPower() {
+        SplittableRandom random = new SplittableRandom(24);
+        for (int i = 0; i < 10_000; i++) {
+            double x = random.nextDouble(0.0, 100.0);
+            double y = random.nextDouble(-20.0, 20.0);
+            assertArrayEquals(new double[] {PowerCalculator.power(x, y), 0.0}, power(x, 0.0, y, 0.0), 0.0);
+            double n = random.nextInt(-30, 31);
+            assertArrayEquals(new double[] {PowerCalculator.power(-x, n), 0.0}, power(-x, 0.0, n, 0.0), 0.0);
+        }
+    }
+
+    @Test
+    void testNegativeBaseFractionalExponent() {
+        assertComplex(1.0, Math.sqrt(3.0), power(-8.0, 0.0, 1.0 / 3.0, 0.0), 1e-15);
+        assertArrayEquals(new double[] {0.0, 2.0}, power(-4.0, 0.0, 0.5, 0.0), 0.0);
+        assertArrayEquals(new double[] {0.0, -1.0}, power(-1.0, 0.0, 1.5, 0.0), 0.0);
+        assertArrayEquals(new double[] {0.0, -0.5}, power(-4.0, 0.0, -0.5, 0.0), 0.0);
+        // The principal value does not depend on the sign of a zero imaginary part
+        assertArrayEquals(power(-2.0, 0.0, 0.25, 0.0), power(-2.0, -0.0, 0.25, 0.0), 0.0);
+    }
+
+    @Test
+    void testComplexExponents() {
+        // i^i = e^(-pi/2)
+        assertComplex(Math.exp(-Math.PI / 2.0), 0.0, power(0.0, 1.0, 0.0, 1.0), 1e-15);
+        // e^(i pi) = -1
+        assertComplex(-1.0, 0.0, power(Math.E, 0.0, 0.0, Math.PI), 1e-15);
+        // (1 + i)^(1 + i) = sqrt(2) e^(-pi/4) (cos(pi/4 + ln(2)/2) + i sin(pi/4 + ln(2)/2))
+        double modulus = Math.sqrt(2.0) * Math.exp(-Math.PI / 4.0);
+        double angle = Math.PI / 4.0 + Math.log(2.0) / 2.0;
+        assertComplex(modulus * Math.cos(angle), modulus * Math.sin(angle), power(1.0, 1.0, 1.0, 1.0), 1e-15);
+
+        SplittableRandom random = new SplittableRandom(25);
+        for (int i = 0; i < 10_000; i++) {
+            double xRe = random.nextDouble(-10.0, 10.0);
+            double xIm = random.nextDouble(-10.0, 10.0);
+            double yRe = random.nextDouble(-3.0, 3.0);
+            double yIm = random.nextDouble(-3.0, 3.0);
+            double ln = Math.log(Math.hypot(xRe, xIm));
+            double arg = Math.atan2(xIm, xRe);
+            double m = Math.exp(yRe * ln - yIm * arg);
+            double a = yRe * arg + yIm * ln;
+            double[] actual = power(xRe, xIm, yRe, yIm);
+            assertEquals(m * Math.cos(a), actual[0], m * 1e-12);
+            assertEquals(m * Math.sin(a), actual[1], m * 1e-12);
+        }
+    }
+
+    @Test
+    void testIntegerExponentsBySquaring() {
+        assertArrayEquals(new double[] {0.0, 2.0}, power(1.0, 1.0, 2.0, 0.0), 0.0);
+        assertArrayEquals(new double[] {0.0, -0.5}, power(1.0, 1.0, -2.0, 0.0), 0.0);
+        assertArrayEquals(new double[] {-4.0, 0.0}, power(1.0, 1.0, 4.0, 0.0), 0.0);
+
+        SplittableRandom random = new SplittableRandom(26);
+        for (int i = 0; i < 10_000; i++) {
+            double xRe = random.nextDouble(-2.0, 2.0);
+            double xIm = random.nextDouble(-2.0, 2.0);
+            int n = random.nextInt(1, 25);
+            double re = 1.0;
+            double im = 0.0;
+            for (int k = 0; k < n; k++) {
+                double t = re * xRe - im * xIm;
+                im = re * xIm + im * xRe;
+                re = t;
+            }
+            double[] actual = power(xRe, xIm, n, 0.0);
+            double m = Math.hypot(re, im);
+            assertEquals(re, actual[0], m * 1e-13);
+            assertEquals(im, actual[1], m * 1e-13);
+
+            double[] inverse = power(xRe, xIm, -n, 0.0);
+            assertEquals(re / (m * m), inverse[0], 1e-13 / m);
+            assertEquals(-im / (m * m), inverse[1], 1e-13 / m);
+        }
+    }
+
+    @Test
+    void testIntegerExponentsOutOfRange() {
+        double[][] cases = {
+            // xRe, xIm, n, expected re, expected im
+            {1e200, 1e200, 2, 0.0, Double.POSITIVE_INFINITY},
+            {1e200, 1e200, 3, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY},
+            {1e200, 1e200, -2, 0.0, -0.0},
+            {1e-200, 1e-200, 2, 0.0, 0.0},
+            {1e-200, 1e-200, -2, 0.0, Double.NEGATIVE_INFINITY},
+            {Double.POSITIVE_INFINITY, 1.0, 2, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY},
+            {Double.POSITIVE_INFINITY, 1.0, -2, 0.0, -0.0},
+        };
+        for (double[] c : cases) {
+            double[] expected = {c[3], c[4]};
+            assertArrayEquals(expected, power(c[0], c[1], c[2], 0.0), 0.0);
+
+            double[] re = {c[0]};
+            double[] im = {c[1]};
+            double[] outRe = new double[1];
+            double[] outIm = new double[1];
+            PowerCalculator.complexPower(re, im, c[2], 0.0, outRe, outIm);
+            assertArrayEquals(expected, new double[] {outRe[0], outIm[0]}, 0.0);
+            PowerCalculator.complexPower(re, im, new double[] {c[2]}, new double[] {0.0}, outRe, outIm);
+            assertArrayEquals(expected, new double[] {outRe[0], outIm[0]}, 0.0);
+        }
+    }
+
+    @Test
+    void testBulkMatchesScalar() {
+        SplittableRandom random = new SplittableRandom(27);
+        int n = 1000;
+        double[] xRe = new double[n];
+        double[] xIm = new double[n];
+        double[] yRe = new double[n];
+        double[] yIm = new double[n];
+        for (int i = 0; i < n; i++) {
+            xRe[i] = random.nextInt(10) == 0 ? 0.0 : random.nextDouble(-5.0, 5.0);
+            xIm[i] = random.nextInt(3) == 0 ? 0.0 : random.nextDouble(-5.0, 5.0);
+            yRe[i] = random.nextInt(3) == 0 ? random.nextInt(-5, 6) : random.nextDouble(-3.0, 3.0);
+            yIm[i] = random.nextInt(2) == 0 ? 0.0 : random.nextDouble(-3.0, 3.0);
+        }
+        double[] outRe = new double[n];
+        double[] outIm = new double[n];
+        PowerCalculator.complexPower(xRe, xIm, yRe, yIm, outRe, outIm);
+
+        double[] sharedRe = new double[n];
+        double[] sharedIm = new double[n];
+        for (double y : new double[] {3.0, -2.0, 0.5, 0.0}) {
+            PowerCalculator.complexPower(xRe, xIm, y, 0.0, sharedRe, sharedIm);
+            for (int i = 0; i < n; i++) {
+                if (ComplexPower.status(xRe[i], xIm[i], y, 0.0) == PowerStatus.OK) {
+                    assertArrayEquals(power(xRe[i], xIm[i], y, 0.0),
+                            new double[] {sharedRe[i], sharedIm[i]}, 0.0);
+                } else {
+                    assertTrue(Double.isNaN(sharedRe[i]) && Double.isNaN(sharedIm[i]));
+                }
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            if (ComplexPower.status(xRe[i], xIm[i], yRe[i], yIm[i]) == PowerStatus.OK) {
+                assertArrayEquals(power(xRe[i], xIm[i], yRe[i], yIm[i]), new double[] {outRe[i], outIm[i]}, 0.0);
+            } else {
+                assertTrue(Double.isNaN(outRe[i]) && Double.isNaN(outIm[i]));
+            }
+        }
+
+        // Results may overwrite the bases
+        PowerCalculator.complexPower(xRe, xIm, yRe, yIm, xRe, xIm);
+        assertArrayEquals(outRe, xRe, 0.0);
+        assertArrayEquals(outIm, xIm, 0.0);
+    }
+
+    @Test
+    void testBulkMatchesScalarOnNaN() {
+        double nan = Double.NaN;
+        double[] xRe = {nan, nan, 0.0, 2.0, nan, 0.0, -3.0};
+        double[] xIm = {0.0, nan, nan, 1.0, 1.0, 0.0, 0.0};
+        double[] yRe = {2.0, -3.0, 2.0, nan, 0.5, nan, 2.0};
+        double[] yIm = {0.0, 0.0, 0.0, 0.0, 1.0, 0.0, nan};
+        int n = xRe.length;
+
+        double[] outRe = new double[n];
+        double[] outIm = new double[n];
+        PowerCalculator.complexPower(xRe, xIm, yRe, yIm, outRe, outIm);
+        for (int i = 0; i < n; i++) {
+            assertArrayEquals(power(xRe[i], xIm[i], yRe[i], yIm[i]), new double[] {outRe[i], outIm[i]}, 0.0);
+            assertTrue(Double.isNaN(outRe[i]) && Double.isNaN(outIm[i]), "element " + i);
+        }
+
+        for (double y : new double[] {2.0, -3.0, 1.0, 0.5, nan}) {
+            PowerCalculator.complexPower(xRe, xIm, y, 0.0, outRe, outIm);
+            for (int i = 0; i < n; i++) {
+                double[] expected = ComplexPower.status(xRe[i], xIm[i], y, 0.0) == PowerStatus.OK
+                        ? power(xRe[i], xIm[i], y, 0.0) : new double[] {nan, nan};
+                assertArrayEquals(expected, new double[] {outRe[i], outIm[i]}, 0.0, "element " + i + ", y " + y);
+            }
+        }
+    }
+
+    @Test
+    void testZeroBaseAndInvalidArguments() {
+        assertArrayEquals(new double[] {1.0, 0.0}, power(0.0, 0.0, 0.0, 0.0), 0.0);
+        assertArrayEquals(new double[] {0.0, 0.0}, power(0.0, 0.0, 0.5, 7.0), 0.0);
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> power(0.0, 0.0, -1.0, 0.0));
+        assertEquals(PowerStatus.ZERO_NEGATIVE_POWER_MESSAGE, ex.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> power(0.0, 0.0, 0.0, 1.0));
+        double[] nan = power(Double.NaN, 1.0, 2.0, 0.0);
+        assertTrue(Double.isNaN(nan[0]) && Double.isNaN(nan[1]));
+
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> PowerCalculator.complexPower(2.0, 0.0, 2.0, 0.0, new double[1]));
+        assertThrows(IllegalArgumentException.class, () -> PowerCalculator.complexPower(
+                new double[2], new double[2], new double[2], new double[1], new double[2], new double[2]));
+        assertThrows(IllegalArgumentException.class, () -> PowerCalculator.complexPower(
+                new double[2], new double[2], 2.0, 0.0, new double[2], new double[3]));
+    }
+}
@@ -0,0 +1,48 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+
+public class ExpEngineTest {
+
+    private static double ulpError(double actual, double expected) {
+        if (actual == expected) {
+            return 0.0;
+        }
+        return Math.abs(actual - expected) / Math.ulp(expected);
+    }
+
+    @Test
+    void testSpecialValues() {
+        assertEquals(1.0, ExpEngine.exp(0.0), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, ExpEngine.exp(Double.POSITIVE_INFINITY), 0.0);
+        assertEquals(0.0, ExpEngine.exp(Double.NEGATIVE_INFINITY), 0.0);
+        assertTrue(Double.isNaN(ExpEngine.exp(Double.NaN)));
+    }
+
+    @Test
+    void testOverflowAndUnderflowBoundaries() {
+        assertEquals(StrictMath.exp(ExpEngine.OVERFLOW_THRESHOLD),
+                ExpEngine.exp(ExpEngine.OVERFLOW_THRESHOLD), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY,
+                ExpEngine.exp(Math.nextUp(ExpEngine.OVERFLOW_THRESHOLD)), 0.0);
+        assertEquals(0.0, ExpEngine.exp(ExpEngine.UNDERFLOW_THRESHOLD), 0.0);
+        assertEquals(Double.MIN_VALUE, ExpEngine.exp(-745.13321910194), 0.0);
+        // Subnormal results
+        assertEquals(StrictMath.exp(-720.0), ExpEngine.exp(-720.0), Double.MIN_VALUE);
+        assertEquals(StrictMath.exp(-740.0), ExpEngine.exp(-740.0), Double.MIN_VALUE);
+    }
+
+    @Test
+    void testRandomInputsWithinOneUlp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 200_000; i++) {
+            double x = i % 2 == 0
+                    ? (random.nextDouble() - 0.5) * 1400.0
+                    : (random.nextDouble() - 0.5) * 2.0;
+            assertTrue(ulpError(ExpEngine.exp(x), StrictMath.exp(x)) <= 1.0, "exp(" + x + ")");
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+public class FixedBasePowerTest {
+
+    private static final double[] EXPONENTS = {
+        0.0, -0.0, 1.0, 2.0, 3.0, -3.0, 0.5, -0.5, 2.2, -0.75, 30.0, -30.0,
+        Double.NaN, Double.POSITIVE_INFINITY
+    };
+
+    @Test
+    void testMatchesPowerExactly() {
+        double[] bases = {0.0, 1.0, 2.0, -2.0, 0.1, 3.7, 10.0, 1e-300, 1e300, Double.NaN};
+        for (double x : bases) {
+            FixedBasePower evaluator = PowerCalculator.withBase(x);
+            for (double y : EXPONENTS) {
+                double expected;
+                try {
+                    expected = PowerCalculator.power(x, y);
+                } catch (IllegalArgumentException ex) {
+                    assertThrows(IllegalArgumentException.class, () -> evaluator.pow(y),
+                            x + "^" + y);
+                    continue;
+                }
+                assertEquals(expected, evaluator.pow(y), 0.0, x + "^" + y);
+            }
+        }
+    }
+
+    @Test
+    void testErrorsMatchPower() {
+        assertThrows(IllegalArgumentException.class, () -> PowerCalculator.withBase(0.0).pow(-2.0));
+        assertThrows(IllegalArgumentException.class, () -> PowerCalculator.withBase(-4.0).pow(0.5));
+        assertEquals(-8.0, PowerCalculator.withBase(-2.0).pow(3.0), 0.0);
+    }
+
+    @Test
+    void testBulkPowMatchesScalar() {
+        FixedBasePower evaluator = PowerCalculator.withBase(1.05);
+        double[] out = new double[EXPONENTS.length];
+
+        evaluator.pow(EXPONENTS, out);
+
+        for (int i = 0; i < EXPONENTS.length; i++) {
+            assertEquals(evaluator.pow(EXPONENTS[i]), out[i], 0.0);
+        }
+    }
+
+    @Test
+    void testBulkPowWritesNaNForInvalidElements() {
+        double[] out = new double[2];
+
+        PowerCalculator.withBase(-4.0).pow(new double[] {0.5, 2.0}, out);
+
+        assertTrue(Double.isNaN(out[0]));
+        assertEquals(16.0, out[1], 0.0);
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> PowerCalculator.withBase(2.0).pow(new double[2], 1, out, 0, 2));
+    }
+
+    @Test
+    void testIntegerPowersWithinAnUlp() {
+        // Includes results far into the subnormals and past overflow
+        for (double x : new double[] {1.05, 0.9, 3.7, 1e-3, 1e300, 1e-310}) {
+            double[] out = new double[3000];
+            PowerCalculator.withBase(x).powers(-1000.0, 1.0, out);
+            for (int k = 0; k < out.length; k++) {
+                double exact = HighPrecisionMath.pow(x, k - 1000.0);
+                if (exact < Double.POSITIVE_INFINITY) {
+                    assertTrue(Math.abs(out[k] - exact) <= Math.ulp(exact), x + "^" + (k - 1000));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testFractionalPowersStayAccurate() {
+        // Exponents 0.5 + k / 8 are exact, so every element has an exact reference
+        double[] out = new double[5 * GeometricSequence.ANCHOR];
+        PowerCalculator.withBase(1.37).powers(0.5, 0.125, out);
+        for (int k = 0; k < out.length; k++) {
+            double exact = HighPrecisionMath.pow(1.37, 0.5 + k * 0.125);
+            assertTrue(Math.abs(out[k] - exact) <= 2 * Math.ulp(exact), "k = " + k);
+        }
+
+        // With step 0.1 the rounding of start + k * step itself shows
+        double[] tenths = new double[2000];
+        PowerCalculator.withBase(0.8).powers(0.0, 0.1, tenths);
+        for (int k = 0; k < tenths.length; k++) {
+            double y = k * 0.1;
+            double exact = HighPrecisionMath.pow(0.8, y);
+            assertEquals(exact, tenths[k], Math.ulp(exact) * (2.0 + y * Math.log(1.25)), "k = " + k);
+        }
+    }
+
+    @Test
+    void testPowersAcrossTheRange() {
+        // Exact powers of two, through the subnormals and past overflow
+        double[] out = new double[2200];
+        PowerCalculator.withBase(2.0).powers(-1100.0, 1.0, out);
+        for (int k = 0; k < out.length; k++) {
+            assertEquals(Math.scalb(1.0, k - 1100), out[k], 0.0, "k = " + k);
+        }
+
+        double[] alternating = new double[41];
+        PowerCalculator.withBase(-1.5).powers(20.0, -1.0, alternating);
+        for (int k = 0; k < alternating.length; k++) {
+            double expected = PowerCalculator.power(-1.5, 20.0 - k);
+            assertEquals(expected, alternating[k], Math.ulp(expected));
+        }
+
+        assertArrayEquals(new double[] {1.0, 0.0, 0.0}, PowerCalculator.withBase(0.0).powerStream(0.0, 1.0, 3).toArray());
+        assertArrayEquals(new double[] {1.0, 1.0}, PowerCalculator.withBase(1.0).powerStream(5.0, 0.3, 2).toArray());
+    }
+
+    @Test
+    void testIteratorAndStreamAgree() {
+        FixedBasePower evaluator = PowerCalculator.withBase(1.01);
+        PrimitiveIterator.OfDouble powers = evaluator.powers(0.0, 0.5, 3);
+        double[] streamed = evaluator.powerStream(0.0, 0.5, 3).toArray();
+
+        for (double value : streamed) {
+            assertTrue(powers.hasNext());
+            assertEquals(value, powers.nextDouble(), 0.0);
+        }
+        assertFalse(powers.hasNext());
+        assertThrows(NoSuchElementException.class, powers::nextDouble);
+        assertEquals(1000, evaluator.powerStream(0.0, 1.0, 1000).count());
+    }
+
+    @Test
+    void testPowersRejectInvalidElements() {
+        assertThrows(IllegalArgumentException.class, () -> PowerCalculator.withBase(0.0).powers(2.0, -1.0, 4));
+        assertThrows(IllegalArgumentException.class, () -> PowerCalculator.withBase(-2.0).powers(0.0, 0.5, 2));
+        assertThrows(IllegalArgumentException.class, () -> PowerCalculator.withBase(2.0).powers(0.0, 1.0, -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> PowerCalculator.withBase(2.0).powers(0.0, Double.NaN, 1));
+        // A single element only needs a valid start
+        assertEquals(1.0, PowerCalculator.withBase(-2.0).powers(0.0, 0.5, 1).nextDouble(), 0.0);
+        assertEquals(0.0, PowerCalculator.withBase(0.0).powers(2.0, -1.0, 3).next(), 0.0);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+public class LatencyHistogramTest {
+
+    @Test
+    void testBucketsAreContiguousAndPrecise() {
+        long previous = -1;
+        for (int index = 0; index < LatencyHistogram.index(Long.MAX_VALUE); index++) {
+            long highest = LatencyHistogram.highestInBucket(index);
+            assertEquals(index, LatencyHistogram.index(highest));
+            assertEquals(index + 1, LatencyHistogram.index(highest + 1));
+            long lowest = previous + 1;
+            // Each bucket spans less than 1/128 of its values
+            assertTrue(highest - lowest <= Math.max(0, lowest / LatencyHistogram.SUB_BUCKETS), "bucket " + index);
+            previous = highest;
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestInBucket(LatencyHistogram.index(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void testPercentilesMatchSortedValues() {
+        SplittableRandom random = new SplittableRandom(16);
+        long[] values = new long[100_000];
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextDouble(0.0, 25.0));
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : new double[] {0.0, 1.0, 50.0, 90.0, 99.0, 99.9, 99.99, 100.0}) {
+            long exact = values[Math.max(0, (int) Math.ceil(percentile / 100.0 * values.length) - 1)];
+            long reported = histogram.valueAtPercentile(percentile);
+            assertTrue(reported >= exact && reported - exact <= exact / LatencyHistogram.SUB_BUCKETS,
+                    percentile + ": " + exact + " vs " + reported);
+        }
+        assertEquals(values[values.length - 1], histogram.valueAtPercentile(100.0));
+        assertEquals(values[0], histogram.min());
+        assertEquals(values.length, histogram.count());
+        assertEquals(Arrays.stream(values).average().getAsDouble(), histogram.mean(), 1e-6);
+    }
+
+    @Test
+    void testAddAndEdgeCases() {
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        assertEquals(0, a.valueAtPercentile(99.0));
+        assertEquals(0, a.min());
+        assertEquals(0.0, a.mean(), 0.0);
+
+        a.record(5);
+        a.record(-3);
+        b.record(1_000_000);
+        a.add(b);
+        assertEquals(3, a.count());
+        assertEquals(0, a.min());
+        assertEquals(1_000_000, a.max());
+        assertEquals(5, a.valueAtPercentile(50.0));
+        assertEquals(1_000_000, a.valueAtPercentile(100.0));
+        assertThrows(IllegalArgumentException.class, () -> a.valueAtPercentile(100.5));
+        assertThrows(IllegalArgumentException.class, () -> a.valueAtPercentile(Double.NaN));
+    }
+}
@@ -0,0 +1,117 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+
+public class LoadGeneratorTest {
+
+    @Test
+    void testWorkloadMix() {
+        LoadGenerator.Workload workload = new LoadGenerator.Workload(1.0, 10.0, -3.0, 3.0, 0.5, 0.2);
+        double[] xs = new double[20_000];
+        double[] ys = new double[20_000];
+        workload.fill(new SplittableRandom(1), xs, ys);
+
+        int invalid = 0;
+        int integers = 0;
+        for (int i = 0; i < xs.length; i++) {
+            if (PowerCalculator.status(xs[i], ys[i]) != PowerStatus.OK) {
+                invalid++;
+            } else {
+                assertTrue(Math.abs(xs[i]) >= 1.0 && Math.abs(xs[i]) <= 10.0);
+                assertTrue(ys[i] >= -3.0 && ys[i] <= 3.0);
+                if (PowerCalculator.isInteger(ys[i])) {
+                    integers++;
+                }
+            }
+        }
+        assertEquals(0.2, invalid / (double) xs.length, 0.02);
+        assertEquals(0.5, integers / (double) (xs.length - invalid), 0.03);
+        assertThrows(IllegalArgumentException.class, () -> new LoadGenerator.Workload(0.0, 1.0, 0, 1, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new LoadGenerator.Workload(1.0, 2.0, 1, 0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new LoadGenerator.Workload(1.0, 2.0, 0, 1, 0, 1.5));
+    }
+
+    @Test
+    void testClosedLoopCountsInvalidCalls() throws Exception {
+        LoadGenerator.Workload workload = new LoadGenerator.Workload(0.5, 100.0, -10.0, 10.0, 0.5, 1.0);
+        LoadGenerator.Report report = new LoadGenerator(LoadGenerator.target("inprocess"), workload,
+                2, 0.0, 0.0, 0.2, 42).run("test", "inprocess");
+
+        assertTrue(report.histogram.count() > 0);
+        assertEquals(report.histogram.count(), report.errors);
+        assertEquals("closed", report.mode());
+    }
+
+    @Test
+    void testFixedRateOverTcp() throws Exception {
+        PowerTcpServer server = new PowerTcpServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+        try {
+            LoadGenerator.Workload workload = new LoadGenerator.Workload(0.5, 100.0, -10.0, 10.0, 0.5, 0.0);
+            LoadGenerator.Report report = new LoadGenerator(
+                    LoadGenerator.target("tcp://127.0.0.1:" + server.port()), workload,
+                    2, 2000.0, 0.1, 0.5, 42).run("", "tcp");
+
+            // 2000 calls/s for half a second, split across two threads
+            assertEquals(1000, report.histogram.count(), 20);
+            assertEquals(0, report.errors);
+            assertEquals("fixed", report.mode());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void testReports() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_500);
+        histogram.record(2_000);
+        LoadGenerator.Report report = new LoadGenerator.Report("a,\"b\"", "inprocess", 4, 0.0, 2.0, 1, histogram);
+
+        assertEquals("\"a,\"\"b\"\"\",inprocess,closed,4,0.0,2.0,2,1,1.0,1.75,1.503,2.0,2.0,2.0,2.0",
+                report.toCsv());
+        assertEquals(15, LoadGenerator.Report.CSV_HEADER.split(",").length);
+        assertEquals("{\"label\":\"a,\\\"b\\\"\",\"target\":\"inprocess\",\"mode\":\"closed\",\"threads\":4,"
+                + "\"rate\":0.0,\"duration_s\":2.0,\"operations\":2,\"errors\":1,\"throughput_ops_s\":1.0,"
+                + "\"latency_us\":{\"mean\":1.75,\"p50\":1.503,\"p90\":2.0,\"p99\":2.0,\"p99_9\":2.0,\"max\":2.0}}",
+                report.toJson());
+    }
+
+    @Test
+    void testCommandLineWritesCsvAndJson() throws IOException {
+        Path dir = Files.createTempDirectory("load");
+        Path csv = dir.resolve("runs.csv");
+        Path json = dir.resolve("run.json");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        String[] args = {"--load", "--target", "batch", "--duration", "0.1", "--warmup", "0",
+            "--label", "build-1", "--csv", csv.toString(), "--json", json.toString()};
+
+        assertEquals(0, CommandLine.run(args, System.in, new PrintStream(out), new PrintStream(err)));
+        assertEquals(0, CommandLine.run(args, System.in, new PrintStream(out), new PrintStream(err)));
+
+        List<String> rows = Files.readAllLines(csv);
+        assertEquals(3, rows.size());
+        assertEquals(LoadGenerator.Report.CSV_HEADER, rows.get(0));
+        assertTrue(rows.get(2).startsWith("build-1,batch,closed,1,"));
+        assertTrue(new String(Files.readAllBytes(json), StandardCharsets.US_ASCII).startsWith("{\"label\":\"build-1\""));
+        assertTrue(out.toString(StandardCharsets.US_ASCII).contains("p99.9"));
+
+        assertEquals(2, CommandLine.run(new String[] {"--load", "--target", "ftp://x:1"}, System.in,
+                new PrintStream(out), new PrintStream(err)));
+        assertEquals(2, CommandLine.run(new String[] {"--load", "--bases", "5"}, System.in,
+                new PrintStream(out), new PrintStream(err)));
+    }
+}
@@ -0,0 +1,46 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+
+public class LogEngineTest {
+
+    private static double ulpError(double actual, double expected) {
+        if (actual == expected) {
+            return 0.0;
+        }
+        return Math.abs(actual - expected) / Math.ulp(expected);
+    }
+
+    @Test
+    void testSpecialValues() {
+        assertEquals(0.0, LogEngine.ln(1.0), 0.0);
+        assertEquals(Double.NEGATIVE_INFINITY, LogEngine.ln(0.0), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, LogEngine.ln(Double.POSITIVE_INFINITY), 0.0);
+        assertTrue(Double.isNaN(LogEngine.ln(-1.0)));
+        assertTrue(Double.isNaN(LogEngine.ln(Double.NaN)));
+    }
+
+    @Test
+    void testExtremeMagnitudes() {
+        double[] inputs = {Double.MIN_VALUE, 4.9e-320, Double.MIN_NORMAL, 1e-300, 1e300,
+            Double.MAX_VALUE, 2.0, 0.5};
+        for (double x : inputs) {
+            assertTrue(ulpError(LogEngine.ln(x), StrictMath.log(x)) <= 1.0, "ln(" + x + ")");
+        }
+    }
+
+    @Test
+    void testRandomInputsWithinOneUlp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 200_000; i++) {
+            // Uniform over the bit patterns of positive finite doubles, plus values near 1
+            double x = i % 2 == 0
+                    ? Double.longBitsToDouble(random.nextLong(1L, 0x7FF0000000000000L))
+                    : 1.0 + (random.nextDouble() - 0.5) * 0.1;
+            assertTrue(ulpError(LogEngine.ln(x), StrictMath.log(x)) <= 1.0, "ln(" + x + ")");
+        }
+    }
+}
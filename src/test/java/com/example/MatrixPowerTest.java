@@ -0,0 +1,152 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+
+public class MatrixPowerTest {
+
+    private static double[] naiveMultiply(double[] a, double[] b, int dim) {
+        double[] out = new double[dim * dim];
+        for (int i = 0; i < dim; i++) {
+            for (int j = 0; j < dim; j++) {
+                double sum = 0.0;
+                for (int k = 0; k < dim; k++) {
+                    sum += a[i * dim + k] * b[k * dim + j];
+                }
+                out[i * dim + j] = sum;
+            }
+        }
+        return out;
+    }
+
+    private static double[] random(SplittableRandom random, int dim) {
+        double[] matrix = new double[dim * dim];
+        for (int i = 0; i < matrix.length; i++) {
+            matrix[i] = random.nextDouble(-1.0, 1.0);
+        }
+        return matrix;
+    }
+
+    private static void assertIdentity(double[] matrix, int dim, double tolerance) {
+        for (int i = 0; i < dim; i++) {
+            for (int j = 0; j < dim; j++) {
+                assertEquals(i == j ? 1.0 : 0.0, matrix[i * dim + j], tolerance, "(" + i + ", " + j + ")");
+            }
+        }
+    }
+
+    @Test
+    void testFibonacci() {
+        double[] fibonacci = {1.0, 1.0, 1.0, 0.0};
+        // F(71) < 2^53, so every product is exact
+        double[] result = PowerCalculator.matrixPower(fibonacci, 2, 70);
+
+        assertArrayEquals(new double[] {308061521170129.0, 190392490709135.0,
+            190392490709135.0, 117669030460994.0}, result, 0.0);
+        assertArrayEquals(new double[] {1.0, 1.0, 1.0, 0.0}, fibonacci, 0.0);
+        assertArrayEquals(fibonacci, PowerCalculator.matrixPower(fibonacci, 2, 1), 0.0);
+        assertIdentity(PowerCalculator.matrixPower(fibonacci, 2, 0), 2, 0.0);
+    }
+
+    @Test
+    void testMatchesRepeatedMultiplication() {
+        SplittableRandom random = new SplittableRandom(25);
+        for (int dim : new int[] {1, 3, 7, 70}) {
+            double[] matrix = random(random, dim);
+            for (int i = 0; i < matrix.length; i++) {
+                // Keep the spectral radius near 1 so the powers stay in range
+                matrix[i] /= Math.sqrt(dim);
+            }
+            double[] expected = matrix.clone();
+            for (int n = 2; n <= 20; n++) {
+                expected = naiveMultiply(expected, matrix, dim);
+                double[] actual = PowerCalculator.matrixPower(matrix, dim, n);
+                for (int i = 0; i < expected.length; i++) {
+                    assertEquals(expected[i], actual[i], 1e-12, "dim " + dim + ", n " + n);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testBlockedParallelProductIsExact() {
+        SplittableRandom random = new SplittableRandom(26);
+        int dim = MatrixPower.PARALLEL_THRESHOLD + MatrixPower.BLOCK / 2 + 3;
+        double[] a = random(random, dim);
+        double[] b = random(random, dim);
+        double[] out = new double[dim * dim];
+
+        MatrixPower.multiply(a, b, out, dim);
+        assertArrayEquals(naiveMultiply(a, b, dim), out, 0.0);
+
+        double[] square = PowerCalculator.matrixPower(a, dim, 2);
+        assertArrayEquals(naiveMultiply(a, a, dim), square, 0.0);
+    }
+
+    @Test
+    void testMarkovChainConverges() {
+        // Two-state chain whose stationary distribution is (5/6, 1/6)
+        double[] transitions = {0.9, 0.1, 0.5, 0.5};
+        double[] result = PowerCalculator.matrixPower(transitions, 2, 200);
+
+        assertArrayEquals(new double[] {5.0 / 6.0, 1.0 / 6.0, 5.0 / 6.0, 1.0 / 6.0}, result, 1e-12);
+    }
+
+    @Test
+    void testNegativePowersInvert() {
+        SplittableRandom random = new SplittableRandom(27);
+        int dim = 6;
+        double[] matrix = random(random, dim);
+        for (int i = 0; i < dim; i++) {
+            // Diagonally dominant, so well conditioned
+            matrix[i * dim + i] += dim;
+        }
+
+        assertIdentity(naiveMultiply(PowerCalculator.matrixPower(matrix, dim, -1), matrix, dim), dim, 1e-14);
+        assertIdentity(naiveMultiply(PowerCalculator.matrixPower(matrix, dim, -3),
+                PowerCalculator.matrixPower(matrix, dim, 3), dim), dim, 1e-13);
+        // A pivot of zero in the first column needs a row swap
+        assertArrayEquals(new double[] {0.0, 1.0, 1.0, 0.0},
+                PowerCalculator.matrixPower(new double[] {0.0, 1.0, 1.0, 0.0}, 2, -1), 0.0);
+        assertArrayEquals(new double[] {0.5, 0.0, 0.0, 0.25},
+                PowerCalculator.matrixPower(new double[] {2.0, 0.0, 0.0, 4.0}, 2, -1), 0.0);
+        assertArrayEquals(new double[] {1.0, 0.0, 0.0, 1.0},
+                PowerCalculator.matrixPower(new double[] {-1.0, 0.0, 0.0, 1.0}, 2, Long.MIN_VALUE), 0.0);
+    }
+
+    @Test
+    void testWidelyScaledRowsInvert() {
+        assertArrayEquals(new double[] {1.0 / 1e16, 0.0, 0.0, 1.0},
+                PowerCalculator.matrixPower(new double[] {1e16, 0.0, 0.0, 1.0}, 2, -1), 0.0);
+        assertArrayEquals(new double[] {1.0 / 1e200, 0.0, 0.0, 0.0, 1.0, 0.0, 0.0, 0.0, 1.0 / 1e-200},
+                PowerCalculator.matrixPower(new double[] {1e200, 0.0, 0.0, 0.0, 1.0, 0.0, 0.0, 0.0, 1e-200},
+                        3, -1), 0.0);
+
+        double[] scaled = {1e16, 2e16, 3.0, 4.0};
+        double[] inverse = PowerCalculator.matrixPower(scaled, 2, -1);
+        assertIdentity(naiveMultiply(inverse, scaled, 2), 2, 1e-15);
+        // Scaling a row of a singular matrix keeps it singular
+        assertThrows(IllegalArgumentException.class,
+                () -> PowerCalculator.matrixPower(new double[] {1e16, 2e16, 1.0, 2.0}, 2, -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> PowerCalculator.matrixPower(new double[] {1.0, 0.0, 0.0, Double.NaN}, 2, -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> PowerCalculator.matrixPower(new double[] {1.0, 0.0, 0.0, Double.POSITIVE_INFINITY}, 2, -1));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> PowerCalculator.matrixPower(new double[] {1.0, 2.0, 2.0, 4.0}, 2, -1));
+        assertEquals("Matrix is singular and cannot be raised to a negative power.", ex.getMessage());
+        assertThrows(IllegalArgumentException.class,
+                () -> PowerCalculator.matrixPower(new double[] {0.1, 0.2, 0.3, 0.6}, 2, -2));
+        assertThrows(IllegalArgumentException.class, () -> PowerCalculator.matrixPower(new double[3], 2, 2));
+        assertThrows(IllegalArgumentException.class, () -> PowerCalculator.matrixPower(new double[0], 0, 2));
+        // A singular matrix is fine for non-negative powers
+        assertArrayEquals(new double[] {5.0, 10.0, 10.0, 20.0},
+                PowerCalculator.matrixPower(new double[] {1.0, 2.0, 2.0, 4.0}, 2, 2), 0.0);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlotSamplerTest {
+
+    @Test
+    void testBaseSamplesMatchPower() {
+        PlotSampler sampler = new PlotSampler(PlotSampler.Variable.BASE, 2.5, 16);
+        double[] out = new double[300];
+        assertTrue(sampler.samples(-6, 10, out.length, out, () -> false));
+        for (int i = 0; i < out.length; i++) {
+            double x = PlotSampler.position(-6, 10 + i);
+            assertEquals(PowerCalculator.power(x, 2.5), out[i], 0.0, "x = " + x);
+        }
+    }
+
+    @Test
+    void testExponentSamplesIncludeNegativeIndices() {
+        PlotSampler sampler = new PlotSampler(PlotSampler.Variable.EXPONENT, 3.0, 16);
+        double[] out = new double[100];
+        assertTrue(sampler.samples(-4, -50, out.length, out, () -> false));
+        for (int i = 0; i < out.length; i++) {
+            double y = PlotSampler.position(-4, -50 + i);
+            assertEquals(PowerCalculator.power(3.0, y), out[i], 0.0, "y = " + y);
+        }
+    }
+
+    @Test
+    void testInvalidSamplesAreNaN() {
+        PlotSampler sampler = new PlotSampler(PlotSampler.Variable.BASE, 0.5, 16);
+        double[] out = new double[4];
+        assertTrue(sampler.samples(0, -2, out.length, out, () -> false));
+        assertTrue(Double.isNaN(out[0]));
+        assertTrue(Double.isNaN(out[1]));
+        assertEquals(1.0, out[3], 0.0);
+    }
+
+    @Test
+    void testPanComputesOnlyNewTiles() {
+        PlotSampler sampler = new PlotSampler(PlotSampler.Variable.BASE, 2.0, 16);
+        double[] out = new double[2 * PlotSampler.TILE];
+        sampler.samples(-8, 0, out.length, out, () -> false);
+        assertEquals(2, sampler.computedTiles());
+
+        // Half a screen to the right: one tile is reused, one is new
+        sampler.samples(-8, PlotSampler.TILE, out.length, out, () -> false);
+        assertEquals(3, sampler.computedTiles());
+        sampler.samples(-8, 0, out.length, out, () -> false);
+        assertEquals(3, sampler.computedTiles());
+    }
+
+    @Test
+    void testLeastRecentlyUsedTileIsEvicted() {
+        PlotSampler sampler = new PlotSampler(PlotSampler.Variable.BASE, 2.0, 2);
+        double[] out = new double[1];
+        sampler.samples(0, 0, 1, out, () -> false);
+        sampler.samples(0, PlotSampler.TILE, 1, out, () -> false);
+        sampler.samples(0, 0, 1, out, () -> false);
+        sampler.samples(0, 2 * PlotSampler.TILE, 1, out, () -> false);
+        assertEquals(3, sampler.computedTiles());
+
+        // Tile 0 was used more recently than tile 1, so tile 1 went
+        sampler.samples(0, 0, 1, out, () -> false);
+        assertEquals(3, sampler.computedTiles());
+        sampler.samples(0, PlotSampler.TILE, 1, out, () -> false);
+        assertEquals(4, sampler.computedTiles());
+    }
+
+    @Test
+    void testCancelledBeforeComputing() {
+        PlotSampler sampler = new PlotSampler(PlotSampler.Variable.BASE, 2.0, 16);
+        double[] out = new double[PlotSampler.TILE];
+        assertFalse(sampler.samples(0, 0, out.length, out, () -> true));
+        assertEquals(0, sampler.computedTiles());
+
+        // Cached tiles are still served when cancelled
+        sampler.samples(0, 0, out.length, out, () -> false);
+        assertTrue(sampler.samples(0, 0, out.length, out, () -> true));
+    }
+
+    @Test
+    void testRejectsEmptyCache() {
+        assertThrows(IllegalArgumentException.class, () -> new PlotSampler(PlotSampler.Variable.BASE, 2.0, 0));
+    }
+}
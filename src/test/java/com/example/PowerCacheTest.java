@@ -0,0 +1,103 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PowerCacheTest {
+
+    @Test
+    void testHitsAndMisses() {
+        PowerCache cache = new PowerCache(64, PowerCache.EvictionPolicy.CLOCK);
+
+        assertEquals(8.0, cache.power(2.0, 3.0), 0.0);
+        assertEquals(8.0, cache.power(2.0, 3.0), 0.0);
+        assertEquals(PowerCalculator.power(3.7, 2.2), cache.power(3.7, 2.2), 0.0);
+
+        assertEquals(1, cache.hitCount());
+        assertEquals(2, cache.missCount());
+        assertEquals(0, cache.evictionCount());
+    }
+
+    @Test
+    void testInvalidInputsThrowAndAreNotCached() {
+        PowerCache cache = new PowerCache(64, PowerCache.EvictionPolicy.CLOCK);
+
+        assertThrows(IllegalArgumentException.class, () -> cache.power(0.0, -2.0));
+        assertThrows(IllegalArgumentException.class, () -> cache.power(0.0, -2.0));
+        assertThrows(IllegalArgumentException.class, () -> cache.power(-4.0, 0.5));
+
+        assertEquals(0, cache.hitCount());
+        assertEquals(3, cache.missCount());
+    }
+
+    @Test
+    void testInvalidConstructorArguments() {
+        assertThrows(NullPointerException.class, () -> new PowerCache(64, null));
+        assertThrows(IllegalArgumentException.class, () -> new PowerCache(0, PowerCache.EvictionPolicy.CLOCK));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PowerCache(Integer.MAX_VALUE, PowerCache.EvictionPolicy.CLOCK));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PowerCache(PowerCache.MAX_CAPACITY + 1, PowerCache.EvictionPolicy.CLOCK));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PowerCache(64, PowerCache.EvictionPolicy.CLOCK, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void testEvictionKeepsCacheBounded() {
+        for (PowerCache.EvictionPolicy policy : PowerCache.EvictionPolicy.values()) {
+            PowerCache cache = new PowerCache(32, policy, 2);
+            int distinct = 10 * cache.capacity();
+            for (int i = 0; i < distinct; i++) {
+                assertEquals(PowerCalculator.power(1.0 + i, 0.5), cache.power(1.0 + i, 0.5), 0.0);
+            }
+            assertEquals(distinct, cache.missCount());
+            assertTrue(cache.evictionCount() >= distinct - cache.capacity(), policy.name());
+        }
+    }
+
+    @Test
+    void testRecentlyUsedEntrySurvivesEviction() {
+        for (PowerCache.EvictionPolicy policy : PowerCache.EvictionPolicy.values()) {
+            // A single set: every key competes for the same eight slots
+            PowerCache cache = new PowerCache(8, policy, 1);
+            cache.power(2.0, 10.0);
+            for (int i = 0; i < 100; i++) {
+                cache.power(2.0, 10.0);
+                cache.power(3.0 + i, 2.0);
+            }
+            long hitsBefore = cache.hitCount();
+            cache.power(2.0, 10.0);
+            assertEquals(hitsBefore + 1, cache.hitCount(), policy.name());
+        }
+    }
+
+    @Test
+    void testConcurrentAccess() throws InterruptedException {
+        PowerCache cache = new PowerCache(256, PowerCache.EvictionPolicy.LRU_APPROXIMATE, 4);
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    double x = 1.0 + (i % 500);
+                    if (cache.power(x, 1.5) != PowerCalculator.power(x, 1.5)) {
+                        synchronized (failures) {
+                            failures.add(new AssertionError("Wrong value for " + x));
+                        }
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(failures.isEmpty());
+        assertEquals(80_000, cache.hitCount() + cache.missCount());
+    }
+}
@@ -3,6 +3,8 @@ package com.example;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.concurrent.ForkJoinPool;
+
 public class PowerCalculatorTest {
 
     @Test
@@ -77,6 +79,137 @@ public class PowerCalculatorTest {
         assertThrows(IllegalArgumentException.class, () -> PowerCalculator.power(-1.0, 0.5));
         assertThrows(IllegalArgumentException.class, () -> PowerCalculator.power(-2.0, 0.5));
     }
-}
 
+    @Test
+    void testBulkPowerMatchesScalar() {
+        double[] xs = {2.0, 4.0, -2.0, 0.0, 1.0, 10.0, 0.1, 5.0, 1.5, -3.0};
+        double[] ys = {3.0, 0.5, -3.0, 5.0, -50.0, -30.0, 15.0, 0.5, 2.25, 0.0};
+        double[] out = new double[xs.length];
+
+        PowerCalculator.power(xs, ys, out);
+
+        for (int i = 0; i < xs.length; i++) {
+            assertEquals(PowerCalculator.power(xs[i], ys[i]), out[i], 0.0);
+        }
+    }
+
+    @Test
+    void testBulkPowerFixedExponentMatchesScalar() {
+        double[] xs = {2.0, 4.0, 0.0, 1.0, 10.0, 0.1, 5.0, 1.5, 1e-300, 1e300};
+        double[] exponents = {0.0, 1.0, 2.0, 3.0, -2.0, 0.5, 2.2, -1.5};
+        double[] out = new double[xs.length];
+
+        for (double y : exponents) {
+            PowerCalculator.power(xs, y, out);
+            for (int i = 0; i < xs.length; i++) {
+                if (xs[i] == 0.0 && y < 0.0) {
+                    assertTrue(Double.isNaN(out[i]));
+                } else {
+                    assertEquals(PowerCalculator.power(xs[i], y), out[i], 0.0);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testBulkPowerWritesNaNForInvalidElements() {
+        double[] xs = {0.0, -4.0, 2.0};
+        double[] ys = {-2.0, 0.5, 3.0};
+        double[] out = new double[3];
+
+        PowerCalculator.power(xs, ys, out);
+
+        assertTrue(Double.isNaN(out[0]));
+        assertTrue(Double.isNaN(out[1]));
+        assertEquals(8.0, out[2], 0.0);
+
+        double[] fixed = new double[2];
+        PowerCalculator.power(new double[] {-2.0, -4.0}, 1.5, fixed);
+        assertTrue(Double.isNaN(fixed[0]));
+        assertTrue(Double.isNaN(fixed[1]));
+    }
+
+    @Test
+    void testBulkPowerWithOffsets() {
+        double[] xs = {9.0, 2.0, 3.0, 9.0};
+        double[] ys = {9.0, 9.0, 2.0, 3.0};
+        double[] out = {-1.0, -1.0, -1.0, -1.0};
+
+        PowerCalculator.power(xs, 1, ys, 2, out, 1, 2);
+
+        assertEquals(-1.0, out[0], 0.0);
+        assertEquals(4.0, out[1], 0.0);
+        assertEquals(27.0, out[2], 0.0);
+        assertEquals(-1.0, out[3], 0.0);
 
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> PowerCalculator.power(xs, 3, ys, 0, out, 0, 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> PowerCalculator.power(xs, new double[2], out));
+    }
+
+    @Test
+    void testParallelPowerMatchesSequential() {
+        int n = 100_000;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = (i % 7 == 0 ? -1.0 : 1.0) * (0.5 + i * 1e-3);
+            ys[i] = (i % 3 == 0) ? (i % 11) : (i % 13) * 0.37 - 2.0;
+        }
+        double[] sequential = new double[n];
+        double[] parallel = new double[n];
+        PowerCalculator.power(xs, ys, sequential);
+
+        PowerCalculator.parallelPower(xs, ys, parallel);
+        assertArrayEquals(sequential, parallel, 0.0);
+
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            PowerCalculator.parallelPower(xs, ys, parallel, pool, 1000);
+        } finally {
+            pool.shutdown();
+        }
+        assertArrayEquals(sequential, parallel, 0.0);
+
+        assertArrayEquals(sequential, PowerCalculator.powerStream(xs, ys).parallel().toArray(), 0.0);
+    }
+
+    @Test
+    void testStatusCodes() {
+        assertEquals(PowerStatus.OK, PowerCalculator.status(2.0, 3.0));
+        assertEquals(PowerStatus.OK, PowerCalculator.status(-2.0, 3.0));
+        assertEquals(PowerStatus.OK, PowerCalculator.status(0.0, 0.0));
+        assertEquals(PowerStatus.ZERO_NEGATIVE_POWER, PowerCalculator.status(0.0, -2.0));
+        assertEquals(PowerStatus.COMPLEX_RESULT, PowerCalculator.status(-4.0, 0.5));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> PowerCalculator.power(-4.0, 0.5));
+        assertEquals(PowerStatus.message(PowerStatus.COMPLEX_RESULT), ex.getMessage());
+        assertEquals("", PowerStatus.message(PowerStatus.OK));
+    }
+
+    @Test
+    void testTryPowerNeverThrows() {
+        assertEquals(8.0, PowerCalculator.tryPower(2.0, 3.0), 0.0);
+        assertTrue(Double.isNaN(PowerCalculator.tryPower(0.0, -2.0)));
+        assertTrue(Double.isNaN(PowerCalculator.tryPower(-4.0, 0.5)));
+    }
+
+    @Test
+    void testBulkPowerWithStatus() {
+        double[] xs = {2.0, 0.0, -4.0, 9.0};
+        double[] ys = {3.0, -1.0, 0.5, 0.5};
+        double[] out = new double[4];
+        byte[] status = new byte[4];
+
+        PowerCalculator.power(xs, ys, out, status);
+
+        assertArrayEquals(new byte[] {PowerStatus.OK, PowerStatus.ZERO_NEGATIVE_POWER,
+            PowerStatus.COMPLEX_RESULT, PowerStatus.OK}, status);
+        assertEquals(8.0, out[0], 0.0);
+        assertTrue(Double.isNaN(out[1]));
+        assertTrue(Double.isNaN(out[2]));
+        assertEquals(PowerCalculator.power(9.0, 0.5), out[3], 0.0);
+    }
+}
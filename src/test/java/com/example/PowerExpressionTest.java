@@ -0,0 +1,179 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+public class PowerExpressionTest {
+
+    private static double eval(String source, double... values) {
+        return PowerCalculator.compileExpression(source).evaluate(values);
+    }
+
+    @Test
+    void testPrecedenceAndAssociativity() {
+        assertEquals(512.0, eval("2^3^2"), 0.0);
+        assertEquals(-4.0, eval("-2^2"), 0.0);
+        assertEquals(16.0, eval("(-2)^4"), 0.0);
+        assertEquals(0.125, eval("2^-3"), 0.0);
+        assertEquals(14.0, eval("2 + 3 * 4"), 0.0);
+        assertEquals(2.0, eval("8 / 2 / 2"), 0.0);
+        assertEquals(1.0, eval("5 - 3 - 1"), 0.0);
+        assertEquals(2.5e-3, eval("2.5E-3"), 0.0);
+        assertEquals(PowerCalculator.power(2.0, PowerCalculator.power(3.0, 0.5)), eval("2^3^0.5"), 0.0);
+    }
+
+    @Test
+    void testVariablesInOrderOfAppearance() {
+        PowerExpression expression = PowerCalculator.compileExpression("principal * (1 + rate)^n + rate");
+
+        assertEquals(List.of("principal", "rate", "n"), expression.variables());
+        assertFalse(expression.isConstant());
+        assertEquals(1000.0 * PowerCalculator.power(1.05, 10.0) + 0.05,
+                expression.evaluate(1000.0, 0.05, 10.0), 0.0);
+        assertTrue(PowerCalculator.compileExpression("2^0.5 * 3").isConstant());
+        assertThrows(IllegalArgumentException.class, () -> expression.evaluate(1.0, 2.0));
+    }
+
+    @Test
+    void testScalarMatchesPower() {
+        SplittableRandom random = new SplittableRandom(20);
+        PowerExpression variableExponent = PowerCalculator.compileExpression("x^y");
+        PowerExpression constantExponent = PowerCalculator.compileExpression("x^2.2");
+        PowerExpression constantBase = PowerCalculator.compileExpression("1.05^y");
+        for (int i = 0; i < 10_000; i++) {
+            double x = random.nextDouble(0.0, 100.0);
+            double y = random.nextDouble(-20.0, 20.0);
+            assertEquals(PowerCalculator.power(x, y), variableExponent.evaluate(x, y), 0.0);
+            assertEquals(PowerCalculator.power(x, 2.2), constantExponent.evaluate(x), 0.0);
+            assertEquals(PowerCalculator.power(1.05, y), constantBase.evaluate(y), 0.0);
+        }
+    }
+
+    @Test
+    void testBulkMatchesScalar() {
+        PowerExpression expression = PowerCalculator.compileExpression("-(x - 1)^2.5 / (2^y + x^y) * 3 + x^3");
+        SplittableRandom random = new SplittableRandom(21);
+        int n = 3 * PowerExpression.BLOCK + 17;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = random.nextDouble(-2.0, 10.0);
+            ys[i] = random.nextInt(4) == 0 ? random.nextInt(-3, 4) : random.nextDouble(-4.0, 4.0);
+        }
+        double[] out = new double[n];
+        expression.evaluate(new double[][] {xs, ys}, out);
+
+        for (int i = 0; i < n; i++) {
+            double expected;
+            try {
+                expected = expression.evaluate(xs[i], ys[i]);
+            } catch (IllegalArgumentException ex) {
+                expected = Double.NaN;
+            }
+            assertEquals(expected, out[i], 0.0, "x = " + xs[i] + ", y = " + ys[i]);
+        }
+    }
+
+    @Test
+    void testBulkOutputMayAliasInput() {
+        PowerExpression expression = PowerCalculator.compileExpression("x^2 + 1");
+        double[] xs = {1.0, 2.0, 3.0};
+        expression.evaluate(new double[][] {xs}, xs);
+
+        assertArrayEquals(new double[] {2.0, 5.0, 10.0}, xs, 0.0);
+        assertThrows(IllegalArgumentException.class,
+                () -> expression.evaluate(new double[][] {new double[2]}, new double[3]));
+        assertThrows(IllegalArgumentException.class, () -> expression.evaluate(new double[0][], new double[3]));
+    }
+
+    @Test
+    void testInvalidPowersFailOnEvaluation() {
+        PowerExpression expression = PowerCalculator.compileExpression("1 + 0^-1");
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, expression::evaluate);
+        assertEquals(PowerStatus.ZERO_NEGATIVE_POWER_MESSAGE, ex.getMessage());
+
+        ex = assertThrows(IllegalArgumentException.class, () -> eval("x^0.5", -4.0));
+        assertEquals(PowerStatus.COMPLEX_RESULT_MESSAGE, ex.getMessage());
+
+        double[] out = new double[2];
+        PowerCalculator.compileExpression("x^0.5").evaluate(new double[][] {{-4.0, 4.0}}, out);
+        assertTrue(Double.isNaN(out[0]));
+        assertEquals(2.0, out[1], 0.0);
+    }
+
+    @Test
+    void testSyntaxErrors() {
+        for (String source : Arrays.asList("", "2 +", "(2", "2)", "2 ^ ^ 3", "1..2", "2 $ 3", "2e")) {
+            IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                    () -> PowerCalculator.compileExpression(source), source);
+            assertTrue(ex.getMessage().contains("at position"), ex.getMessage());
+        }
+    }
+
+    @Test
+    void testDeepNestingIsRejected() {
+        String parentheses = repeat("(", 20_000) + "1" + repeat(")", 20_000);
+        String powers = "1" + repeat("^1", 20_000);
+        String signs = repeat("-", 20_000) + "x";
+        // Left-associative chains nest in the tree, and evaluating it recurses
+        String sum = "x" + repeat(" + x", 20_000);
+        for (String source : Arrays.asList(parentheses, powers, signs, sum)) {
+            IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                    () -> PowerCalculator.compileExpression(source));
+            assertTrue(ex.getMessage().startsWith("Expression nested too deeply at position"));
+        }
+
+        assertEquals(1.0, PowerCalculator.compileExpression(
+                repeat("(", 500) + "1" + repeat(")", 500) + repeat("^1", 500)).evaluate(), 0.0);
+        PowerExpression chain = PowerCalculator.compileExpression("x" + repeat(" + x", 900));
+        assertEquals(901.0, chain.evaluate(1.0), 0.0);
+        double[] out = new double[3];
+        chain.evaluate(new double[][] {{1.0, 2.0, 0.5}}, out);
+        assertArrayEquals(new double[] {901.0, 1802.0, 450.5}, out, 0.0);
+    }
+
+    private static String repeat(String text, int count) {
+        StringBuilder builder = new StringBuilder(text.length() * count);
+        for (int i = 0; i < count; i++) {
+            builder.append(text);
+        }
+        return builder.toString();
+    }
+
+    @Test
+    void testEvalCommand() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayInputStream in = new ByteArrayInputStream(
+                "2 3\n# comment\n4,0.5\n0 -1\nabc 2\n5\n".getBytes(StandardCharsets.UTF_8));
+        int status = CommandLine.run(new String[] {"--eval", "x^y"}, in, new PrintStream(out),
+                new PrintStream(new ByteArrayOutputStream()));
+
+        assertEquals(0, status);
+        assertEquals("x,y,result,error\n"
+                + "2,3,8.0,\n"
+                + "4,0.5,2.0,\n"
+                + "0,-1,,\"" + PowerStatus.ZERO_NEGATIVE_POWER_MESSAGE + "\"\n"
+                + "abc,2,,invalid value for x\n"
+                + "5,,expected 2 values\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testEvalCommandConstant() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int status = CommandLine.run(new String[] {"--eval", "2^10 - 24"}, System.in, new PrintStream(out),
+                new PrintStream(new ByteArrayOutputStream()));
+
+        assertEquals(0, status);
+        assertEquals("result,error\n1000.0,\n", out.toString(StandardCharsets.UTF_8));
+        assertEquals(2, CommandLine.run(new String[] {"--eval", "2 +"}, System.in,
+                new PrintStream(new ByteArrayOutputStream()), new PrintStream(new ByteArrayOutputStream())));
+    }
+}
@@ -0,0 +1,55 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+
+public class PowerJsonTest {
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static String text(PowerJson.Writer writer) {
+        return new String(writer.bytes(), 0, writer.length(), StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    void testReadPair() {
+        double[] pair = new double[2];
+        byte[] body = ascii("{ \"x\" : -1.5e2,\n\"y\":3 }");
+        PowerJson.readPair(body, body.length, pair);
+        assertEquals(-150.0, pair[0], 0.0);
+        assertEquals(3.0, pair[1], 0.0);
+
+        for (String bad : new String[] {"", "{}", "{\"x\":1}", "{\"x\":1,\"y\":2", "{\"x\":1,\"y\":2}x",
+                "{\"x\":\"1\",\"y\":2}", "{\"x\":1..2,\"y\":2}", "[1,2]"}) {
+            byte[] bytes = ascii(bad);
+            assertThrows(IllegalArgumentException.class, () -> PowerJson.readPair(bytes, bytes.length, pair),
+                    bad);
+        }
+    }
+
+    @Test
+    void testReadBatch() {
+        byte[] body = ascii("{\"ys\":[0.5, 2,3],\"xs\":[4,5,6]}");
+        double[][] in = PowerJson.readBatch(body, body.length, 100);
+        assertArrayEquals(new double[] {4, 5, 6}, in[0], 0.0);
+        assertArrayEquals(new double[] {0.5, 2, 3}, in[1], 0.0);
+
+        byte[] tooLong = ascii("{\"xs\":[1,2,3],\"ys\":[1,2,3]}");
+        assertThrows(IllegalArgumentException.class, () -> PowerJson.readBatch(tooLong, tooLong.length, 2));
+        byte[] mismatched = ascii("{\"xs\":[1,2],\"ys\":[1]}");
+        assertThrows(IllegalArgumentException.class,
+                () -> PowerJson.readBatch(mismatched, mismatched.length, 100));
+    }
+
+    @Test
+    void testWriter() {
+        PowerJson.Writer writer = new PowerJson.Writer(1);
+        writer.write('[').number(0.1).write(',').number(Double.NEGATIVE_INFINITY).write(',')
+                .number(42L).write(',').string("a\"b\\c\né").write(']');
+        assertEquals("[0.1,\"-Infinity\",42,\"a\\\"b\\\\c\\u000a\\u00e9\"]", text(writer));
+    }
+}
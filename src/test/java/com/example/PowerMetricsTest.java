@@ -0,0 +1,77 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+public class PowerMetricsTest {
+
+    @Test
+    void testCountersThroughJmx() throws Exception {
+        assertTrue(PowerMetrics.register());
+        assertTrue(PowerMetrics.register());
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(PowerMetrics.OBJECT_NAME);
+
+        server.invoke(name, "reset", null, null);
+        PowerMetrics.count(PowerMetrics.SPECIAL);
+        PowerMetrics.count(PowerMetrics.INTEGER);
+        PowerMetrics.count(PowerMetrics.VECTOR, 1000);
+        PowerMetrics.error(PowerStatus.COMPLEX_RESULT);
+        PowerMetrics.squaringSteps(1);
+        PowerMetrics.squaringSteps(1000);
+        PowerMetrics.squaringSteps(Long.MAX_VALUE);
+
+        assertEquals(1L, server.getAttribute(name, "SpecialCaseCalls"));
+        assertEquals(1L, server.getAttribute(name, "IntegerCalls"));
+        assertEquals(1000L, server.getAttribute(name, "VectorElements"));
+        assertEquals(1L, server.getAttribute(name, "ComplexResultErrors"));
+        assertEquals(0L, server.getAttribute(name, "ZeroNegativePowerErrors"));
+        long[] steps = (long[]) server.getAttribute(name, "SquaringStepCounts");
+        assertEquals(1L, steps[1]);
+        assertEquals(1L, steps[10]);
+        assertEquals(1L, steps[63]);
+    }
+
+    @Test
+    void testSampledLatency() {
+        PowerMetrics metrics = new PowerMetrics();
+        metrics.reset();
+        for (int i = 1; i <= 1000; i++) {
+            PowerMetrics.recordLatency(i * 10L);
+        }
+        assertEquals(1000, metrics.getSampledCalls());
+        assertEquals(5005.0, metrics.getLatencyMeanNanos(), 0.0);
+        assertEquals(5000, metrics.getLatencyP50Nanos(), 5000 / LatencyHistogram.SUB_BUCKETS);
+        assertEquals(9900, metrics.getLatencyP99Nanos(), 9900 / LatencyHistogram.SUB_BUCKETS);
+        assertEquals(10_000, metrics.getLatencyMaxNanos());
+        assertTrue(metrics.getLatencyP999Nanos() <= metrics.getLatencyMaxNanos());
+
+        // timed() returns the same value whether or not the call is sampled
+        for (int i = 0; i < 10 * PowerMetrics.SAMPLE_INTERVAL; i++) {
+            assertEquals(PowerCalculator.power(2.5, 0.37), PowerMetrics.timed(2.5, 0.37, AccuracyTier.STANDARD), 0.0);
+        }
+        assertTrue(metrics.getSampledCalls() > 1000);
+    }
+
+    @Test
+    void testPowerCallsArePathCounted() {
+        PowerMetrics metrics = new PowerMetrics();
+        metrics.reset();
+        PowerCalculator.power(2.0, 10.0);
+        PowerCalculator.power(2.0, 0.5, AccuracyTier.STRICT);
+        PowerCalculator.tryPower(1.0, 0.5);
+        assertThrows(IllegalArgumentException.class, () -> PowerCalculator.power(0.0, -1.0));
+
+        // The flag is fixed per JVM; without -Dpowercalculator.metrics=true nothing is counted
+        long expected = PowerMetrics.ENABLED ? 1L : 0L;
+        assertEquals(expected, metrics.getIntegerCalls());
+        assertEquals(expected, metrics.getStrictFractionalCalls());
+        assertEquals(expected, metrics.getSpecialCaseCalls());
+        assertEquals(expected, metrics.getZeroNegativePowerErrors());
+        assertEquals(expected, metrics.getSquaringStepCounts()[4]);
+    }
+}
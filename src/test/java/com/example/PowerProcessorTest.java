@@ -0,0 +1,262 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+public class PowerProcessorTest {
+
+    /** Runs the drain loop on the signalling thread, so tests are deterministic. */
+    private static final Executor DIRECT = Runnable::run;
+
+    /**
+     * Records every signal and requests only what the test asks for.
+     */
+    private static class Collector implements Flow.Subscriber<PowerProcessor.Result> {
+        final List<PowerProcessor.Result> results = new ArrayList<>();
+        final CountDownLatch done = new CountDownLatch(1);
+        volatile Flow.Subscription subscription;
+        volatile Throwable error;
+        volatile boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription s) {
+            subscription = s;
+        }
+
+        @Override
+        public void onNext(PowerProcessor.Result item) {
+            synchronized (results) {
+                results.add(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            done.countDown();
+        }
+
+        int size() {
+            synchronized (results) {
+                return results.size();
+            }
+        }
+    }
+
+    /**
+     * A publisher that records demand and emits only when the test says so.
+     */
+    private static final class ManualSource implements Flow.Subscription {
+        long requested;
+        Flow.Subscriber<? super PowerProcessor.Request> target;
+        boolean cancelled;
+
+        void attach(Flow.Subscriber<? super PowerProcessor.Request> subscriber) {
+            target = subscriber;
+            subscriber.onSubscribe(this);
+        }
+
+        void emit(double x, double y) {
+            assertTrue(requested > 0, "emitted without demand");
+            requested--;
+            target.onNext(new PowerProcessor.Request(x, y));
+        }
+
+        @Override
+        public void request(long n) {
+            requested += n;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    @Test
+    void testResultsMatchPowerInOrder() throws InterruptedException {
+        PowerProcessor processor = new PowerProcessor();
+        Collector collector = new Collector();
+        processor.subscribe(collector);
+        collector.subscription.request(Long.MAX_VALUE);
+
+        int n = 20_000;
+        try (SubmissionPublisher<PowerProcessor.Request> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(processor);
+            for (int i = 0; i < n; i++) {
+                publisher.submit(new PowerProcessor.Request(1.0 + i * 1e-3, i % 7 - 3 + 0.5 * (i % 2)));
+            }
+        }
+        assertTrue(collector.done.await(30, TimeUnit.SECONDS));
+
+        assertTrue(collector.completed);
+        assertEquals(n, collector.size());
+        for (int i = 0; i < n; i++) {
+            PowerProcessor.Result result = collector.results.get(i);
+            assertEquals(1.0 + i * 1e-3, result.x(), 0.0);
+            assertEquals(PowerCalculator.power(result.x(), result.y()), result.value(), 0.0);
+        }
+        assertEquals(n, processor.getElements());
+        assertTrue(processor.getLargestBatch() <= PowerProcessor.DEFAULT_MAX_BATCH);
+        assertEquals(0, processor.getQueueDepth());
+    }
+
+    @Test
+    void testBatchesBySizeAndCompletion() {
+        PowerProcessor processor = new PowerProcessor(4, Duration.ofMinutes(1), 16, DIRECT);
+        Collector collector = new Collector();
+        processor.subscribe(collector);
+        collector.subscription.request(100);
+        ManualSource source = new ManualSource();
+        source.attach(processor);
+
+        for (int i = 0; i < 10; i++) {
+            source.emit(2.0, i);
+        }
+        assertEquals(2, processor.getBatches());
+        assertEquals(8, collector.size());
+        assertEquals(2, processor.getQueueDepth());
+
+        // Completion evaluates the partial batch before completing downstream
+        processor.onComplete();
+        assertEquals(3, processor.getBatches());
+        assertEquals(10, collector.size());
+        assertEquals(512.0, collector.results.get(9).value(), 0.0);
+        assertEquals(4, processor.getLargestBatch());
+        assertEquals(10.0 / 3.0, processor.getMeanBatchSize(), 1e-12);
+        assertTrue(collector.completed);
+    }
+
+    @Test
+    void testWindowFlushesPartialBatch() throws InterruptedException {
+        PowerProcessor processor = new PowerProcessor(1000, Duration.ofMillis(20), 1000, DIRECT);
+        Collector collector = new Collector();
+        processor.subscribe(collector);
+        collector.subscription.request(100);
+        ManualSource source = new ManualSource();
+        source.attach(processor);
+
+        source.emit(2.0, 1.0);
+        source.emit(2.0, 2.0);
+        source.emit(2.0, 3.0);
+        assertEquals(0, collector.size());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (collector.size() < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(3, collector.size());
+        assertEquals(1, processor.getBatches());
+        assertEquals(1, processor.getWindowFlushes());
+        assertFalse(collector.completed);
+    }
+
+    @Test
+    void testBackpressure() {
+        PowerProcessor processor = new PowerProcessor(4, Duration.ZERO, 8, DIRECT);
+        Collector collector = new Collector();
+        processor.subscribe(collector);
+        ManualSource source = new ManualSource();
+        source.attach(processor);
+
+        // Without downstream demand the processor asks for no more than its capacity
+        assertEquals(8, source.requested);
+        for (int i = 0; i < 8; i++) {
+            source.emit(3.0, 2.0);
+        }
+        assertEquals(0, source.requested);
+        assertEquals(8, processor.getQueueDepth());
+        assertEquals(0, collector.size());
+
+        collector.subscription.request(5);
+        assertEquals(5, collector.size());
+        assertEquals(3, processor.getQueueDepth());
+        assertEquals(5, source.requested);
+
+        collector.subscription.cancel();
+        assertTrue(source.cancelled);
+    }
+
+    @Test
+    void testInvalidRequestsBecomeErrorResults() {
+        PowerProcessor processor = new PowerProcessor(8, Duration.ZERO, 8, DIRECT);
+        Collector collector = new Collector();
+        processor.subscribe(collector);
+        collector.subscription.request(10);
+        ManualSource source = new ManualSource();
+        source.attach(processor);
+
+        source.emit(0.0, -1.0);
+        source.emit(-8.0, 1.0 / 3.0);
+        source.emit(4.0, 0.5);
+
+        assertEquals(3, collector.size());
+        PowerProcessor.Result zero = collector.results.get(0);
+        assertFalse(zero.isOk());
+        assertEquals(PowerStatus.ZERO_NEGATIVE_POWER, zero.status());
+        assertEquals(PowerStatus.ZERO_NEGATIVE_POWER_MESSAGE, zero.error());
+        assertTrue(Double.isNaN(zero.value()));
+        assertEquals(PowerStatus.COMPLEX_RESULT, collector.results.get(1).status());
+        assertTrue(collector.results.get(2).isOk());
+        assertNull(collector.results.get(2).error());
+        assertEquals(2.0, collector.results.get(2).value(), 0.0);
+    }
+
+    @Test
+    void testProtocolErrors() {
+        PowerProcessor processor = new PowerProcessor(4, Duration.ZERO, 8, DIRECT);
+        Collector first = new Collector();
+        Collector second = new Collector();
+        processor.subscribe(first);
+        processor.subscribe(second);
+        assertInstanceOf(IllegalStateException.class, second.error);
+
+        ManualSource source = new ManualSource();
+        source.attach(processor);
+        first.subscription.request(0);
+        assertInstanceOf(IllegalArgumentException.class, first.error);
+        assertTrue(source.cancelled);
+
+        PowerProcessor failing = new PowerProcessor(4, Duration.ZERO, 8, DIRECT);
+        Collector collector = new Collector();
+        failing.subscribe(collector);
+        collector.subscription.request(1);
+        failing.onError(new IllegalStateException("upstream failed"));
+        assertEquals("upstream failed", collector.error.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> new PowerProcessor(8, Duration.ZERO, 4, DIRECT));
+    }
+
+    @Test
+    void testInvalidDemandInsideOnSubscribe() {
+        PowerProcessor processor = new PowerProcessor(4, Duration.ofMillis(1), 16, DIRECT);
+        ManualSource source = new ManualSource();
+        source.attach(processor);
+        Collector collector = new Collector() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                super.onSubscribe(s);
+                s.request(0);
+            }
+        };
+        processor.subscribe(collector);
+        assertInstanceOf(IllegalArgumentException.class, collector.error);
+        assertFalse(collector.completed);
+        assertTrue(source.cancelled);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+public class PowerServerTest {
+
+    private static PowerServer server;
+    private static HttpClient client;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        server = new PowerServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+    }
+
+    private static HttpResponse<String> get(String pathAndQuery) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri(pathAndQuery)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> post(String path, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri(path))
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static URI uri(String pathAndQuery) {
+        return URI.create("http://127.0.0.1:" + server.port() + pathAndQuery);
+    }
+
+    @Test
+    void testSinglePairOverGetAndPost() throws Exception {
+        HttpResponse<String> response = get("/power?x=2&y=0.5");
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"result\":" + PowerCalculator.power(2.0, 0.5) + "}", response.body());
+        assertEquals("application/json", response.headers().firstValue("Content-Type").orElse(""));
+
+        response = post("/power", " {\"y\": -2, \"x\": 4e0} ");
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"result\":0.0625}", response.body());
+
+        response = get("/power?x=10&y=400.5");
+        assertEquals("{\"result\":\"Infinity\"}", response.body());
+    }
+
+    @Test
+    void testErrors() throws Exception {
+        HttpResponse<String> response = get("/power?x=-2&y=0.5");
+        assertEquals(422, response.statusCode());
+        assertEquals("{\"error\":\"" + PowerStatus.COMPLEX_RESULT_MESSAGE + "\"}", response.body());
+
+        assertEquals(400, get("/power?x=2").statusCode());
+        assertEquals(400, get("/power?x=two&y=1").statusCode());
+        assertEquals(400, post("/power", "{\"x\":2,\"y\":}").statusCode());
+        assertEquals(400, post("/power", "{\"x\":2,\"z\":1}").statusCode());
+        assertEquals(400, post("/power/batch", "{\"xs\":[1,2],\"ys\":[1]}").statusCode());
+        assertEquals(405, get("/power/batch").statusCode());
+        assertEquals(404, get("/powers").statusCode());
+    }
+
+    @Test
+    void testBatch() throws Exception {
+        HttpResponse<String> response = post("/power/batch",
+                "{\"xs\":[2, 0, -8, 9, 2], \"ys\":[10, -1, 0.5, 0.5, 0.25]}");
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"results\":[1024.0,null,null,3.0," + PowerCalculator.power(2.0, 0.25) + "],"
+                + "\"errors\":[{\"index\":1,\"error\":\"" + PowerStatus.ZERO_NEGATIVE_POWER_MESSAGE + "\"},"
+                + "{\"index\":2,\"error\":\"" + PowerStatus.COMPLEX_RESULT_MESSAGE + "\"}]}",
+                response.body());
+
+        response = post("/power/batch", "{\"xs\":[],\"ys\":[]}");
+        assertEquals("{\"results\":[],\"errors\":[]}", response.body());
+    }
+
+    @Test
+    void testLargeBatchMatchesBulkPower() throws Exception {
+        int n = 5000;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        StringBuilder body = new StringBuilder("{\"xs\":[");
+        for (int i = 0; i < n; i++) {
+            xs[i] = 0.5 + i * 0.01;
+            body.append(i > 0 ? "," : "").append(xs[i]);
+        }
+        body.append("],\"ys\":[");
+        for (int i = 0; i < n; i++) {
+            ys[i] = -3.0 + i * 0.00123;
+            body.append(i > 0 ? "," : "").append(ys[i]);
+        }
+        body.append("]}");
+
+        String result = post("/power/batch", body.toString()).body();
+        String[] values = result.substring("{\"results\":[".length(), result.indexOf(']')).split(",");
+        assertEquals(n, values.length);
+        for (int i = 0; i < n; i++) {
+            assertEquals(PowerCalculator.power(xs[i], ys[i]), Double.parseDouble(values[i]), 0.0);
+        }
+    }
+}
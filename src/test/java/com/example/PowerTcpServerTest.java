@@ -0,0 +1,138 @@
+package com.example;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class PowerTcpServerTest {
+
+    private static PowerTcpServer server;
+    private static InetSocketAddress address;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        server = new PowerTcpServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+        address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.port());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    void testSingleRoundTrips() throws IOException {
+        try (PowerTcpClient client = new PowerTcpClient(address)) {
+            assertEquals(1024.0, client.power(2.0, 10.0), 0.0);
+            assertEquals(PowerCalculator.power(2.5, 0.37), client.power(2.5, 0.37), 0.0);
+            assertTrue(Double.isNaN(client.power(Double.NaN, 2.0)));
+
+            IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                    () -> client.power(-2.0, 0.5));
+            assertEquals(PowerStatus.COMPLEX_RESULT_MESSAGE, ex.getMessage());
+            // The connection stays usable after an invalid input
+            assertEquals(0.25, client.power(2.0, -2.0), 0.0);
+        }
+    }
+
+    @Test
+    void testPipelinedBatchMatchesBulkPower() throws IOException {
+        int n = 100_000;
+        SplittableRandom random = new SplittableRandom(15);
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = random.nextDouble(-4.0, 4.0);
+            ys[i] = i % 3 == 0 ? random.nextInt(-6, 7) : random.nextDouble(-10.0, 10.0);
+        }
+        double[] expected = new double[n];
+        byte[] expectedStatus = new byte[n];
+        PowerCalculator.power(xs, ys, expected, expectedStatus);
+
+        double[] out = new double[n];
+        byte[] status = new byte[n];
+        try (PowerTcpClient client = new PowerTcpClient(address)) {
+            client.power(xs, ys, out, status);
+            // Single and bulk calls share one id sequence
+            assertEquals(8.0, client.power(2.0, 3.0), 0.0);
+            client.power(new double[0], new double[0], new double[0], new byte[0]);
+        }
+        assertArrayEquals(expected, out, 0.0);
+        assertArrayEquals(expectedStatus, status);
+    }
+
+    @Test
+    void testConcurrentClients() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < 8; c++) {
+                double base = 1.5 + c;
+                futures.add(pool.submit(() -> {
+                    double[] xs = new double[5000];
+                    double[] ys = new double[5000];
+                    for (int i = 0; i < xs.length; i++) {
+                        xs[i] = base;
+                        ys[i] = i * 0.01;
+                    }
+                    double[] out = new double[xs.length];
+                    try (PowerTcpClient client = new PowerTcpClient(address)) {
+                        client.power(xs, ys, out, new byte[xs.length]);
+                    }
+                    for (int i = 0; i < xs.length; i++) {
+                        assertEquals(PowerCalculator.power(xs[i], ys[i]), out[i], 0.0);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFramesSplitAcrossWrites() throws IOException {
+        ByteBuffer frames = ByteBuffer.allocate(2 * PowerTcpServer.REQUEST_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        frames.putLong(7L).putDouble(9.0).putDouble(0.5);
+        frames.putLong(8L).putDouble(0.0).putDouble(-1.0);
+
+        try (Socket socket = new Socket(address.getAddress(), address.getPort())) {
+            socket.setTcpNoDelay(true);
+            OutputStream out = socket.getOutputStream();
+            for (byte b : frames.array()) {
+                out.write(b);
+                out.flush();
+            }
+            byte[] response = new byte[2 * PowerTcpServer.RESPONSE_BYTES];
+            new DataInputStream(socket.getInputStream()).readFully(response);
+
+            ByteBuffer in = ByteBuffer.wrap(response).order(ByteOrder.LITTLE_ENDIAN);
+            assertEquals(7L, in.getLong());
+            assertEquals(3.0, in.getDouble(), 0.0);
+            assertEquals(PowerStatus.OK, in.get());
+            assertEquals(8L, in.getLong());
+            assertTrue(Double.isNaN(in.getDouble()));
+            assertEquals(PowerStatus.ZERO_NEGATIVE_POWER, in.get());
+        }
+    }
+}
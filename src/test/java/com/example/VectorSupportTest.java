@@ -0,0 +1,97 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.SplittableRandom;
+
+public class VectorSupportTest {
+
+    private static final double[] SPECIAL = {
+        0.0, -0.0, 1.0, -1.0, 2.0, -2.0, 0.5, 3.0, 0.25, 1e-310, Double.MIN_VALUE,
+        Double.MIN_NORMAL, Double.MAX_VALUE, Double.POSITIVE_INFINITY,
+        Double.NEGATIVE_INFINITY, Double.NaN, 1.0 + 0x1p-52, 1.0 - 0x1p-53,
+        1.5, 1e-5, 4503599627370495.5, 0x1p52, 1e300, 700.5, -700.5, 1024.5, -1075.5
+    };
+
+    /**
+     * Typical inputs mixed with every pair of special values, so that each
+     * vector holds a blend of kernel and scalar lanes.
+     */
+    private static double[][] inputs(int length, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] xs = new double[length];
+        double[] ys = new double[length];
+        for (int i = 0; i < length; i++) {
+            if (random.nextInt(4) == 0) {
+                xs[i] = SPECIAL[random.nextInt(SPECIAL.length)];
+                ys[i] = SPECIAL[random.nextInt(SPECIAL.length)];
+            } else {
+                xs[i] = Math.exp(random.nextDouble(-50.0, 50.0));
+                ys[i] = random.nextDouble(-12.0, 12.0);
+            }
+        }
+        return new double[][] {xs, ys};
+    }
+
+    private static void assertBitIdentical(double[] xs, double[] ys, double[] out) {
+        for (int i = 0; i < xs.length; i++) {
+            double expected = PowerCalculator.tryPower(xs[i], ys[i]);
+            assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(out[i]),
+                    "x=" + xs[i] + ", y=" + ys[i] + ": " + out[i] + " vs " + expected);
+        }
+    }
+
+    @Test
+    void testBulkIsBitIdenticalToScalar() {
+        for (int length = 0; length < 40; length++) {
+            double[][] in = inputs(length, length);
+            double[] out = new double[length];
+            PowerCalculator.power(in[0], in[1], out);
+            assertBitIdentical(in[0], in[1], out);
+        }
+        double[][] in = inputs(100_000, 99);
+        double[] out = new double[in[0].length];
+        PowerCalculator.power(in[0], in[1], out);
+        assertBitIdentical(in[0], in[1], out);
+    }
+
+    @Test
+    void testKernelIsBitIdenticalToScalar() {
+        assumeTrue(VectorSupport.AVAILABLE, "Vector API kernel not enabled");
+
+        double[][] in = inputs(50_003, 5);
+        double[] out = new double[in[0].length + 3];
+        VectorSupport.power(in[0], 0, in[1], 0, out, 3, in[0].length);
+        for (int i = 0; i < in[0].length; i++) {
+            assertEquals(Double.doubleToLongBits(PowerCalculator.tryPower(in[0][i], in[1][i])),
+                    Double.doubleToLongBits(out[i + 3]), "x=" + in[0][i] + ", y=" + in[1][i]);
+        }
+
+        // Buckets 0 and 127 of the log table and exponents near the range edges
+        SplittableRandom random = new SplittableRandom(17);
+        double[] xs = new double[4096];
+        double[] ys = new double[xs.length];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = Math.scalb(1.0 + random.nextDouble(-1.0 / 256, 1.0 / 256), random.nextInt(-20, 20));
+            ys[i] = i % 2 == 0 ? random.nextDouble(-3.0, 3.0) : random.nextDouble(706.0, 710.0) / Math.log(xs[i]);
+        }
+        out = new double[xs.length];
+        VectorSupport.power(xs, 0, ys, 0, out, 0, xs.length);
+        assertBitIdentical(xs, ys, out);
+    }
+
+    @Test
+    void testKernelAllowsOutputAliasingInput() {
+        double[][] in = inputs(1000, 23);
+        double[] expected = new double[in[0].length];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = PowerCalculator.tryPower(in[0][i], in[1][i]);
+        }
+        PowerCalculator.power(in[0], in[1], in[0]);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(Double.doubleToLongBits(expected[i]), Double.doubleToLongBits(in[0][i]));
+        }
+    }
+}